@@ -0,0 +1,68 @@
+package benchmarks;
+
+import exceptions.JsonSerializationException;
+import formatter.JSONFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parser.JSONParser;
+import parser.enums.ParserResponseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats documents of different sizes and payloads with tabs, spaces or minified
+ * - apply formats a String, stream formats UTF-8 bytes from an InputStream into an OutputStream
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatterBenchmark {
+    @Param({"NESTED", "STRINGS", "NUMBERS"})
+    public Payloads.Kind payload;
+
+    @Param({"10", "1000"})
+    public int size;
+
+    @Param({"TABS", "SPACES", "MINIFY"})
+    public String style;
+
+    private JSONFormatter formatter;
+    private String json;
+    private byte[] bytes;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Setup
+    public void setup() throws JsonSerializationException {
+        formatter = style.equals("TABS") ? JSONFormatter.tabs() : style.equals("SPACES") ? JSONFormatter.spaces(2) : JSONFormatter.minify();
+        bytes = new JSONParser().listToBytes(Payloads.list(payload, size), Payloads.type(payload), ParserResponseType.OBJECT_LIST);
+        json = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String apply() {
+        return formatter.apply(json);
+    }
+
+    @Benchmark
+    public int stream() throws IOException {
+        out.reset();
+        formatter.format(new ByteArrayInputStream(bytes), out);
+        return out.size();
+    }
+}
@@ -0,0 +1,101 @@
+package benchmarks;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parser.JSONParser;
+import parser.enums.JSONType;
+import parser.handlers.DefaultHandlers;
+import parser.handlers.ElementHandler;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts one value with each of the DefaultHandlers
+ * - handle is the String conversion, write the streaming one into a JsonWriter
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerBenchmark {
+    @Param({"INTEGER", "STRING", "FLOAT", "DOUBLE", "BOOLEAN", "LIST", "JSON_ANNOTATED", "ENUMERATED_STRING", "ENUMERATED_ORDINAL"})
+    public JSONType handler;
+
+    private final StringBuilder out = new StringBuilder();
+    private JSONParser parser;
+    private ElementHandler element;
+    private Object value;
+
+    @Setup
+    public void setup() {
+        parser = new JSONParser();
+        switch (handler) {
+            case INTEGER:
+                element = new DefaultHandlers.IntegerHandler();
+                value = 1_234_567_890_123L;
+                break;
+            case STRING:
+                element = new DefaultHandlers.StringHandler();
+                value = ((Payloads.Article) Payloads.create(Payloads.Kind.STRINGS, 42)).body();
+                break;
+            case FLOAT:
+                element = new DefaultHandlers.FloatHandler();
+                value = 21.37f;
+                break;
+            case DOUBLE:
+                element = new DefaultHandlers.DoubleHandler();
+                value = 47.376887;
+                break;
+            case BOOLEAN:
+                element = new DefaultHandlers.BooleanHandler();
+                value = true;
+                break;
+            case LIST:
+                element = new DefaultHandlers.ListHandler();
+                value = List.copyOf(Payloads.list(Payloads.Kind.FLAT, 10));
+                break;
+            case JSON_ANNOTATED:
+                element = new DefaultHandlers.JSONAnnotatedHandler();
+                value = Payloads.create(Payloads.Kind.NESTED, 42);
+                break;
+            case ENUMERATED_STRING:
+                element = new DefaultHandlers.EnumerationHandler();
+                value = Payloads.Status.SUSPENDED;
+                break;
+            case ENUMERATED_ORDINAL:
+                element = new DefaultHandlers.EnumerationHandlerOrdinal();
+                value = Payloads.Status.SUSPENDED;
+                break;
+            default:
+                throw new IllegalArgumentException("No default handler for " + handler);
+        }
+    }
+
+    @Benchmark
+    public String handle() throws ElementTypeException, JsonSerializationException {
+        return element.handle(value);
+    }
+
+    @Benchmark
+    public int write() throws ElementTypeException, JsonSerializationException, IOException {
+        out.setLength(0);
+        parser.writeValue(element, value, JsonWriter.of(out));
+        return out.length();
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import exceptions.JsonSerializationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import parser.JSONParser;
+import parser.enums.ParserResponseType;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes lists of different sizes and layouts
+ * - threads is the parallelism of the executor, with 1 lists are serialized sequentially
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListBenchmark {
+    @Param({"FLAT", "NESTED"})
+    public Payloads.Kind payload;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"OBJECT_LIST", "NDJSON"})
+    public ParserResponseType response;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private JSONParser parser;
+    private ForkJoinPool pool;
+    private List<Object> list;
+    private Class<?> type;
+
+    @Setup
+    public void setup() {
+        parser = new JSONParser();
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+            parser.setExecutor(pool);
+            parser.setParallelThreshold(1000);
+        }
+        list = Payloads.list(payload, size);
+        type = Payloads.type(payload);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    @Benchmark
+    public String listToJSON() throws JsonSerializationException {
+        return parser.listToJSON(list, type, response);
+    }
+
+    @Benchmark
+    public byte[] listToBytes() throws JsonSerializationException {
+        return parser.listToBytes(list, type, response);
+    }
+}
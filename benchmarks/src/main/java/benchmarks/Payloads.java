@@ -0,0 +1,129 @@
+package benchmarks;
+
+import parser.annotations.JsonField;
+import parser.annotations.JsonSerializableObject;
+import parser.enums.JSONType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The objects the benchmarks serialize, every payload is deterministic so runs can be compared
+ * - FLAT: a record of scalars and an enum
+ * - NESTED: an order with a nested customer and address and a list of items
+ * - STRINGS: long texts with quotes, control characters and non-ASCII characters which have to be escaped
+ * - NUMBERS: longs, doubles and floats which need the shortest round-trip formatting
+ */
+public final class Payloads {
+    private Payloads() {
+    }
+
+    public enum Kind {
+        FLAT, NESTED, STRINGS, NUMBERS
+    }
+
+    public enum Status {
+        ACTIVE, SUSPENDED, CLOSED
+    }
+
+    @JsonSerializableObject(listName = "accounts")
+    public record Account(@JsonField(type = JSONType.INTEGER) long id,
+                          @JsonField(type = JSONType.STRING) String name,
+                          @JsonField(type = JSONType.BOOLEAN) boolean verified,
+                          @JsonField(type = JSONType.INTEGER) int logins,
+                          @JsonField(type = JSONType.ENUMERATED_STRING) Status status) {
+    }
+
+    @JsonSerializableObject(listName = "addresses")
+    public record Address(@JsonField(type = JSONType.STRING) String street,
+                          @JsonField(type = JSONType.STRING) String city,
+                          @JsonField(type = JSONType.STRING) String zip) {
+    }
+
+    @JsonSerializableObject(listName = "customers")
+    public record Customer(@JsonField(type = JSONType.STRING) String name,
+                           @JsonField(type = JSONType.STRING) String email,
+                           @JsonField(type = JSONType.JSON_ANNOTATED) Address address) {
+    }
+
+    @JsonSerializableObject(listName = "items")
+    public record Item(@JsonField(type = JSONType.STRING) String sku,
+                       @JsonField(type = JSONType.INTEGER) int quantity,
+                       @JsonField(type = JSONType.DOUBLE) double price) {
+    }
+
+    @JsonSerializableObject(listName = "orders")
+    public record Order(@JsonField(type = JSONType.INTEGER) long id,
+                        @JsonField(type = JSONType.JSON_ANNOTATED) Customer customer,
+                        @JsonField(type = JSONType.LIST) List<Item> items,
+                        @JsonField(type = JSONType.ENUMERATED_ORDINAL) Status status) {
+    }
+
+    @JsonSerializableObject(listName = "articles")
+    public record Article(@JsonField(type = JSONType.STRING) String title,
+                          @JsonField(type = JSONType.STRING) String author,
+                          @JsonField(type = JSONType.STRING) String body,
+                          @JsonField(type = JSONType.STRING) String footnote) {
+    }
+
+    @JsonSerializableObject(listName = "samples")
+    public record Sample(@JsonField(type = JSONType.INTEGER) long timestamp,
+                         @JsonField(type = JSONType.DOUBLE) double latitude,
+                         @JsonField(type = JSONType.DOUBLE) double longitude,
+                         @JsonField(type = JSONType.DOUBLE) double altitude,
+                         @JsonField(type = JSONType.FLOAT) float temperature,
+                         @JsonField(type = JSONType.FLOAT) float humidity,
+                         @JsonField(type = JSONType.INTEGER) int sequence) {
+    }
+
+    /**
+     * @return the annotated class of the payload
+     */
+    public static Class<?> type(Kind kind) {
+        switch (kind) {
+            case FLAT:
+                return Account.class;
+            case NESTED:
+                return Order.class;
+            case STRINGS:
+                return Article.class;
+            default:
+                return Sample.class;
+        }
+    }
+
+    /**
+     * @param seed varies the values, the same seed always creates the same payload
+     * @return the payload
+     */
+    public static Object create(Kind kind, int seed) {
+        switch (kind) {
+            case FLAT:
+                return new Account(1_000_000L + seed, "account-" + seed, seed % 2 == 0, seed * 7, Status.values()[seed % 3]);
+            case NESTED: {
+                List<Item> items = new ArrayList<>();
+                for (int i = 0; i < 5; i++) items.add(new Item("SKU-" + seed + "-" + i, i + 1, 9.99 + i * 0.25));
+                Address address = new Address("Kerberstrasse " + seed, "Z\u00fcrich", String.valueOf(8000 + seed % 1000));
+                return new Order(seed, new Customer("Customer " + seed, "customer" + seed + "@example.com", address), items, Status.values()[seed % 3]);
+            }
+            case STRINGS: {
+                StringBuilder body = new StringBuilder();
+                for (int i = 0; i < 12; i++)
+                    body.append("Paragraph ").append(i).append(" of \"article ").append(seed).append("\",\tquoted and\nescaped: caf\u00e9 \u2013 \uD83D\uDE00 ");
+                return new Article("Title " + seed + " \u2013 \"quoted\"", "Zo\u00eb M\u00fcller", body.toString(), "C:\\path\\" + seed);
+            }
+            default:
+                return new Sample(1_600_000_000_000L + seed, 47.3769 + seed * 1e-4, 8.5417 - seed * 1e-4, 408.25 + seed / 3.0,
+                        21.5f + seed % 10 / 10f, 0.45f + seed % 7 / 100f, seed);
+        }
+    }
+
+    /**
+     * @return a list of size payloads with the seeds 0 to size - 1
+     */
+    public static List<Object> list(Kind kind, int size) {
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(create(kind, i));
+        return list;
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import exceptions.JsonParseException;
+import exceptions.JsonSerializationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parser.JSONParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes one object of every payload with every Strategy
+ * - The parser is shared by all benchmark threads, run with -t to measure contention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+    @Param
+    public Payloads.Kind payload;
+
+    @Param
+    public Strategy strategy;
+
+    private JSONParser parser;
+    private Object object;
+    private Class<?> type;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws JsonSerializationException {
+        parser = strategy.create();
+        object = Payloads.create(payload, 42);
+        type = Payloads.type(payload);
+        json = parser.objectToBytes(object);
+    }
+
+    @Benchmark
+    public String objectToJSON() throws JsonSerializationException {
+        return parser.objectToJSON(object);
+    }
+
+    @Benchmark
+    public byte[] objectToBytes() throws JsonSerializationException {
+        return parser.objectToBytes(object);
+    }
+
+    @Benchmark
+    public Object jsonToObject() throws JsonParseException {
+        return parser.jsonToObject(json, type);
+    }
+}
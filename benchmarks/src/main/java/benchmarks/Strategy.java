@@ -0,0 +1,57 @@
+package benchmarks;
+
+import parser.JSONParser;
+import parser.accessors.AccessorMode;
+
+/**
+ * The ways a JSONParser can serialize an object, so they can be compared with the same payload
+ */
+public enum Strategy {
+    /**
+     * Plans read with Field.get and Method.invoke
+     */
+    REFLECTION,
+
+    /**
+     * Plans read with adapted MethodHandles
+     */
+    METHOD_HANDLE,
+
+    /**
+     * Plans read with functions spun by the LambdaMetafactory
+     */
+    LAMBDA_METAFACTORY,
+
+    /**
+     * Serializers compiled at runtime
+     */
+    COMPILED,
+
+    /**
+     * Serializers generated at build time by the json-parser-processor
+     */
+    GENERATED;
+
+    /**
+     * @return a new parser configured for this strategy
+     */
+    public JSONParser create() {
+        JSONParser parser = new JSONParser();
+        parser.setGeneratedSerializers(this == GENERATED);
+        parser.setCompiledSerializers(this == COMPILED);
+        switch (this) {
+            case REFLECTION:
+                parser.setAccessorMode(AccessorMode.REFLECTION);
+                break;
+            case METHOD_HANDLE:
+                parser.setAccessorMode(AccessorMode.METHOD_HANDLE);
+                break;
+            case LAMBDA_METAFACTORY:
+                parser.setAccessorMode(AccessorMode.LAMBDA_METAFACTORY);
+                break;
+            default:
+                break;
+        }
+        return parser;
+    }
+}
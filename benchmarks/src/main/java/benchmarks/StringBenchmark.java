@@ -0,0 +1,85 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parser.io.ByteBufferPool;
+import parser.io.JsonWriter;
+import parser.io.Utf8JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes arrays of strings, so the escaping of strings is measured without objects around them
+ * - ASCII: letters, digits and spaces which are copied as they are
+ * - ESCAPED: ASCII with a quote, backslash or control character about every 16 characters
+ * - NON_ASCII: Latin-1 and BMP characters which are encoded with two or three bytes
+ * - utf8 encodes into pooled ByteBuffers, builder appends to a StringBuilder
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringBenchmark {
+    private static final int STRINGS = 100;
+
+    @Param({"ASCII", "ESCAPED", "NON_ASCII"})
+    public String text;
+
+    @Param({"16", "1024"})
+    public int length;
+
+    private final String[] strings = new String[STRINGS];
+    private final StringBuilder builder = new StringBuilder();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() {
+        String alphabet = text.equals("NON_ASCII") ? "Zoë Müller café – " : "Lorem ipsum dolor sit amet 0123 ";
+        for (int s = 0; s < STRINGS; s++) {
+            StringBuilder string = new StringBuilder(length);
+            for (int i = 0; string.length() < length; i++) {
+                if (text.equals("ESCAPED") && i % 16 == 15) string.append("\"\\\n".charAt((i + s) % 3));
+                else string.append(alphabet.charAt((i + s) % alphabet.length()));
+            }
+            strings[s] = string.toString();
+        }
+    }
+
+    @Benchmark
+    public long utf8() throws IOException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toStream(sink, ByteBufferPool.HEAP);
+        try {
+            write(writer);
+            writer.flush();
+            return writer.getWritten();
+        } finally {
+            writer.release();
+        }
+    }
+
+    @Benchmark
+    public int builder() throws IOException {
+        builder.setLength(0);
+        write(JsonWriter.of(builder));
+        return builder.length();
+    }
+
+    private void write(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (String s : strings) writer.value(s);
+        writer.endArray();
+    }
+}
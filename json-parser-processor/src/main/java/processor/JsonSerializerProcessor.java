@@ -0,0 +1,287 @@
+package processor;
+
+import parser.annotations.JsonField;
+import parser.annotations.JsonMethod;
+import parser.annotations.JsonSerializableObject;
+import parser.enums.JSONType;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor which generates a GeneratedSerializer for every class annotated with JsonSerializableObject.
+ * - The serializers are registered in META-INF/services/parser.serializers.GeneratedSerializer
+ * - Classes whose annotated members cannot be accessed from their package are skipped and serialized with reflection
+ * - The elements are written in the same order as the reflection based serialization writes them
+ *
+ * @see JsonSerializableObject
+ */
+@SupportedAnnotationTypes("parser.annotations.JsonSerializableObject")
+public class JsonSerializerProcessor extends AbstractProcessor {
+    static final String SERVICE_FILE = "META-INF/services/parser.serializers.GeneratedSerializer";
+    static final String SUFFIX = "JsonSerializer";
+
+    private final List<String> generated = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(JsonSerializableObject.class)) {
+            if (!(element instanceof TypeElement)) continue;
+            TypeElement type = (TypeElement) element;
+
+            List<Member> members = collectMembers(type);
+            if (members == null) continue;
+
+            try {
+                generated.add(write(type, members));
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write the serializer: " + e.getMessage(), type);
+            }
+        }
+
+        if (roundEnv.processingOver() && !generated.isEmpty()) writeServiceFile();
+        return false;
+    }
+
+    /**
+     * @return the members in the order they are written or null if the class has to be serialized with reflection
+     */
+    private List<Member> collectMembers(TypeElement type) {
+        if (!isAccessible(type)) {
+            note(type, "is not accessible from its package");
+            return null;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            note(type, "is generic");
+            return null;
+        }
+
+        // the members are keyed like the elements of the SerializationPlan, so the order of the output stays the same
+        Map<String, Member> members = new HashMap<>();
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            JsonField annotation = field.getAnnotation(JsonField.class);
+            if (annotation == null) continue;
+
+            String name = field.getSimpleName().toString();
+            String access;
+            if (!field.getModifiers().contains(Modifier.PRIVATE)) access = "object." + name;
+            else if (type.getKind() == ElementKind.RECORD) access = "object." + name + "()";
+            else {
+                note(type, "has the private field " + name);
+                return null;
+            }
+
+            String key = annotation.key().equals("") ? name : annotation.key();
+            if (!checkCustomType(type, field, annotation.type(), annotation.customType())) return null;
+            members.put(keyFragment(key), new Member(key, access, field.asType(), annotation.type(), annotation.customType()));
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            JsonMethod annotation = method.getAnnotation(JsonMethod.class);
+            if (annotation == null) continue;
+
+            String name = method.getSimpleName().toString();
+            if (method.getModifiers().contains(Modifier.PRIVATE) || !method.getParameters().isEmpty() || !method.getThrownTypes().isEmpty()) {
+                note(type, "has the method " + name + " which cannot be called directly");
+                return null;
+            }
+
+            String key = annotation.key().equals("") ? name : annotation.key();
+            if (!checkCustomType(type, method, annotation.type(), annotation.customType())) return null;
+            members.put(keyFragment(key), new Member(key, "object." + name + "()", method.getReturnType(), annotation.type(), annotation.customType()));
+        }
+
+        return new ArrayList<>(members.values());
+    }
+
+    private boolean checkCustomType(TypeElement type, Element member, JSONType jsonType, String customType) {
+        if (jsonType == JSONType.CUSTOM && customType.equals("")) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "The member(" + type.getQualifiedName() + " --> " + member.getSimpleName() + ") is annotated with JSONType.CUSTOM but not with customType", member);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement) {
+            TypeElement enclosing = (TypeElement) current;
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) return false;
+            if (enclosing.getNestingKind() == NestingKind.LOCAL || enclosing.getNestingKind() == NestingKind.ANONYMOUS)
+                return false;
+            current = enclosing.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String write(TypeElement type, List<Member> members) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1)).replace('.', '_') + SUFFIX;
+        String serializerName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        List<String> handlerTypes = new ArrayList<>();
+        Map<String, Boolean> inlinedTypes = new LinkedHashMap<>();
+        StringBuilder keys = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+
+        body.append("        out.beginObject();\n");
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            keys.append("    private static final JsonKey KEY_").append(i).append(" = JsonKey.of(").append(javaString(member.key)).append(");\n");
+            String name = "out.name(KEY_" + i + ")";
+
+            if (isInlined(member)) {
+                inlinedTypes.put(member.type.name(), true);
+                body.append("        ").append(name).append(".value(").append(member.access).append(");\n");
+            } else {
+                String handlerType = (member.type == JSONType.CUSTOM) ? member.customType : member.type.name();
+                body.append("        parser.writeValue(handlers[").append(handlerTypes.size()).append("], ")
+                        .append(member.access).append(", ").append(name).append(");\n");
+                handlerTypes.add(handlerType);
+            }
+        }
+        body.append("        out.endObject();\n");
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(serializerName, type);
+        try (Writer w = file.openWriter()) {
+            if (!packageName.isEmpty()) w.write("package " + packageName + ";\n\n");
+            w.write("import exceptions.ElementTypeException;\n");
+            w.write("import exceptions.JsonSerializationException;\n");
+            w.write("import parser.JSONParser;\n");
+            w.write("import parser.handlers.ElementHandler;\n");
+            w.write("import parser.io.JsonKey;\n");
+            w.write("import parser.io.JsonWriter;\n");
+            w.write("import parser.serializers.GeneratedSerializer;\n\n");
+            w.write("import java.io.IOException;\n\n");
+            w.write("/**\n * Serializer of " + typeName + ", generated by the json-parser-processor\n */\n");
+            w.write("@javax.annotation.processing.Generated(\"" + JsonSerializerProcessor.class.getName() + "\")\n");
+            w.write("public final class " + simpleName + " implements GeneratedSerializer<" + typeName + "> {\n");
+            w.write("    private static final String[] HANDLER_TYPES = {" + joinStrings(handlerTypes) + "};\n");
+            w.write("    private static final String[] INLINED_TYPES = {" + joinStrings(new ArrayList<>(inlinedTypes.keySet())) + "};\n");
+            w.write(keys.toString());
+            w.write("\n");
+            w.write("    @Override\n    public Class<" + typeName + "> getType() {\n        return " + typeName + ".class;\n    }\n\n");
+            w.write("    @Override\n    public String getListName() {\n        return "
+                    + javaString(type.getAnnotation(JsonSerializableObject.class).listName()) + ";\n    }\n\n");
+            w.write("    @Override\n    public String[] getHandlerTypes() {\n        return HANDLER_TYPES.clone();\n    }\n\n");
+            w.write("    @Override\n    public String[] getInlinedTypes() {\n        return INLINED_TYPES.clone();\n    }\n\n");
+            w.write("    @Override\n    public void serialize(" + typeName + " object, JsonWriter out, ElementHandler[] handlers, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException {\n");
+            w.write(body.toString());
+            w.write("    }\n}\n");
+        }
+        return serializerName;
+    }
+
+    /**
+     * @return if the member is written like its default handler would, without calling the handler
+     */
+    private static boolean isInlined(Member member) {
+        TypeKind kind = member.valueType.getKind();
+        switch (member.type) {
+            case INTEGER:
+                return kind == TypeKind.LONG || kind == TypeKind.INT || kind == TypeKind.SHORT || kind == TypeKind.BYTE;
+            case DOUBLE:
+                return kind == TypeKind.DOUBLE;
+            case FLOAT:
+                return kind == TypeKind.FLOAT;
+            case BOOLEAN:
+                return kind == TypeKind.BOOLEAN;
+            case STRING:
+                return member.valueType.toString().equals("java.lang.String");
+            default:
+                return false;
+        }
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer w = file.openWriter()) {
+                for (String name : generated) w.write(name + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void note(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "No serializer is generated for " + type.getQualifiedName() + " because it " + reason + ", it is serialized with reflection", type);
+    }
+
+    private static String keyFragment(String key) {
+        return "\"" + key + "\":";
+    }
+
+    private static String joinStrings(List<String> values) {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(javaString(value));
+        }
+        return sb.toString();
+    }
+
+    private static String javaString(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20 || c > 0x7e) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * An annotated Field or Method of a class
+     */
+    private static final class Member {
+        private final String key;
+        private final String access;
+        private final TypeMirror valueType;
+        private final JSONType type;
+        private final String customType;
+
+        private Member(String key, String access, TypeMirror valueType, JSONType type, String customType) {
+            this.key = key;
+            this.access = access;
+            this.valueType = valueType;
+            this.type = type;
+            this.customType = customType;
+        }
+    }
+}
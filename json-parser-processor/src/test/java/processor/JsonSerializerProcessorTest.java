@@ -0,0 +1,97 @@
+package processor;
+
+import exceptions.JsonSerializationException;
+import org.junit.jupiter.api.Test;
+import parser.JSONParser;
+import parser.annotations.JsonField;
+import parser.annotations.JsonMethod;
+import parser.annotations.JsonSerializableObject;
+import parser.enums.JSONType;
+import parser.enums.ParserResponseType;
+import parser.handlers.DefaultHandlers;
+import parser.serializers.SerializerRegistry;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSerializerProcessorTest {
+
+    @Test
+    void testSerializersAreGenerated() {
+        assertNotNull(SerializerRegistry.find(Person.class));
+        assertNotNull(SerializerRegistry.find(Team.class));
+        assertNotNull(SerializerRegistry.find(Sample.class));
+        assertNull(SerializerRegistry.find(Hidden.class));
+    }
+
+    @Test
+    void testGeneratedMatchesReflection() throws JsonSerializationException {
+        Team team = new Team("core", List.of(new Person("Marc Andri Fuchs", 16), new Person("Tim Jan Irmler", 18)), new Person("Lead", 30));
+        Sample sample = new Sample();
+
+        JSONParser generated = new JSONParser();
+        JSONParser reflective = new JSONParser();
+        reflective.setGeneratedSerializers(false);
+
+        assertEquals(reflective.objectToJSON(team), generated.objectToJSON(team));
+        assertEquals(reflective.objectToJSON(sample), generated.objectToJSON(sample));
+        assertEquals(reflective.listToJSON(team.members(), Person.class, ParserResponseType.OBJECT_LIST),
+                generated.listToJSON(team.members(), Person.class, ParserResponseType.OBJECT_LIST));
+        assertEquals("{\"name\":\"Marc Andri Fuchs\",\"age\":16}", generated.objectToJSON(team.members().get(0)));
+    }
+
+    @Test
+    void testCustomHandlersDisableGenerated() throws JsonSerializationException {
+        JSONParser parser = new JSONParser();
+        parser.addHandler(new DefaultHandlers.StringHandler() {
+            @Override
+            public String handle(Object o) {
+                return "\"custom\"";
+            }
+        });
+
+        assertEquals("{\"name\":\"custom\",\"age\":16}", parser.objectToJSON(new Person("Marc Andri Fuchs", 16)));
+    }
+
+    @JsonSerializableObject(listName = "persons")
+    record Person(@JsonField(type = JSONType.STRING) String name,
+                  @JsonField(type = JSONType.INTEGER) long age) {
+    }
+
+    @JsonSerializableObject(listName = "teams")
+    record Team(@JsonField(type = JSONType.STRING) String name,
+                @JsonField(type = JSONType.LIST) List<Person> members,
+                @JsonField(key = "lead", type = JSONType.JSON_ANNOTATED) Person leader) {
+    }
+
+    @JsonSerializableObject(listName = "samples")
+    static class Sample {
+        @JsonField(type = JSONType.DOUBLE)
+        double ratio = 0.25;
+
+        @JsonField(type = JSONType.FLOAT)
+        float scale = 1.5f;
+
+        @JsonField(type = JSONType.BOOLEAN)
+        boolean active = true;
+
+        @JsonField(type = JSONType.INTEGER)
+        short small = 3;
+
+        @JsonField(type = JSONType.STRING)
+        String missing = null;
+
+        @JsonField(type = JSONType.ENUMERATED_STRING)
+        JSONType kind = JSONType.LIST;
+
+        @JsonMethod(key = "doubled", type = JSONType.INTEGER)
+        int doubled() {
+            return small * 2;
+        }
+    }
+
+    @JsonSerializableObject(listName = "hidden")
+    private record Hidden(@JsonField(type = JSONType.STRING) String name) {
+    }
+}
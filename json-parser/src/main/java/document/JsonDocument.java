@@ -0,0 +1,486 @@
+package document;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonParseException;
+import parser.enums.JSONType;
+import parser.io.NumberParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * JSON document which is only read where it is accessed.
+ * - Creating it builds a StructuralIndex of the bytes, no values are decoded and no tree is built
+ * - Values are found by path, like: members[1].name, and decoded only by the typed getters
+ * - Objects and arrays which are not on the path are skipped with one index lookup
+ * - Path names are compared with the bytes of the keys, so finding a value does not create Strings
+ *
+ * @see #of(byte[])
+ * @see JsonValue
+ */
+public final class JsonDocument {
+    private final byte[] bytes;
+    private final int limit;
+    private final StructuralIndex index;
+
+    private JsonDocument(byte[] bytes, int offset, int limit) throws JsonParseException {
+        this.bytes = bytes;
+        this.limit = limit;
+        this.index = StructuralIndex.build(bytes, offset, limit);
+    }
+
+    /**
+     * @param json the UTF-8 encoded document, it is not copied and must not be changed while the document is used
+     * @return the indexed document
+     * @throws JsonParseException if the structure of the document is malformed
+     */
+    public static JsonDocument of(byte[] json) throws JsonParseException {
+        return new JsonDocument(json, 0, json.length);
+    }
+
+    /**
+     * @param json   the UTF-8 encoded document, it is not copied and must not be changed while the document is used
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the indexed document
+     * @throws JsonParseException if the structure of the document is malformed
+     */
+    public static JsonDocument of(byte[] json, int offset, int length) throws JsonParseException {
+        Objects.checkFromIndexSize(offset, length, json.length);
+        return new JsonDocument(json, offset, offset + length);
+    }
+
+    /**
+     * @param json the document
+     * @return the indexed document
+     * @throws JsonParseException if the structure of the document is malformed
+     */
+    public static JsonDocument of(String json) throws JsonParseException {
+        return of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param in the stream of the UTF-8 encoded document, it is read to its end but not closed
+     * @return the indexed document
+     * @throws IOException if the stream cannot be read or the structure of the document is malformed
+     */
+    public static JsonDocument of(InputStream in) throws IOException {
+        return of(in.readAllBytes());
+    }
+
+    /**
+     * @return the top-level value
+     */
+    public JsonValue root() {
+        return new JsonValue(this, 0);
+    }
+
+    /**
+     * @param path the path of the value, like: members[1].name, the empty path is the root
+     * @return the value or null if there is none at the path
+     * @throws JsonParseException if the document is malformed on the path
+     */
+    public JsonValue get(String path) throws JsonParseException {
+        int token = resolve(0, path);
+        return (token < 0) ? null : new JsonValue(this, token);
+    }
+
+    /**
+     * @param path the path of the value
+     * @return if there is a value at the path, also if it is null
+     * @throws JsonParseException if the document is malformed on the path
+     */
+    public boolean has(String path) throws JsonParseException {
+        return resolve(0, path) >= 0;
+    }
+
+    /**
+     * @param path the path of the value
+     * @return the type of the value, INTEGER or DOUBLE for numbers, null for null
+     * @throws ElementTypeException if there is no value at the path
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public JSONType getType(String path) throws ElementTypeException, JsonParseException {
+        return type(require(path));
+    }
+
+    /**
+     * @param path the path of the value
+     * @return if the value is null
+     * @throws ElementTypeException if there is no value at the path
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public boolean isNull(String path) throws ElementTypeException, JsonParseException {
+        return isNull(require(path));
+    }
+
+    /**
+     * @param path the path of the value
+     * @return the decoded string or null if the value is null
+     * @throws ElementTypeException if there is no string at the path
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public String getString(String path) throws ElementTypeException, JsonParseException {
+        return string(require(path));
+    }
+
+    /**
+     * @param path the path of the value
+     * @return the number as a long
+     * @throws ElementTypeException if there is no number at the path or it does not fit into a long
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public long getLong(String path) throws ElementTypeException, JsonParseException {
+        return longValue(require(path));
+    }
+
+    /**
+     * @param path the path of the value
+     * @return the number as an int
+     * @throws ElementTypeException if there is no number at the path or it does not fit into an int
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public int getInt(String path) throws ElementTypeException, JsonParseException {
+        return intValue(require(path));
+    }
+
+    /**
+     * @param path the path of the value
+     * @return the number as a double
+     * @throws ElementTypeException if there is no number at the path
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public double getDouble(String path) throws ElementTypeException, JsonParseException {
+        return doubleValue(require(path));
+    }
+
+    /**
+     * @param path the path of the value
+     * @return the boolean
+     * @throws ElementTypeException if there is no boolean at the path
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public boolean getBoolean(String path) throws ElementTypeException, JsonParseException {
+        return booleanValue(require(path));
+    }
+
+    /**
+     * @param path the path of an object or array
+     * @return the number of its elements
+     * @throws ElementTypeException if there is no object or array at the path
+     * @throws JsonParseException   if the document is malformed on the path
+     */
+    public int size(String path) throws ElementTypeException, JsonParseException {
+        return size(require(path));
+    }
+
+    private int require(String path) throws ElementTypeException, JsonParseException {
+        int token = resolve(0, path);
+        if (token < 0) throw new ElementTypeException("There is no value at the path \"" + path + "\"");
+        return token;
+    }
+
+    /**
+     * Follows a path of names and [indexes] from a token
+     *
+     * @return the token of the value or -1 if there is none
+     */
+    int resolve(int token, String path) throws JsonParseException {
+        int i = 0;
+        int n = path.length();
+        while (i < n && token >= 0) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) throw new IllegalArgumentException("Unterminated index in the path \"" + path + "\"");
+                token = element(token, Integer.parseInt(path, i + 1, close, 10));
+                i = close + 1;
+            } else {
+                int end = i;
+                while (end < n && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+                token = member(token, path, i, end);
+                i = end;
+            }
+        }
+        return token;
+    }
+
+    /**
+     * @return the token of the value of the name in the object or -1 if there is none
+     */
+    int member(int object, CharSequence name, int from, int to) throws JsonParseException {
+        if (object < 0 || bytes[index.positions[object]] != '{') return -1;
+        int token = object + 1;
+        while (bytes[index.positions[token]] != '}') {
+            if (bytes[index.positions[token]] != '"' || bytes[index.positions[token + 1]] != ':')
+                throw malformed(token, "Expected a name");
+            if (keyEquals(token, name, from, to)) return value(token + 2);
+            token = next(token + 2, '}');
+        }
+        return -1;
+    }
+
+    /**
+     * @return the token of the element in the array or -1 if there is none
+     */
+    int element(int array, int position) throws JsonParseException {
+        if (array < 0 || position < 0 || bytes[index.positions[array]] != '[') return -1;
+        int token = array + 1;
+        for (int i = 0; bytes[index.positions[token]] != ']'; i++) {
+            if (i == position) return value(token);
+            token = next(token, ']');
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of elements of an object or array
+     */
+    int size(int token) throws ElementTypeException, JsonParseException {
+        byte open = bytes[index.positions[token]];
+        if (open != '{' && open != '[') throw typeError(token, "Object or Array");
+        char close = (open == '{') ? '}' : ']';
+        int size = 0;
+        int current = token + 1;
+        while (bytes[index.positions[current]] != close) {
+            size++;
+            current = next((open == '{') ? current + 2 : current, close);
+        }
+        return size;
+    }
+
+    /**
+     * @param value the token of a value inside an object or array
+     * @return the token after the value and its comma
+     */
+    int next(int value, char close) throws JsonParseException {
+        int after = index.matching[value(value)] + 1;
+        byte b = bytes[index.positions[after]];
+        if (b == ',') {
+            if (bytes[index.positions[after + 1]] == close) throw malformed(after + 1, "Expected a value");
+            return after + 1;
+        }
+        if (b != close) throw malformed(after, "Expected ',' or '" + close + "'");
+        return after;
+    }
+
+    /**
+     * @return the token if it starts a value
+     */
+    private int value(int token) throws JsonParseException {
+        byte b = bytes[index.positions[token]];
+        if (b == '}' || b == ']' || b == ':' || b == ',') throw malformed(token, "Expected a value");
+        return token;
+    }
+
+    /**
+     * Compares a key with a part of a path, ASCII keys without escapes are compared byte by byte
+     */
+    private boolean keyEquals(int key, CharSequence name, int from, int to) throws JsonParseException {
+        int p = index.positions[key] + 1;
+        for (int i = from; i < to; i++, p++) {
+            byte b = bytes[p];
+            char c = name.charAt(i);
+            if (b < 0 || b == '\\' || c >= 0x80) {
+                String decoded = decode(index.positions[key]);
+                return decoded.length() == to - from && decoded.contentEquals(name.subSequence(from, to));
+            }
+            if (b != c || b == '"') return false;
+        }
+        return bytes[p] == '"';
+    }
+
+    JSONType type(int token) {
+        int p = index.positions[token];
+        switch (bytes[p]) {
+            case '{':
+                return JSONType.JSON_ANNOTATED;
+            case '[':
+                return JSONType.LIST;
+            case '"':
+                return JSONType.STRING;
+            case 't':
+            case 'f':
+                return JSONType.BOOLEAN;
+            case 'n':
+                return null;
+            default:
+                return NumberParser.isIntegral(bytes, p, StructuralIndex.scalarEnd(bytes, p, limit) - p) ? JSONType.INTEGER : JSONType.DOUBLE;
+        }
+    }
+
+    String string(int token) throws ElementTypeException, JsonParseException {
+        int p = index.positions[token];
+        if (bytes[p] == 'n' && isLiteral(p, "null")) return null;
+        if (bytes[p] != '"') throw typeError(token, "String");
+        return decode(p);
+    }
+
+    /**
+     * @param p the position of the opening quote
+     * @return the decoded string
+     */
+    private String decode(int p) throws JsonParseException {
+        int start = p + 1;
+        int end = StructuralIndex.skipString(bytes, start, limit) - 1;
+        int escape = start;
+        while (escape < end && bytes[escape] != '\\') escape++;
+        if (escape == end) return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        return unescape(start, end, escape);
+    }
+
+    long longValue(int token) throws ElementTypeException, JsonParseException {
+        int p = number(token);
+        try {
+            return NumberParser.parseLong(bytes, p, StructuralIndex.scalarEnd(bytes, p, limit) - p);
+        } catch (NumberFormatException e) {
+            throw new ElementTypeException(e.getMessage());
+        }
+    }
+
+    int intValue(int token) throws ElementTypeException, JsonParseException {
+        long value = longValue(token);
+        if ((int) value != value) throw new ElementTypeException("The number " + value + " does not fit into an int");
+        return (int) value;
+    }
+
+    double doubleValue(int token) throws ElementTypeException, JsonParseException {
+        int p = number(token);
+        return NumberParser.parseDouble(bytes, p, StructuralIndex.scalarEnd(bytes, p, limit) - p);
+    }
+
+    boolean booleanValue(int token) throws ElementTypeException, JsonParseException {
+        int p = index.positions[token];
+        if (bytes[p] == 't' && isLiteral(p, "true")) return true;
+        if (bytes[p] == 'f' && isLiteral(p, "false")) return false;
+        if (bytes[p] == 't' || bytes[p] == 'f') throw malformed(token, "Malformed literal");
+        throw typeError(token, "Boolean");
+    }
+
+    boolean isNull(int token) throws JsonParseException {
+        int p = index.positions[token];
+        if (bytes[p] != 'n') return false;
+        if (!isLiteral(p, "null")) throw malformed(token, "Malformed literal");
+        return true;
+    }
+
+    /**
+     * @return the JSON of a value as it is in the document
+     */
+    String raw(int token) throws JsonParseException {
+        int start = index.positions[token];
+        byte b = bytes[start];
+        int end;
+        if (b == '{' || b == '[') end = index.positions[index.matching[token]] + 1;
+        else if (b == '"') end = StructuralIndex.skipString(bytes, start + 1, limit);
+        else end = StructuralIndex.scalarEnd(bytes, start, limit);
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the byte offset of the token
+     */
+    int position(int token) {
+        return index.positions[token];
+    }
+
+    /**
+     * @return the byte offset after the value of the token
+     */
+    int end(int token) throws JsonParseException {
+        int start = index.positions[token];
+        byte b = bytes[start];
+        if (b == '{' || b == '[') return index.positions[index.matching[token]] + 1;
+        if (b == '"') return StructuralIndex.skipString(bytes, start + 1, limit);
+        return StructuralIndex.scalarEnd(bytes, start, limit);
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    private int number(int token) throws ElementTypeException, JsonParseException {
+        int p = index.positions[token];
+        byte b = bytes[p];
+        if (b != '-' && (b < '0' || b > '9')) throw typeError(token, "Number");
+        if (!NumberParser.isValid(bytes, p, StructuralIndex.scalarEnd(bytes, p, limit) - p)) throw malformed(token, "Malformed number");
+        return p;
+    }
+
+    private boolean isLiteral(int p, String literal) {
+        if (StructuralIndex.scalarEnd(bytes, p, limit) - p != literal.length()) return false;
+        for (int i = 0; i < literal.length(); i++) {
+            if (bytes[p + i] != literal.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a string with escape sequences, the runs between them are decoded as UTF-8 at once
+     */
+    private String unescape(int start, int end, int escape) throws JsonParseException {
+        StringBuilder out = new StringBuilder(end - start);
+        int run = start;
+        int i = escape;
+        while (i < end) {
+            if (bytes[i] != '\\') {
+                i++;
+                continue;
+            }
+            out.append(new String(bytes, run, i - run, StandardCharsets.UTF_8));
+            byte e = bytes[i + 1];
+            switch (e) {
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'u':
+                    if (i + 6 > end) throw new JsonParseException("Illegal unicode escape at offset " + i);
+                    int value = 0;
+                    for (int h = i + 2; h < i + 6; h++) {
+                        int digit = Character.digit(bytes[h], 16);
+                        if (digit < 0) throw new JsonParseException("Illegal unicode escape at offset " + i);
+                        value = (value << 4) | digit;
+                    }
+                    out.append((char) value);
+                    i += 4;
+                    break;
+                case '"':
+                case '\\':
+                case '/':
+                    out.append((char) e);
+                    break;
+                default:
+                    throw new JsonParseException("Illegal escape sequence at offset " + i);
+            }
+            i += 2;
+            run = i;
+        }
+        out.append(new String(bytes, run, end - run, StandardCharsets.UTF_8));
+        return out.toString();
+    }
+
+    private ElementTypeException typeError(int token, String expected) {
+        JSONType type = type(token);
+        return new ElementTypeException("Type (" + (type == null ? "null" : type.name()) + ") at offset " + index.positions[token] + " cannot be casted to " + expected + " Value!");
+    }
+
+    private JsonParseException malformed(int token, String message) {
+        return new JsonParseException(message + " at offset " + index.positions[token]);
+    }
+}
@@ -0,0 +1,180 @@
+package document;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonParseException;
+import parser.JSONParser;
+import parser.enums.JSONType;
+import parser.io.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A value of a JsonDocument, it only refers to its position in the StructuralIndex.
+ * - Nothing is decoded until a typed getter is called
+ * - Paths are resolved relative to this value
+ * - An object or array can be bound to a JsonSerializableObject with toObject, without reading the rest of the document
+ *
+ * @see JsonDocument
+ */
+public final class JsonValue {
+    private final JsonDocument document;
+    private final int token;
+
+    JsonValue(JsonDocument document, int token) {
+        this.document = document;
+        this.token = token;
+    }
+
+    /**
+     * @param path the path relative to this value, like: members[1].name
+     * @return the value or null if there is none at the path
+     * @throws JsonParseException if the document is malformed on the path
+     */
+    public JsonValue get(String path) throws JsonParseException {
+        int found = document.resolve(token, path);
+        return (found < 0) ? null : new JsonValue(document, found);
+    }
+
+    /**
+     * @param index the index of the element in this array
+     * @return the element or null if this is no array or it is too short
+     * @throws JsonParseException if the array is malformed
+     */
+    public JsonValue get(int index) throws JsonParseException {
+        int found = document.element(token, index);
+        return (found < 0) ? null : new JsonValue(document, found);
+    }
+
+    /**
+     * @param path the path relative to this value
+     * @return if there is a value at the path, also if it is null
+     * @throws JsonParseException if the document is malformed on the path
+     */
+    public boolean has(String path) throws JsonParseException {
+        return document.resolve(token, path) >= 0;
+    }
+
+    /**
+     * @return the type of the value, INTEGER or DOUBLE for numbers, null for null
+     */
+    public JSONType getType() {
+        return document.type(token);
+    }
+
+    /**
+     * @return if the value is null
+     * @throws JsonParseException if the literal is malformed
+     */
+    public boolean isNull() throws JsonParseException {
+        return document.isNull(token);
+    }
+
+    /**
+     * @return the decoded string or null if the value is null
+     * @throws ElementTypeException if the value is no string
+     * @throws JsonParseException   if the string is malformed
+     */
+    public String getString() throws ElementTypeException, JsonParseException {
+        return document.string(token);
+    }
+
+    /**
+     * @return the number as a long
+     * @throws ElementTypeException if the value is no number or does not fit into a long
+     * @throws JsonParseException   if the number is malformed
+     */
+    public long getLong() throws ElementTypeException, JsonParseException {
+        return document.longValue(token);
+    }
+
+    /**
+     * @return the number as an int
+     * @throws ElementTypeException if the value is no number or does not fit into an int
+     * @throws JsonParseException   if the number is malformed
+     */
+    public int getInt() throws ElementTypeException, JsonParseException {
+        return document.intValue(token);
+    }
+
+    /**
+     * @return the number as a double
+     * @throws ElementTypeException if the value is no number
+     * @throws JsonParseException   if the number is malformed
+     */
+    public double getDouble() throws ElementTypeException, JsonParseException {
+        return document.doubleValue(token);
+    }
+
+    /**
+     * @return the boolean
+     * @throws ElementTypeException if the value is no boolean
+     * @throws JsonParseException   if the literal is malformed
+     */
+    public boolean getBoolean() throws ElementTypeException, JsonParseException {
+        return document.booleanValue(token);
+    }
+
+    /**
+     * @return the number of elements of this object or array
+     * @throws ElementTypeException if the value is no object or array
+     * @throws JsonParseException   if the value is malformed
+     */
+    public int size() throws ElementTypeException, JsonParseException {
+        return document.size(token);
+    }
+
+    /**
+     * @return the names of this object in the order of the document
+     * @throws ElementTypeException if the value is no object
+     * @throws JsonParseException   if the object is malformed
+     */
+    public List<String> getKeys() throws ElementTypeException, JsonParseException {
+        if (document.type(token) != JSONType.JSON_ANNOTATED)
+            throw new ElementTypeException("Type (" + document.type(token) + ") cannot be casted to Object Value!");
+        List<String> keys = new ArrayList<>();
+        int current = token + 1;
+        while (document.bytes()[document.position(current)] != '}') {
+            keys.add(document.string(current));
+            current = document.next(current + 2, '}');
+        }
+        return keys;
+    }
+
+    /**
+     * Binds this object to a class annotated with JsonSerializableObject, only its bytes are read
+     *
+     * @param parser the parser whose Handlers are used
+     * @param clazz  the class of the object
+     * @return the object or null if the value is null
+     * @throws JsonParseException if the value is malformed or the object cannot be created
+     */
+    public <T> T toObject(JSONParser parser, Class<T> clazz) throws JsonParseException {
+        try {
+            int start = document.position(token);
+            return parser.readObject(JsonReader.of(document.bytes(), start, document.end(token) - start), clazz);
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new JsonParseException(e.getMessage());
+        }
+    }
+
+    /**
+     * @return the JSON of this value as it is in the document
+     * @throws JsonParseException if the value is malformed
+     */
+    public String toJson() throws JsonParseException {
+        return document.raw(token);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return toJson();
+        } catch (JsonParseException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package document;
+
+import exceptions.JsonParseException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Index of the structure of a JSON document, built in one pass over its bytes.
+ * - Every brace, bracket, colon and comma and the first byte of every string and scalar is one token
+ * - positions holds the byte offset of each token, matching the token of the closing bracket of each opening one
+ *   (and the token itself for all other tokens), so a whole value is skipped with one array read
+ * - Strings are skipped eight bytes at a time (SWAR) looking for quotes and backslashes
+ * - Brackets are matched while indexing, scalars and the order of tokens are only checked when they are accessed
+ */
+final class StructuralIndex {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long QUOTES = 0x2222222222222222L;
+    private static final long BACKSLASHES = 0x5c5c5c5c5c5c5c5cL;
+
+    private static final byte SCALAR = 0;
+    private static final byte WHITESPACE = 1;
+    private static final byte STRUCTURAL = 2;
+    private static final byte[] CLASSES = new byte[256];
+
+    static {
+        CLASSES[' '] = CLASSES['\t'] = CLASSES['\n'] = CLASSES['\r'] = WHITESPACE;
+        CLASSES['{'] = CLASSES['}'] = CLASSES['['] = CLASSES[']'] = CLASSES[':'] = CLASSES[','] = CLASSES['"'] = STRUCTURAL;
+    }
+
+    final int[] positions;
+    final int[] matching;
+    final int count;
+
+    private StructuralIndex(int[] positions, int[] matching, int count) {
+        this.positions = positions;
+        this.matching = matching;
+        this.count = count;
+    }
+
+    /**
+     * @param bytes  the UTF-8 encoded document
+     * @param offset the index of the first byte
+     * @param limit  the index after the last byte
+     * @return the index of the document
+     * @throws JsonParseException if a string is not terminated, brackets do not match or there is not exactly one value
+     */
+    static StructuralIndex build(byte[] bytes, int offset, int limit) throws JsonParseException {
+        int[] positions = new int[Math.max(16, (limit - offset) >>> 2)];
+        int[] matching = new int[positions.length];
+        int[] open = new int[32];
+        int depth = 0;
+        int count = 0;
+        boolean complete = false;
+
+        int i = offset;
+        while (i < limit) {
+            int b = bytes[i] & 0xff;
+            if (CLASSES[b] == WHITESPACE) {
+                i++;
+                continue;
+            }
+            if (complete) throw new JsonParseException("Unexpected content after the document at offset " + i);
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count + (count >>> 1));
+                matching = Arrays.copyOf(matching, positions.length);
+            }
+            positions[count] = i;
+            matching[count] = count;
+
+            switch (b) {
+                case '{':
+                case '[':
+                    if (depth == open.length) open = Arrays.copyOf(open, depth * 2);
+                    open[depth++] = count;
+                    i++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0 || bytes[positions[open[depth - 1]]] != (b == '}' ? '{' : '['))
+                        throw new JsonParseException("Unexpected '" + (char) b + "' at offset " + i);
+                    matching[open[--depth]] = count;
+                    complete = depth == 0;
+                    i++;
+                    break;
+                case ':':
+                case ',':
+                    if (depth == 0) throw new JsonParseException("Unexpected '" + (char) b + "' at offset " + i);
+                    i++;
+                    break;
+                case '"':
+                    i = skipString(bytes, i + 1, limit);
+                    complete = depth == 0;
+                    break;
+                default:
+                    i = scalarEnd(bytes, i, limit);
+                    complete = depth == 0;
+                    break;
+            }
+            count++;
+        }
+
+        if (depth != 0) throw new JsonParseException("Unterminated object or array at offset " + positions[open[depth - 1]]);
+        if (count == 0) throw new JsonParseException("The document is empty");
+        return new StructuralIndex(positions, matching, count);
+    }
+
+    /**
+     * @param from the index after the opening quote
+     * @return the index after the closing quote
+     */
+    static int skipString(byte[] bytes, int from, int limit) throws JsonParseException {
+        int i = from;
+        while (true) {
+            for (; i + 8 <= limit; i += 8) {
+                long word = (long) LONGS.get(bytes, i);
+                long found = zeroBytes(word ^ QUOTES) | zeroBytes(word ^ BACKSLASHES);
+                // only the lowest marked byte is exact, the borrows of the subtractions only reach higher bytes
+                if (found != 0) {
+                    i += Long.numberOfTrailingZeros(found) >>> 3;
+                    break;
+                }
+            }
+            while (i < limit && bytes[i] != '"' && bytes[i] != '\\') i++;
+            if (i >= limit) throw new JsonParseException("Unterminated string at offset " + (from - 1));
+            if (bytes[i] == '"') return i + 1;
+            i += 2;
+        }
+    }
+
+    /**
+     * @param from the first byte of a number or literal
+     * @return the index after its last byte
+     */
+    static int scalarEnd(byte[] bytes, int from, int limit) {
+        int i = from;
+        while (i < limit && CLASSES[bytes[i] & 0xff] == SCALAR) i++;
+        return i;
+    }
+
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+}
@@ -0,0 +1,14 @@
+package exceptions;
+
+import java.io.IOException;
+
+/**
+ * Thrown if a JSON document is malformed or does not have the expected structure
+ */
+public class JsonParseException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public JsonParseException(String message) {
+        super(message);
+    }
+}
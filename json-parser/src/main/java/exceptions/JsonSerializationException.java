@@ -0,0 +1,30 @@
+package exceptions;
+
+import parser.handlers.ElementHandler;
+import parser.handlers.HandlerRegistry;
+
+import java.util.Map;
+
+public class JsonSerializationException extends Exception {
+    public JsonSerializationException(String ex) {
+        super(ex);
+    }
+
+    public static String getHandlerRecommendations(Object o, Map<String, ElementHandler> handlers) {
+        return getHandlerRecommendations(o, HandlerRegistry.of(handlers));
+    }
+
+    /**
+     * @param o        the value without a handler
+     * @param handlers the handlers of the parser, the inferred handler of the class of the value is cached
+     * @return the recommendation which type to use
+     */
+    public static String getHandlerRecommendations(Object o, HandlerRegistry handlers) {
+        ElementHandler handler = (o == null) ? null : handlers.infer(o);
+        if (handler == null) return "No fitting Handler was found!";
+
+        if (HandlerRegistry.isDefault(handler))
+            return "Try the type JSONType." + handler.getType() + " instead of JSONType.CUSTOM";
+        return "Try changing to customType to \"" + handler.getType() + "\"";
+    }
+}
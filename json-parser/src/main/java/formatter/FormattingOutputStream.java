@@ -0,0 +1,58 @@
+package formatter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * OutputStream which formats the UTF-8 encoded JSON written into it and passes it to a stream in chunks
+ */
+final class FormattingOutputStream extends OutputStream {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final Printer printer;
+    private int position;
+
+    FormattingOutputStream(JSONFormatter formatter, OutputStream out) {
+        this.out = out;
+        this.printer = new Printer(formatter) {
+            @Override
+            void put(int unit) throws IOException {
+                if (position == buffer.length) flushBuffer();
+                buffer[position++] = (byte) unit;
+            }
+        };
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        printer.accept(b & 0xff);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) printer.accept(bytes[i] & 0xff);
+    }
+
+    /**
+     * Writes the formatted bytes into the stream and flushes it, the document may continue afterwards
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position == 0) return;
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -0,0 +1,74 @@
+package formatter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Writer which formats the JSON written into it and passes it to an Appendable in chunks
+ */
+final class FormattingWriter extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Appendable out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final Printer printer;
+    private int position;
+
+    FormattingWriter(JSONFormatter formatter, Appendable out) {
+        this.out = out;
+        this.printer = new Printer(formatter) {
+            @Override
+            void put(int unit) throws IOException {
+                if (position == buffer.length) flushBuffer();
+                buffer[position++] = (char) unit;
+            }
+        };
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        printer.accept((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) printer.accept(chars[i]);
+    }
+
+    @Override
+    public void write(String s, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) printer.accept(s.charAt(i));
+    }
+
+    @Override
+    public Writer append(CharSequence csq, int start, int end) throws IOException {
+        CharSequence s = (csq == null) ? "null" : csq;
+        for (int i = start; i < end; i++) printer.accept(s.charAt(i));
+        return this;
+    }
+
+    /**
+     * Writes the formatted characters into the Appendable and flushes it, the document may continue afterwards
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (out instanceof Flushable) ((Flushable) out).flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (out instanceof Closeable) ((Closeable) out).close();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position == 0) return;
+        if (out instanceof Writer) ((Writer) out).write(buffer, 0, position);
+        else out.append(CharBuffer.wrap(buffer, 0, position));
+        position = 0;
+    }
+}
@@ -0,0 +1,154 @@
+package formatter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Pretty-prints or minifies JSON documents while they are streamed.
+ * - Only the depth and the state of the current string are kept, documents of any size are formatted in constant memory
+ * - Strings are copied as they are, escaped quotes and backslashes included
+ * - decorate wraps the sink of a serializer, so formatted output is written in the same pass
+ * - Whitespace between tokens is replaced, top-level values like NDJSON lines stay on their own line
+ */
+public final class JSONFormatter {
+    private static final JSONFormatter TABS = new JSONFormatter("\t", false);
+    private static final JSONFormatter MINIFY = new JSONFormatter("", true);
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String indent;
+    private final boolean minify;
+
+    private JSONFormatter(String indent, boolean minify) {
+        this.indent = indent;
+        this.minify = minify;
+    }
+
+    /**
+     * @return a formatter which indents with one tab per level
+     */
+    public static JSONFormatter tabs() {
+        return TABS;
+    }
+
+    /**
+     * @param width the number of spaces per level
+     * @return a formatter which indents with spaces
+     */
+    public static JSONFormatter spaces(int width) {
+        if (width < 0) throw new IllegalArgumentException("The width of the indent cannot be negative");
+        return new JSONFormatter(" ".repeat(width), false);
+    }
+
+    /**
+     * @param indent the indent of one level, like "\t" or "  "
+     * @return a formatter which indents with the given string
+     */
+    public static JSONFormatter indent(String indent) {
+        return new JSONFormatter(Objects.requireNonNull(indent), false);
+    }
+
+    /**
+     * @return a formatter which removes all whitespace between tokens
+     */
+    public static JSONFormatter minify() {
+        return MINIFY;
+    }
+
+    /**
+     * Pretty-prints a JSON document with tabs
+     *
+     * @param json the document
+     * @return the formatted document
+     */
+    public static String format(String json) {
+        return TABS.apply(json);
+    }
+
+    /**
+     * @param json the document
+     * @return the formatted document
+     */
+    public String apply(String json) {
+        StringBuilder out = new StringBuilder(json.length() + (json.length() >> 1));
+        try {
+            Writer writer = decorate(out);
+            writer.write(json);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Formats a document while it is read, neither the Reader nor the Writer is closed
+     *
+     * @param in  the document
+     * @param out the formatted document
+     * @throws IOException if the document cannot be read or written
+     */
+    public void format(Reader in, Writer out) throws IOException {
+        Writer writer = decorate(out);
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) writer.write(buffer, 0, read);
+        writer.flush();
+    }
+
+    /**
+     * Formats a UTF-8 encoded document while it is read, the bytes are formatted without being decoded
+     * - Neither of the streams is closed
+     *
+     * @param in  the document
+     * @param out the formatted document
+     * @throws IOException if the document cannot be read or written
+     */
+    public void format(InputStream in, OutputStream out) throws IOException {
+        OutputStream stream = decorateStream(out);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) stream.write(buffer, 0, read);
+        stream.flush();
+    }
+
+    /**
+     * Wraps a sink, so that everything written into it is formatted on the way, like: parser.writeObject(o, formatter.decorate(out))
+     * - flush writes the formatted characters into the sink, close also closes the sink
+     *
+     * @param out the sink of the formatted document
+     * @return the Writer of the unformatted document
+     */
+    public Writer decorate(Appendable out) {
+        return new FormattingWriter(this, Objects.requireNonNull(out));
+    }
+
+    /**
+     * Wraps a stream, so that the UTF-8 encoded JSON written into it is formatted on the way
+     * - flush writes the formatted bytes into the stream, close also closes the stream
+     *
+     * @param out the stream of the formatted document
+     * @return the stream of the unformatted document
+     */
+    public OutputStream decorateStream(OutputStream out) {
+        return new FormattingOutputStream(this, Objects.requireNonNull(out));
+    }
+
+    /**
+     * @return the indent of one level, empty if the formatter minifies
+     */
+    public String getIndent() {
+        return indent;
+    }
+
+    /**
+     * @return if all whitespace between tokens is removed
+     */
+    public boolean isMinify() {
+        return minify;
+    }
+}
@@ -0,0 +1,116 @@
+package formatter;
+
+import java.io.IOException;
+
+/**
+ * State machine which pretty-prints or minifies a JSON document unit by unit.
+ * - Units are chars or UTF-8 bytes, every structural character of JSON is ASCII and no other byte looks like one
+ * - Only the depth and the state of the current string are kept, so documents of any size use constant memory
+ * - Empty objects and arrays stay on one line, top-level values are separated by a line
+ */
+abstract class Printer {
+    private final String indent;
+    private final boolean minify;
+
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private boolean pendingOpen;
+    private boolean afterTopLevel;
+    private boolean inScalar;
+
+    Printer(JSONFormatter formatter) {
+        this.indent = formatter.getIndent();
+        this.minify = formatter.isMinify();
+    }
+
+    /**
+     * Writes one unit into the output
+     */
+    abstract void put(int unit) throws IOException;
+
+    /**
+     * Reads the next unit of the document
+     */
+    final void accept(int unit) throws IOException {
+        if (inString) {
+            put(unit);
+            if (escaped) escaped = false;
+            else if (unit == '\\') escaped = true;
+            else if (unit == '"') {
+                inString = false;
+                if (depth == 0) afterTopLevel = true;
+            }
+            return;
+        }
+
+        switch (unit) {
+            case ' ':
+            case '\t':
+            case '\r':
+                inScalar = false;
+                return;
+            case '\n':
+                inScalar = false;
+                if (afterTopLevel) {
+                    put('\n');
+                    afterTopLevel = false;
+                }
+                return;
+            case '}':
+            case ']':
+                depth--;
+                if (pendingOpen) pendingOpen = false;
+                else newLine();
+                put(unit);
+                if (depth == 0) afterTopLevel = true;
+                return;
+            case ',':
+                put(unit);
+                newLine();
+                return;
+            case ':':
+                put(unit);
+                return;
+            case '{':
+            case '[':
+                beforeValue();
+                put(unit);
+                depth++;
+                pendingOpen = true;
+                return;
+            case '"':
+                beforeValue();
+                put(unit);
+                inString = true;
+                return;
+            default:
+                // a top-level number or literal is one value, so only its first unit is separated from the value before
+                if (!inScalar) beforeValue();
+                put(unit);
+                if (depth == 0) {
+                    inScalar = true;
+                    afterTopLevel = true;
+                }
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        if (pendingOpen) {
+            pendingOpen = false;
+            newLine();
+        } else if (afterTopLevel && depth == 0) {
+            put('\n');
+        }
+        afterTopLevel = false;
+        inScalar = false;
+    }
+
+    private void newLine() throws IOException {
+        if (minify) return;
+        put('\n');
+        for (int i = 0; i < depth; i++) {
+            for (int j = 0; j < indent.length(); j++) put(indent.charAt(j));
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package parser;
+
+import exceptions.JsonSerializationException;
+import parser.io.ByteBufferPool;
+import parser.io.JsonWriter;
+import parser.io.Utf8JsonWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher of a document as UTF-8 encoded ByteBuffers of at most chunkSize bytes.
+ * - The document is written in steps, like the envelope of a list or one of its elements
+ * - A step is only started when the subscriber has requested chunks and all earlier chunks were delivered
+ * - A full chunk is emitted while the step is written, without demand the writing thread waits for the next request
+ * - At most one chunk and one buffer of the writer are held, however large the object of a step is, like one with a huge list
+ * - Cancelling stops the current step at the next buffer handed to the sink, even inside nested objects
+ * - Signals are delivered on the executor, one at a time
+ * - A waiting step blocks its executor thread, so requests must not depend on tasks queued behind it on the same thread
+ * - Only one subscriber is accepted, the document is written once
+ */
+final class ChunkPublisher implements Flow.Publisher<ByteBuffer> {
+    static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+    /**
+     * One step of the document
+     */
+    @FunctionalInterface
+    interface Source {
+        /**
+         * @param writer the writer of the document
+         * @return false if the document was complete and nothing was written
+         */
+        boolean write(JsonWriter writer) throws JsonSerializationException, IOException;
+    }
+
+    private final Executor executor;
+    private final int chunkSize;
+    private final Source source;
+    private final ByteBufferPool buffers;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    ChunkPublisher(Executor executor, int chunkSize, Source source) {
+        if (chunkSize < 1) throw new IllegalArgumentException("The chunk size has to be positive");
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.source = source;
+        // the writer hands its buffer to the sink when it is full, so a buffer larger than a chunk would be written ahead of demand
+        this.buffers = (chunkSize >= ByteBufferPool.HEAP.getBufferSize()) ? ByteBufferPool.HEAP : new ByteBufferPool(Math.max(16, chunkSize), 1, false);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The document can only be published to one subscriber"));
+            return;
+        }
+        Chunks chunks = new Chunks(subscriber);
+        subscriber.onSubscribe(chunks);
+    }
+
+    /**
+     * The subscription, which is also the sink the writer drains into
+     */
+    private final class Chunks extends OutputStream implements Flow.Subscription, Runnable, ForkJoinPool.ManagedBlocker {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Object signal = new Object();
+        private volatile boolean cancelled;
+        private volatile Throwable invalid;
+
+        // only accessed by the drain loop
+        private Utf8JsonWriter writer;
+        private ByteBuffer chunk;
+        private boolean finished;
+        private boolean terminated;
+
+        Chunks(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalid = new IllegalArgumentException("The number of requested chunks has to be positive, was " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            wake();
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            wake();
+            schedule();
+        }
+
+        /**
+         * Wakes a step which waits for demand
+         */
+        private void wake() {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() != 0) return;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancelled = true;
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!terminated) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                Throwable error = invalid;
+                if (error != null) {
+                    terminate();
+                    subscriber.onError(error);
+                    return;
+                }
+                if (finished && chunk == null) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (demand.get() == 0) return;
+                if (finished) {
+                    emit(chunk.flip());
+                    chunk = null;
+                    continue;
+                }
+                try {
+                    if (writer == null) writer = Utf8JsonWriter.toStream(this, buffers);
+                    boolean written = source.write(writer);
+                    writer.flush();
+                    if (!written) {
+                        if (chunk != null && chunk.position() == 0) chunk = null;
+                        finished = true;
+                    }
+                } catch (Exception e) {
+                    terminate();
+                    // a step which was woken by an invalid request reports the request, not the interrupted write
+                    Throwable request = invalid;
+                    if (!cancelled) subscriber.onError(request != null ? request : e);
+                    return;
+                }
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            chunk = null;
+            if (writer != null) writer.release();
+            writer = null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (cancelled) throw new IOException("The subscription was cancelled");
+            while (length > 0) {
+                if (chunk == null) chunk = ByteBuffer.allocate(chunkSize);
+                int n = Math.min(length, chunk.remaining());
+                chunk.put(bytes, offset, n);
+                offset += n;
+                length -= n;
+                if (!chunk.hasRemaining()) {
+                    ByteBuffer full = chunk.flip();
+                    chunk = null;
+                    awaitDemand();
+                    emit(full);
+                }
+            }
+        }
+
+        private void emit(ByteBuffer full) {
+            if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+            subscriber.onNext(full);
+        }
+
+        /**
+         * Waits inside a step until a chunk is requested, the subscription is cancelled or a request is invalid
+         */
+        private void awaitDemand() throws IOException {
+            try {
+                ForkJoinPool.managedBlock(this);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for demand");
+            }
+            if (cancelled) throw new IOException("The subscription was cancelled");
+            if (invalid != null) throw new IOException("The subscriber requested an invalid number of chunks");
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return demand.get() > 0 || cancelled || invalid != null;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            synchronized (signal) {
+                while (!isReleasable()) signal.wait();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package parser;
+
+import parser.annotations.JsonField;
+import parser.annotations.JsonMethod;
+import parser.annotations.JsonSerializableObject;
+import parser.enums.JSONType;
+import parser.io.JsonNames;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable description of how a class is deserialized.
+ * - All annotated Fields are resolved once per class and cached with a ClassValue
+ * - The keys are matched with a JsonNames perfect hash, so no String is created per key
+ * - Records are created with their canonical constructor, other classes with their no-args constructor and Field setters
+ * - Methods annotated with JsonMethod are only written, their keys are skipped like unknown keys
+ *
+ * @see JsonField
+ * @see JsonMethod
+ */
+final class DeserializationPlan {
+    private static final ClassValue<DeserializationPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected DeserializationPlan computeValue(Class<?> type) {
+            return new DeserializationPlan(type);
+        }
+    };
+
+    /**
+     * The way a value is read and set
+     * - The primitive kinds are set without boxing, VALUE is read as an Object
+     */
+    enum Kind {
+        LONG,
+        DOUBLE,
+        FLOAT,
+        BOOLEAN,
+        VALUE
+    }
+
+    private final Class<?> type;
+    private final String listName;
+    private final JsonNames names;
+    private final Binding[] bindings;
+    private final MethodHandle constructor;
+    private final Object[] defaults;
+    private final String error;
+
+    private DeserializationPlan(Class<?> type) {
+        this.type = type;
+
+        JsonSerializableObject annotation = type.getAnnotation(JsonSerializableObject.class);
+        this.listName = (annotation == null) ? null : annotation.listName();
+
+        // keyed like the SerializationPlan, a later Field with the same key replaces an earlier one
+        Map<String, Field> fields = new LinkedHashMap<>();
+        String error = null;
+        for (Field f : type.getDeclaredFields()) {
+            JsonField jsonField = f.getAnnotation(JsonField.class);
+            if (jsonField == null || Modifier.isStatic(f.getModifiers())) continue;
+
+            String key = jsonField.key().equals("") ? f.getName() : jsonField.key();
+            if (error == null && jsonField.type() == JSONType.CUSTOM && jsonField.customType().equals(""))
+                error = "The field(" + type + " --> " + f.getName() + ") is annotated with JSONType.CUSTOM but not with customType";
+            fields.remove(key);
+            fields.put(key, f);
+        }
+
+        MethodHandle constructor = null;
+        Object[] defaults = null;
+        Binding[] bindings = new Binding[fields.size()];
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            RecordComponent[] components = type.isRecord() ? type.getRecordComponents() : null;
+
+            if (components != null) {
+                Class<?>[] parameters = new Class<?>[components.length];
+                defaults = new Object[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    parameters[i] = components[i].getType();
+                    defaults[i] = defaultValue(parameters[i]);
+                }
+                constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameters))
+                        .asSpreader(Object[].class, components.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } else {
+                constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            }
+
+            int i = 0;
+            for (Map.Entry<String, Field> entry : fields.entrySet()) {
+                Field field = entry.getValue();
+                if (components != null) {
+                    bindings[i++] = new Binding(entry.getKey(), field, componentIndex(components, field), null);
+                } else {
+                    if (Modifier.isFinal(field.getModifiers())) field.setAccessible(true);
+                    bindings[i++] = new Binding(entry.getKey(), field, -1, lookup.unreflectSetter(field));
+                }
+            }
+        } catch (NoSuchMethodException e) {
+            if (error == null) error = "The class " + type.getName() + " has no no-args constructor";
+        } catch (IllegalAccessException | RuntimeException e) {
+            if (error == null) error = "The class " + type.getName() + " cannot be instantiated: " + e.getMessage();
+        }
+
+        this.names = JsonNames.of(fields.keySet().toArray(new String[0]));
+        this.bindings = bindings;
+        this.constructor = constructor;
+        this.defaults = defaults;
+        this.error = error;
+    }
+
+    /**
+     * @param clazz the class to get the plan for
+     * @return the cached plan of the class
+     */
+    static DeserializationPlan of(Class<?> clazz) {
+        return PLANS.get(clazz);
+    }
+
+    /**
+     * @return the class this plan describes
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the listName of the JsonSerializableObject annotation or null if the class is not annotated
+     */
+    String getListName() {
+        return listName;
+    }
+
+    /**
+     * @return the keys of the bindings, the index of a key is the index of its binding
+     */
+    JsonNames getNames() {
+        return names;
+    }
+
+    /**
+     * @return the bindings in the order of their keys
+     */
+    Binding[] getBindings() {
+        return bindings;
+    }
+
+    /**
+     * @return if the class is a record which is created with its canonical constructor
+     */
+    boolean isRecord() {
+        return defaults != null;
+    }
+
+    /**
+     * @return the reason why the class cannot be deserialized or null if it is valid
+     */
+    String getError() {
+        return error;
+    }
+
+    /**
+     * @return a new object of a class which is not a record
+     * @throws Throwable if the constructor fails
+     */
+    Object newInstance() throws Throwable {
+        return (Object) constructor.invokeExact();
+    }
+
+    /**
+     * @return the arguments of the canonical constructor of a record, absent components are null, 0 or false
+     */
+    Object[] newArguments() {
+        return defaults.clone();
+    }
+
+    /**
+     * @param arguments the arguments of the canonical constructor
+     * @return the new record
+     * @throws Throwable if the constructor fails
+     */
+    Object newRecord(Object[] arguments) throws Throwable {
+        return (Object) constructor.invokeExact(arguments);
+    }
+
+    private static int componentIndex(RecordComponent[] components, Field field) {
+        for (int i = 0; i < components.length; i++) {
+            if (components[i].getName().equals(field.getName())) return i;
+        }
+        throw new IllegalStateException("The field " + field.getName() + " is not a record component");
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == int.class) return 0;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == double.class) return 0.0;
+        return 0.0f;
+    }
+
+    /**
+     * A single element of the JSON Object and the Field or record component it is read into
+     * - setter is the boxed setter of a Field, primitiveSetter takes the value of its Kind without boxing
+     * - slot is the index of the record component or -1 for Fields
+     */
+    static final class Binding {
+        private final String key;
+        private final JSONType jsonType;
+        private final String handlerType;
+        private final Class<?> valueType;
+        private final Class<?> elementType;
+        private final Kind kind;
+        private final int slot;
+        private final MethodHandle setter;
+        private final MethodHandle primitiveSetter;
+        private final Object[] constants;
+        private final JsonNames constantNames;
+
+        private Binding(String key, Field field, int slot, MethodHandle setter) {
+            JsonField jsonField = field.getAnnotation(JsonField.class);
+            this.key = key;
+            this.jsonType = jsonField.type();
+            this.handlerType = (jsonType == JSONType.CUSTOM) ? jsonField.customType() : jsonType.name();
+            this.valueType = field.getType();
+            this.elementType = (valueType.isArray()) ? valueType.getComponentType()
+                    : elementType(field.getGenericType(), (jsonType == JSONType.MAP) ? 1 : 0);
+            this.kind = kind(valueType, jsonType);
+            this.slot = slot;
+
+            if (setter == null) {
+                this.setter = null;
+                this.primitiveSetter = null;
+            } else {
+                this.setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+                this.primitiveSetter = (kind == Kind.VALUE) ? null
+                        : MethodHandles.explicitCastArguments(setter, MethodType.methodType(void.class, Object.class, primitiveOf(kind)));
+            }
+
+            if (valueType.isEnum()) {
+                this.constants = valueType.getEnumConstants();
+                String[] names = new String[constants.length];
+                for (int i = 0; i < names.length; i++) names[i] = ((Enum<?>) constants[i]).name();
+                this.constantNames = JsonNames.of(names);
+            } else {
+                this.constants = null;
+                this.constantNames = null;
+            }
+        }
+
+        private static Kind kind(Class<?> valueType, JSONType jsonType) {
+            if (jsonType == JSONType.CUSTOM || jsonType == JSONType.AUTO) return Kind.VALUE;
+            if (valueType == long.class || valueType == int.class || valueType == short.class || valueType == byte.class)
+                return Kind.LONG;
+            if (valueType == double.class) return Kind.DOUBLE;
+            if (valueType == float.class) return Kind.FLOAT;
+            if (valueType == boolean.class) return Kind.BOOLEAN;
+            return Kind.VALUE;
+        }
+
+        private static Class<?> primitiveOf(Kind kind) {
+            switch (kind) {
+                case LONG:
+                    return long.class;
+                case DOUBLE:
+                    return double.class;
+                case FLOAT:
+                    return float.class;
+                default:
+                    return boolean.class;
+            }
+        }
+
+        private static Class<?> elementType(Type type, int index) {
+            if (!(type instanceof ParameterizedType)) return Object.class;
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index >= arguments.length) return Object.class;
+            Type argument = arguments[index];
+            if (argument instanceof WildcardType) argument = ((WildcardType) argument).getUpperBounds()[0];
+            if (argument instanceof ParameterizedType) argument = ((ParameterizedType) argument).getRawType();
+            return (argument instanceof Class) ? (Class<?>) argument : Object.class;
+        }
+
+        /**
+         * @return the name of the element in the JSON Object
+         */
+        String getKey() {
+            return key;
+        }
+
+        /**
+         * @return the type of the element
+         */
+        JSONType getJsonType() {
+            return jsonType;
+        }
+
+        /**
+         * @return the type of the handler which reads this element (the customType for JSONType.CUSTOM)
+         */
+        String getHandlerType() {
+            return handlerType;
+        }
+
+        /**
+         * @return the declared type of the Field
+         */
+        Class<?> getValueType() {
+            return valueType;
+        }
+
+        /**
+         * @return the type of the elements of a List or array, the values of a Map or Object if it cannot be resolved
+         */
+        Class<?> getElementType() {
+            return elementType;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        int getSlot() {
+            return slot;
+        }
+
+        /**
+         * @return the setter with the type (Object, Object)void
+         */
+        MethodHandle getSetter() {
+            return setter;
+        }
+
+        /**
+         * @return the setter with the type (Object, long|double|float|boolean)void of the Kind
+         */
+        MethodHandle getPrimitiveSetter() {
+            return primitiveSetter;
+        }
+
+        /**
+         * @return the constants of an enum type or null
+         */
+        Object[] getConstants() {
+            return constants;
+        }
+
+        /**
+         * @return the names of the constants of an enum type or null
+         */
+        JsonNames getConstantNames() {
+            return constantNames;
+        }
+    }
+}
@@ -0,0 +1,1415 @@
+package parser;
+
+import parser.accessors.AccessorMode;
+import parser.accessors.PropertyAccessor;
+import parser.annotations.JsonField;
+import parser.annotations.JsonMethod;
+import parser.annotations.JsonSerializableObject;
+import parser.cache.FragmentCache;
+import parser.enums.DataFormat;
+import parser.enums.JSONToken;
+import parser.enums.JSONType;
+import parser.enums.ParserResponseType;
+import exceptions.ElementTypeException;
+import exceptions.JsonParseException;
+import exceptions.JsonSerializationException;
+import parser.handlers.ElementHandler;
+import parser.handlers.HandlerRegistry;
+import parser.handlers.PrimitiveElementHandler;
+import parser.handlers.StreamingElementHandler;
+import parser.io.ByteBufferPool;
+import parser.io.CborReader;
+import parser.io.CborWriter;
+import parser.io.JsonFragment;
+import parser.io.JsonReader;
+import parser.io.JsonWriter;
+import parser.io.JsonWriterPool;
+import parser.io.PooledJsonWriter;
+import parser.io.TextJsonWriter;
+import parser.io.Utf8JsonWriter;
+import parser.metrics.SerializationListener;
+import parser.metrics.SerializationMetrics;
+import parser.serializers.ObjectSerializer;
+import parser.serializers.SerializerCompiler;
+import parser.serializers.SerializerRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Class which is used to parse JsonSerializableObject into a JSONObject
+ * - passed Object has to be of a Class which is annotated with JsonSerializableObject
+ * - it should contain at least one Field annotated with JsonElement or JsonFunction or JsonMethod
+ * - a parser can be shared across threads, changes to its configuration replace immutable snapshots
+ * - nested objects and lists are written with the parser and Handlers of the enclosing object
+ * - JSON documents are read back into the same classes and records with jsonToObject and jsonToList
+ * - serialization can be measured per class and per handler with setListener
+ * - the JSON of immutable objects can be cached and spliced into the output with setFragmentCache
+ *
+ * @see JsonSerializableObject
+ * @see JsonField
+ * @see JsonMethod
+ */
+public class JSONParser {
+    /**
+     * The Handlers for Objects, keyed by the type they handle.
+     * - The registry is immutable, adding Handlers replaces it
+     */
+    private volatile HandlerRegistry handlers;
+
+    /**
+     * The way values of annotated Fields and Methods are read
+     */
+    private volatile AccessorMode accessorMode = SerializationPlan.DEFAULT_ACCESSOR_MODE;
+
+    /**
+     * If classes are serialized with a compiled ObjectSerializer instead of walking their plan
+     */
+    private volatile boolean compiledSerializers = true;
+
+    /**
+     * If classes are serialized with the serializers generated by the json-parser-processor
+     */
+    private volatile boolean generatedSerializers = true;
+
+    /**
+     * The number of elements after which a streamed list flushes its writer, 0 never flushes before the end
+     */
+    private volatile int flushInterval = 1024;
+
+    /**
+     * The size from which lists are serialized in parallel, 0 never serializes them in parallel
+     */
+    private volatile int parallelThreshold = 0;
+
+    /**
+     * The executor of parallel lists and publishers, null uses the common ForkJoinPool
+     */
+    private volatile Executor executor;
+
+    /**
+     * The listener which receives the measurements of every object and handler, null disables the measurements
+     */
+    private volatile SerializationListener listener;
+
+    /**
+     * The cache of the JSON of cacheable objects, null serializes every object
+     */
+    private volatile FragmentCache fragmentCache;
+
+    /**
+     * The plans with resolved Handlers for every serialized class, rebuilt when Handlers are added
+     */
+    private volatile ClassValue<BoundPlan> boundPlans;
+
+    /**
+     * no-args constructor
+     * - Uses the shared default Handlers, nothing is reflected or instantiated per parser
+     */
+    public JSONParser() {
+        this(HandlerRegistry.defaults());
+    }
+
+    /**
+     * Constructor to set the list of parser.handlers to your own
+     *
+     * @param handlers the list of parser.handlers, the map is copied
+     */
+    public JSONParser(Map<String, ElementHandler> handlers) {
+        this(HandlerRegistry.of(handlers));
+    }
+
+    /**
+     * Constructor to share a registry of Handlers between parsers
+     *
+     * @param handlers the registry of the Handlers
+     */
+    public JSONParser(HandlerRegistry handlers) {
+        this.handlers = Objects.requireNonNull(handlers);
+        this.boundPlans = bindPlans();
+    }
+
+    /**
+     * Adds one or multiple Handlers to a list
+     * - The registry is copied, serializations which already run keep using the previous Handlers
+     *
+     * @param handlers the list of parser.handlers
+     */
+    public synchronized void addHandler(ElementHandler... handlers) {
+        this.handlers = this.handlers.with(handlers);
+        boundPlans = bindPlans();
+        FragmentCache cache = fragmentCache;
+        if (cache != null) cache.clear();
+    }
+
+    /**
+     * @return the immutable registry of the Handlers of this parser
+     */
+    public HandlerRegistry getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Sets the way values of annotated Fields and Methods are read
+     *
+     * @param accessorMode the mode of the accessors
+     * @see AccessorMode
+     */
+    public synchronized void setAccessorMode(AccessorMode accessorMode) {
+        this.accessorMode = Objects.requireNonNull(accessorMode);
+        boundPlans = bindPlans();
+    }
+
+    /**
+     * @return the way values of annotated Fields and Methods are read
+     */
+    public AccessorMode getAccessorMode() {
+        return accessorMode;
+    }
+
+    /**
+     * Enables or disables the compiled serializers.
+     * - If enabled, every class is compiled into an ObjectSerializer the first time it is serialized
+     * - Classes which cannot be compiled are serialized with their plan
+     *
+     * @param compiledSerializers if compiled serializers are used
+     * @see SerializerCompiler
+     */
+    public synchronized void setCompiledSerializers(boolean compiledSerializers) {
+        this.compiledSerializers = compiledSerializers;
+        boundPlans = bindPlans();
+    }
+
+    /**
+     * @return if compiled serializers are used
+     */
+    public boolean isCompiledSerializers() {
+        return compiledSerializers;
+    }
+
+    /**
+     * Enables or disables the serializers generated at build time.
+     * - If enabled, a generated serializer is used before the compiled serializer and the plan
+     * - Classes are only inspected with reflection if they have no usable generated serializer
+     *
+     * @param generatedSerializers if generated serializers are used
+     * @see SerializerRegistry
+     */
+    public synchronized void setGeneratedSerializers(boolean generatedSerializers) {
+        this.generatedSerializers = generatedSerializers;
+        boundPlans = bindPlans();
+    }
+
+    /**
+     * @return if generated serializers are used
+     */
+    public boolean isGeneratedSerializers() {
+        return generatedSerializers;
+    }
+
+    /**
+     * Sets how often lists flush their writer while they are written.
+     * - Flushing hands the written elements to the sink, so Iterators and Streams of any size are written with bounded memory
+     * - With 0 the writer is only flushed after the last element
+     *
+     * @param flushInterval the number of elements after which the writer is flushed
+     */
+    public void setFlushInterval(int flushInterval) {
+        if (flushInterval < 0) throw new IllegalArgumentException("The flush interval cannot be negative");
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @return the number of elements after which a list flushes its writer
+     */
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the size from which lists are serialized in parallel.
+     * - The list is split into chunks which are serialized on the executor and joined in order
+     * - The output is identical to the sequential one, smaller lists and Iterators stay sequential
+     * - Custom Handlers have to be thread-safe to be used in parallel
+     *
+     * @param parallelThreshold the minimum size of a list which is serialized in parallel, 0 disables it
+     * @see #setExecutor(Executor)
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) throw new IllegalArgumentException("The parallel threshold cannot be negative");
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * @return the minimum size of a list which is serialized in parallel, 0 if it is disabled
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @param executor the executor lists are serialized on in parallel and publishers emit on, null uses the common ForkJoinPool
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return the executor lists are serialized on in parallel and publishers emit on, null if the common ForkJoinPool is used
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the listener which receives the size, duration and failures of every object and handler call
+     * - Without a listener nothing is measured and serialization costs one volatile read more
+     * - With a listener, objects which take longer than the threshold are also recorded as JFR events
+     *
+     * @param listener the listener like SerializationMetrics, null disables the measurements
+     * @see SerializationMetrics
+     */
+    public void setListener(SerializationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the listener of the measurements, null if nothing is measured
+     */
+    public SerializationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the cache which keeps the JSON of objects whose class is annotated as cacheable
+     * - Cached objects are spliced into the output instead of being serialized again, also as nested objects and list elements
+     * - The cache is cleared when Handlers are added, it must not be shared with parsers with other Handlers
+     *
+     * @param fragmentCache the cache, null serializes every object
+     * @see JsonSerializableObject#cacheable()
+     */
+    public void setFragmentCache(FragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
+    /**
+     * @return the cache of the JSON of cacheable objects, null if none is used
+     */
+    public FragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
+    /**
+     * Checks if an object is Serializable
+     *
+     * @param object the object to check
+     * @return the bound plan of the objects class
+     *
+     * @throws JsonSerializationException if the Object cannot be serialized
+     */
+    private BoundPlan checkIfSerializable(Object object) throws JsonSerializationException {
+        if (Objects.isNull(object)) throw new JsonSerializationException("The object to serialize is null");
+
+        BoundPlan bound = boundPlans.get(object.getClass());
+        if (bound.listName == null) {
+            throw new JsonSerializationException("The class " + object.getClass().getName() + " is not annotated with JsonSerializableObject");
+        }
+        if (bound.error != null) throw new JsonSerializationException(bound.error);
+        return bound;
+    }
+
+    /**
+     * Writes the JSON Object of an object into a JSON document
+     * - Nested objects and lists are written into the same writer
+     *
+     * @param object the object to serialize
+     * @param writer the writer of the document
+     * @throws JsonSerializationException if the Object cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     */
+    public void writeObject(Object object, JsonWriter writer) throws JsonSerializationException, IOException {
+        BoundPlan bound = checkIfSerializable(object);
+        SerializationListener listener = this.listener;
+        if (listener != null) writeObserved(object, bound, writer, listener);
+        else writeObject(object, bound, writer);
+    }
+
+    private void writeObject(Object object, BoundPlan bound, JsonWriter writer) throws JsonSerializationException, IOException {
+        FragmentCache cache = fragmentCache;
+        // cached fragments are JSON text, binary writers would have to transcode them
+        if (cache != null && bound.cacheable && writer instanceof TextJsonWriter) {
+            writeCached(object, bound, writer, cache);
+            return;
+        }
+        serialize(object, bound, writer);
+    }
+
+    private void serialize(Object object, BoundPlan bound, JsonWriter writer) throws JsonSerializationException, IOException {
+        try {
+            if (bound.serializer != null) bound.serializer.serialize(object, writer, this);
+            else writeJsonObject(object, bound, writer);
+        } catch (ReflectiveOperationException | ElementTypeException | RuntimeException e) {
+            throw new JsonSerializationException(e.getMessage());
+        }
+    }
+
+    /**
+     * Splices the cached JSON of an object into the writer, an object which is not cached yet is serialized into a fragment first
+     * - Writers which escape non-ASCII characters serialize objects whose fragment is not ASCII on their own
+     */
+    private void writeCached(Object object, BoundPlan bound, JsonWriter writer, FragmentCache cache) throws JsonSerializationException, IOException {
+        JsonFragment fragment = cache.get(object);
+        if (fragment == null) {
+            PooledJsonWriter out = JsonWriterPool.SHARED.acquire(bound.expectedLength);
+            try {
+                serialize(object, bound, out);
+                fragment = JsonFragment.of(out.toJson());
+            } finally {
+                JsonWriterPool.SHARED.release(out);
+            }
+            cache.put(object, fragment);
+        }
+        if (writer.isEscapeNonAscii() && !fragment.isAscii()) serialize(object, bound, writer);
+        else writer.rawValue(fragment);
+    }
+
+    /**
+     * Writes an object and reports it to the listener, slow objects are also committed as SerializationEvent
+     */
+    private void writeObserved(Object object, BoundPlan bound, JsonWriter writer, SerializationListener listener) throws JsonSerializationException, IOException {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long before = writer.getWritten();
+        long start = System.nanoTime();
+        try {
+            writeObject(object, bound, writer);
+        } catch (JsonSerializationException | IOException | RuntimeException e) {
+            listener.objectFailed(object.getClass(), e);
+            commit(event, object.getClass(), 0, true);
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+        long written = written(writer, before);
+        listener.objectWritten(object.getClass(), written, nanos);
+        commit(event, object.getClass(), written, false);
+    }
+
+    private static void commit(SerializationEvent event, Class<?> type, long written, boolean failed) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.type = type;
+        event.written = written;
+        event.failed = failed;
+        event.commit();
+    }
+
+    private static long written(JsonWriter writer, long before) {
+        return (before < 0) ? 0 : writer.getWritten() - before;
+    }
+
+    /**
+     * Writes the JSON Object of an object into a sink
+     *
+     * @param object the object to serialize
+     * @param out    the sink, a StringBuilder is appended to directly
+     * @throws JsonSerializationException if the Object cannot be serialized
+     * @throws IOException                if the sink cannot be written
+     */
+    public void writeObject(Object object, Appendable out) throws JsonSerializationException, IOException {
+        JsonWriter writer = JsonWriter.of(out);
+        writeObject(object, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the UTF-8 encoded JSON Object of an object into a stream, the stream is not closed
+     *
+     * @param object the object to serialize
+     * @param out    the stream
+     * @throws JsonSerializationException if the Object cannot be serialized
+     * @throws IOException                if the stream cannot be written
+     */
+    public void writeObject(Object object, OutputStream out) throws JsonSerializationException, IOException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toStream(out, ByteBufferPool.HEAP);
+        try {
+            writeObject(object, writer);
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Writes the UTF-8 encoded JSON Object of an object into a channel, the channel is not closed
+     * - The bytes are encoded into pooled direct buffers which are handed to the channel as they are
+     *
+     * @param object the object to serialize
+     * @param out    the channel
+     * @throws JsonSerializationException if the Object cannot be serialized
+     * @throws IOException                if the channel cannot be written
+     */
+    public void writeObject(Object object, WritableByteChannel out) throws JsonSerializationException, IOException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toChannel(out, ByteBufferPool.DIRECT);
+        try {
+            writeObject(object, writer);
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * @param object the object to serialize
+     * @return the UTF-8 encoded JSON Object
+     * @throws JsonSerializationException if the Object cannot be serialized
+     */
+    public byte[] objectToBytes(Object object) throws JsonSerializationException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toMemory(ByteBufferPool.HEAP);
+        try {
+            writeObject(object, writer);
+            return writer.toByteArray();
+        } catch (JsonSerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonSerializationException(e.getMessage());
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Writes an object in a data format into a stream, the stream is not closed
+     *
+     * @param object the object to serialize
+     * @param out    the stream
+     * @param format the encoding of the document
+     * @throws JsonSerializationException if the Object cannot be serialized
+     * @throws IOException                if the stream cannot be written
+     */
+    public void writeObject(Object object, OutputStream out, DataFormat format) throws JsonSerializationException, IOException {
+        if (format == DataFormat.JSON) {
+            writeObject(object, out);
+            return;
+        }
+        CborWriter writer = CborWriter.toStream(out);
+        writeObject(object, writer);
+        writer.flush();
+    }
+
+    /**
+     * @param object the object to serialize
+     * @param format the encoding of the document
+     * @return the encoded object
+     * @throws JsonSerializationException if the Object cannot be serialized
+     */
+    public byte[] objectToBytes(Object object, DataFormat format) throws JsonSerializationException {
+        if (format == DataFormat.JSON) return objectToBytes(object);
+        CborWriter writer = CborWriter.toMemory();
+        try {
+            writeObject(object, writer);
+            return writer.toByteArray();
+        } catch (JsonSerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonSerializationException(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a value with a handler, null values are written as null
+     * - StreamingElementHandlers write directly into the writer
+     * - The result of all other handlers is written as is
+     *
+     * @param handler the handler of the value
+     * @param value   the value to write
+     * @param writer  the writer of the document
+     * @throws ElementTypeException       if the value cannot be converted by the handler
+     * @throws JsonSerializationException if a nested value cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     */
+    public void writeValue(ElementHandler handler, Object value, JsonWriter writer) throws ElementTypeException, JsonSerializationException, IOException {
+        if (value == null) {
+            writer.nullValue();
+            return;
+        }
+        SerializationListener listener = this.listener;
+        if (listener != null) writeObservedValue(handler, value, writer, listener);
+        else writeHandled(handler, value, writer);
+    }
+
+    private void writeHandled(ElementHandler handler, Object value, JsonWriter writer) throws ElementTypeException, JsonSerializationException, IOException {
+        if (StreamingElementHandler.usesWrite(handler)) ((StreamingElementHandler) handler).write(value, writer, this);
+        else writer.rawValue(handler.handle(value));
+    }
+
+    private void writeObservedValue(ElementHandler handler, Object value, JsonWriter writer, SerializationListener listener) throws ElementTypeException, JsonSerializationException, IOException {
+        long before = writer.getWritten();
+        long start = System.nanoTime();
+        try {
+            writeHandled(handler, value, writer);
+        } catch (ElementTypeException | JsonSerializationException | IOException | RuntimeException e) {
+            listener.valueFailed(handler.getType(), e);
+            throw e;
+        }
+        listener.valueWritten(handler.getType(), written(writer, before), System.nanoTime() - start);
+    }
+
+    private void writeJsonObject(Object object, BoundPlan bound, JsonWriter writer) throws JsonSerializationException, ReflectiveOperationException, ElementTypeException, IOException {
+        List<SerializationPlan.Property> properties = bound.plan.getProperties();
+        SerializationListener listener = this.listener;
+        writer.beginObject();
+
+        for (int i = 0; i < properties.size(); i++) {
+            SerializationPlan.Property property = properties.get(i);
+
+            PrimitiveElementHandler primitive = bound.primitiveHandlers[i];
+            if (primitive != null) {
+                if (listener != null) writeObservedPrimitive(primitive, property, object, writer, listener);
+                else writePrimitive(primitive, property, object, writer);
+                continue;
+            }
+
+            Object o = property.get(object);
+            ElementHandler handler = bound.handlers[i];
+            if (o != null && handler == null)
+                throw new JsonSerializationException("No handler with the Type( \"" + property.getHandlerType() + "\" ) was found. " + JsonSerializationException.getHandlerRecommendations(o, handlers));
+            writeValue(handler, o, writer.name(property.getJsonKey()));
+        }
+
+        writer.endObject();
+    }
+
+    private static void writePrimitive(PrimitiveElementHandler handler, SerializationPlan.Property property, Object object, JsonWriter writer) throws ReflectiveOperationException, ElementTypeException, JsonSerializationException, IOException {
+        PropertyAccessor accessor = property.getAccessor();
+        Class<?> type = accessor.getValueType();
+        if (type == double.class) handler.writeDouble(accessor.getDouble(object), writer.name(property.getJsonKey()));
+        else if (type == float.class) handler.writeFloat(accessor.getFloat(object), writer.name(property.getJsonKey()));
+        else if (type == boolean.class) handler.writeBoolean(accessor.getBoolean(object), writer.name(property.getJsonKey()));
+        else handler.writeLong(accessor.getLong(object), writer.name(property.getJsonKey()));
+    }
+
+    private static void writeObservedPrimitive(PrimitiveElementHandler handler, SerializationPlan.Property property, Object object, JsonWriter writer, SerializationListener listener) throws ReflectiveOperationException, ElementTypeException, JsonSerializationException, IOException {
+        long before = writer.getWritten();
+        long start = System.nanoTime();
+        try {
+            writePrimitive(handler, property, object, writer);
+        } catch (ReflectiveOperationException | ElementTypeException | JsonSerializationException | IOException | RuntimeException e) {
+            listener.valueFailed(handler.getType(), e);
+            throw e;
+        }
+        listener.valueWritten(handler.getType(), written(writer, before), System.nanoTime() - start);
+    }
+
+    /**
+     * Resolves the plan and the handlers of all properties of a class with the current configuration
+     *
+     * @return a cache of the bound plans per class
+     */
+    private ClassValue<BoundPlan> bindPlans() {
+        AccessorMode mode = accessorMode;
+        boolean compile = compiledSerializers;
+        boolean generated = generatedSerializers;
+        HandlerRegistry registry = handlers;
+        return new ClassValue<>() {
+            @Override
+            protected BoundPlan computeValue(Class<?> type) {
+                JsonSerializableObject annotation = type.getAnnotation(JsonSerializableObject.class);
+                boolean cacheable = annotation != null && annotation.cacheable();
+                if (generated) {
+                    ObjectSerializer<Object> serializer = SerializerRegistry.bind(type, registry.asMap());
+                    if (serializer != null)
+                        return new BoundPlan(SerializerRegistry.find(type).getListName(), serializer, cacheable);
+                }
+                return new BoundPlan(SerializationPlan.of(type, mode), registry, compile, cacheable);
+            }
+        };
+    }
+
+    /**
+     * A SerializationPlan together with the Handlers of this parser
+     * - primitiveHandlers contains the handler if the value can be handled without boxing
+     * - serializer is the generated or compiled serializer or null if the plan has to be walked
+     * - plan is null if a generated serializer is used
+     * - cacheable is set if the class is annotated as cacheable
+     * - expectedLength is a decaying maximum of the serialized length, so pooled buffers are grown once up front
+     * - expectedLength is clamped to the retained size of the pool, so one large object does not make the next calls allocate large buffers
+     */
+    private static final class BoundPlan {
+        private final String listName;
+        private final String error;
+        private final SerializationPlan plan;
+        private final ElementHandler[] handlers;
+        private final PrimitiveElementHandler[] primitiveHandlers;
+        private final ObjectSerializer<Object> serializer;
+        private final boolean cacheable;
+        private volatile int expectedLength = 64;
+
+        private BoundPlan(SerializationPlan plan, HandlerRegistry available, boolean compile, boolean cacheable) {
+            List<SerializationPlan.Property> properties = plan.getProperties();
+            this.listName = plan.getListName();
+            this.error = plan.getError();
+            this.plan = plan;
+            this.handlers = new ElementHandler[properties.size()];
+            this.primitiveHandlers = new PrimitiveElementHandler[properties.size()];
+
+            for (int i = 0; i < handlers.length; i++) {
+                SerializationPlan.Property property = properties.get(i);
+                handlers[i] = (property.getJsonType() == JSONType.CUSTOM)
+                        ? available.get(property.getHandlerType())
+                        : available.get(property.getJsonType());
+
+                Class<?> valueType = property.getAccessor().getValueType();
+                if (PrimitiveElementHandler.usesPrimitives(handlers[i], valueType))
+                    primitiveHandlers[i] = (PrimitiveElementHandler) handlers[i];
+            }
+            this.serializer = compile ? SerializerCompiler.compile(plan, handlers) : null;
+            this.cacheable = cacheable;
+        }
+
+        private BoundPlan(String listName, ObjectSerializer<Object> serializer, boolean cacheable) {
+            this.listName = listName;
+            this.error = null;
+            this.plan = null;
+            this.handlers = null;
+            this.primitiveHandlers = null;
+            this.serializer = serializer;
+            this.cacheable = cacheable;
+        }
+
+        /**
+         * Updates the expected length without synchronization, a lost update only costs one more growth of a buffer
+         */
+        private void recordLength(int length) {
+            int expected = expectedLength;
+            int next = Math.max(Math.min(length, JsonWriterPool.SHARED.getMaxRetained()), expected - (expected >> 4));
+            if (next != expected) expectedLength = next;
+        }
+    }
+
+    public String objectToJSON(Object object) throws JsonSerializationException {
+        BoundPlan bound = (object == null) ? null : boundPlans.get(object.getClass());
+        PooledJsonWriter writer = JsonWriterPool.SHARED.acquire((bound == null) ? 16 : bound.expectedLength);
+        try {
+            writeObject(object, writer);
+            if (bound != null) bound.recordLength(writer.length());
+            return writer.toJson();
+        } catch (Exception e) {
+            throw new JsonSerializationException(e.getMessage());
+        } finally {
+            JsonWriterPool.SHARED.release(writer);
+        }
+    }
+
+    /**
+     * Writes a list of JsonSerializableObjects into a JSON document
+     * - Lists with at least parallelThreshold elements are serialized in parallel, lists written in a binary format like CBOR sequentially
+     *
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param writer   the writer of the document
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     */
+    public void writeList(List<?> list, Class<?> clazz, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        int threshold = parallelThreshold;
+        // parallel chunks are joined as JSON text, which a binary writer would have to transcode value by value
+        boolean parallel = threshold > 0 && list.size() >= threshold && list instanceof RandomAccess && writer instanceof TextJsonWriter;
+        writeList(list.iterator(), parallel ? list : null, clazz, response, writer);
+    }
+
+    /**
+     * Writes JsonSerializableObjects into a JSON document while they are iterated
+     * - Only the current element is held, the writer is flushed every flushInterval elements
+     * - With NDJSON every Object is written on its own line
+     *
+     * @param elements the objects to serialize, like the rows of a database cursor
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param writer   the writer of the document
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     * @see #setFlushInterval(int)
+     */
+    public void writeList(Iterator<?> elements, Class<?> clazz, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        writeList(elements, null, clazz, response, writer);
+    }
+
+    /**
+     * Writes the envelope of a list and its elements
+     *
+     * @param parallel the list if it is large enough to be written in parallel, otherwise null
+     */
+    private void writeList(Iterator<?> elements, List<?> parallel, Class<?> clazz, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        beginList(clazz, response, writer);
+        writeElements(elements, parallel, response, writer);
+        endList(response, writer);
+    }
+
+    /**
+     * Writes the envelope of a list up to its first element
+     */
+    void beginList(Class<?> clazz, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        String listName = boundPlans.get(clazz).listName;
+        if (listName == null)
+            throw new JsonSerializationException("The Type " + clazz.getName() + " is not annotated with " + JsonSerializableObject.class.getName());
+
+        switch (response) {
+            case NDJSON:
+                return;
+            case LIST:
+                break;
+            case KEY_VALUE_PAIR:
+                writer.name(listName);
+                break;
+            case OBJECT_LIST:
+                writer.beginObject().name(listName);
+                break;
+        }
+        writer.beginArray();
+    }
+
+    /**
+     * Writes one element of a list, with NDJSON on its own line
+     */
+    void writeElement(Object element, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        writeObject(element, writer);
+        if (response == ParserResponseType.NDJSON) writer.newLine();
+    }
+
+    /**
+     * Writes the envelope of a list after its last element
+     */
+    void endList(ParserResponseType response, JsonWriter writer) throws IOException {
+        if (response == ParserResponseType.NDJSON) return;
+        writer.endArray();
+        if (response == ParserResponseType.OBJECT_LIST) writer.endObject();
+    }
+
+    private void writeElements(Iterator<?> elements, List<?> parallel, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        int interval = flushInterval;
+        if (parallel != null) {
+            Executor executor = this.executor;
+            new ParallelListWriter(this, executor == null ? ForkJoinPool.commonPool() : executor).write(parallel, response, writer, interval);
+            return;
+        }
+
+        int unflushed = 0;
+        while (elements.hasNext()) {
+            writeElement(elements.next(), response, writer);
+            if (++unflushed == interval) {
+                writer.flush();
+                unflushed = 0;
+            }
+        }
+    }
+
+    /**
+     * Writes the elements of a Stream into a JSON document, the Stream is consumed lazily and not closed
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param writer   the writer of the document
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     */
+    public void writeList(Stream<?> elements, Class<?> clazz, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        writeList(elements.iterator(), clazz, response, writer);
+    }
+
+    /**
+     * Writes the elements of a Spliterator into a JSON document
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param writer   the writer of the document
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     */
+    public void writeList(Spliterator<?> elements, Class<?> clazz, ParserResponseType response, JsonWriter writer) throws JsonSerializationException, IOException {
+        writeList(Spliterators.iterator(elements), clazz, response, writer);
+    }
+
+    /**
+     * Writes UTF-8 encoded JsonSerializableObjects into a stream while they are iterated, the stream is not closed
+     * - At most one pooled buffer is held, full buffers are written as soon as they are filled
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the stream
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the stream cannot be written
+     */
+    public void writeList(Iterator<?> elements, Class<?> clazz, ParserResponseType response, OutputStream out) throws JsonSerializationException, IOException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toStream(out, ByteBufferPool.HEAP);
+        try {
+            writeList(elements, clazz, response, writer);
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Writes the UTF-8 encoded elements of a Stream into an output stream, neither of them is closed
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the output stream
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the output stream cannot be written
+     */
+    public void writeList(Stream<?> elements, Class<?> clazz, ParserResponseType response, OutputStream out) throws JsonSerializationException, IOException {
+        writeList(elements.iterator(), clazz, response, out);
+    }
+
+    /**
+     * Writes the UTF-8 encoded elements of a Spliterator into a stream, the stream is not closed
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the stream
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the stream cannot be written
+     */
+    public void writeList(Spliterator<?> elements, Class<?> clazz, ParserResponseType response, OutputStream out) throws JsonSerializationException, IOException {
+        writeList(Spliterators.iterator(elements), clazz, response, out);
+    }
+
+    /**
+     * Writes UTF-8 encoded JsonSerializableObjects into a channel while they are iterated, the channel is not closed
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the channel
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the channel cannot be written
+     */
+    public void writeList(Iterator<?> elements, Class<?> clazz, ParserResponseType response, WritableByteChannel out) throws JsonSerializationException, IOException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toChannel(out, ByteBufferPool.DIRECT);
+        try {
+            writeList(elements, clazz, response, writer);
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Writes the UTF-8 encoded elements of a Stream into a channel, neither of them is closed
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the channel
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the channel cannot be written
+     */
+    public void writeList(Stream<?> elements, Class<?> clazz, ParserResponseType response, WritableByteChannel out) throws JsonSerializationException, IOException {
+        writeList(elements.iterator(), clazz, response, out);
+    }
+
+    /**
+     * Writes JsonSerializableObjects into a sink while they are iterated
+     *
+     * @param elements the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the sink, a StringBuilder is appended to directly
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the sink cannot be written
+     */
+    public void writeList(Iterator<?> elements, Class<?> clazz, ParserResponseType response, Appendable out) throws JsonSerializationException, IOException {
+        JsonWriter writer = JsonWriter.of(out);
+        writeList(elements, clazz, response, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes a list of JsonSerializableObjects into a sink
+     *
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the sink, a StringBuilder is appended to directly
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the sink cannot be written
+     */
+    public void writeList(List<?> list, Class<?> clazz, ParserResponseType response, Appendable out) throws JsonSerializationException, IOException {
+        JsonWriter writer = JsonWriter.of(out);
+        writeList(list, clazz, response, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes a UTF-8 encoded list of JsonSerializableObjects into a stream, the stream is not closed
+     *
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the stream
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the stream cannot be written
+     */
+    public void writeList(List<?> list, Class<?> clazz, ParserResponseType response, OutputStream out) throws JsonSerializationException, IOException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toStream(out, ByteBufferPool.HEAP);
+        try {
+            writeList(list, clazz, response, writer);
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Writes a UTF-8 encoded list of JsonSerializableObjects into a channel, the channel is not closed
+     * - The bytes are encoded into pooled direct buffers which are handed to the channel as they are
+     *
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the channel
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the channel cannot be written
+     */
+    public void writeList(List<?> list, Class<?> clazz, ParserResponseType response, WritableByteChannel out) throws JsonSerializationException, IOException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toChannel(out, ByteBufferPool.DIRECT);
+        try {
+            writeList(list, clazz, response, writer);
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @return the UTF-8 encoded list
+     * @throws JsonSerializationException if an Object cannot be serialized
+     */
+    public byte[] listToBytes(List<?> list, Class<?> clazz, ParserResponseType response) throws JsonSerializationException {
+        Utf8JsonWriter writer = Utf8JsonWriter.toMemory(ByteBufferPool.HEAP);
+        try {
+            writeList(list, clazz, response, writer);
+            return writer.toByteArray();
+        } catch (JsonSerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonSerializationException(e.getMessage());
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Writes a list in a data format into a stream, the stream is not closed
+     * - NDJSON is written as a sequence of top-level values in binary formats
+     *
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param out      the stream
+     * @param format   the encoding of the document
+     * @throws JsonSerializationException if an Object cannot be serialized
+     * @throws IOException                if the stream cannot be written
+     */
+    public void writeList(List<?> list, Class<?> clazz, ParserResponseType response, OutputStream out, DataFormat format) throws JsonSerializationException, IOException {
+        if (format == DataFormat.JSON) {
+            writeList(list, clazz, response, out);
+            return;
+        }
+        CborWriter writer = CborWriter.toStream(out);
+        writeList(list, clazz, response, writer);
+        writer.flush();
+    }
+
+    /**
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @param format   the encoding of the document
+     * @return the encoded list
+     * @throws JsonSerializationException if an Object cannot be serialized
+     */
+    public byte[] listToBytes(List<?> list, Class<?> clazz, ParserResponseType response, DataFormat format) throws JsonSerializationException {
+        if (format == DataFormat.JSON) return listToBytes(list, clazz, response);
+        CborWriter writer = CborWriter.toMemory();
+        try {
+            writeList(list, clazz, response, writer);
+            return writer.toByteArray();
+        } catch (JsonSerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonSerializationException(e.getMessage());
+        }
+    }
+
+    public String listToJSON(List<?> list, Class<?> clazz, ParserResponseType response) throws JsonSerializationException {
+        BoundPlan bound = boundPlans.get(clazz);
+        PooledJsonWriter writer = JsonWriterPool.SHARED.acquire((int) Math.min(JsonWriterPool.SHARED.getMaxRetained(), (long) bound.expectedLength * list.size() + 64));
+        try {
+            writeList(list, clazz, response, writer);
+            if (!list.isEmpty()) bound.recordLength(writer.length() / list.size());
+            return writer.toJson();
+        } catch (JsonSerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonSerializationException(e.getMessage());
+        } finally {
+            JsonWriterPool.SHARED.release(writer);
+        }
+    }
+
+    /**
+     * Publishes a JsonSerializableObject as UTF-8 encoded chunks of at most 8 KiB
+     *
+     * @param object the object to serialize
+     * @return the publisher of the document
+     * @see #publishObject(Object, int)
+     */
+    public Flow.Publisher<ByteBuffer> publishObject(Object object) {
+        return publishObject(object, ChunkPublisher.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Publishes a JsonSerializableObject as UTF-8 encoded chunks, serialized when the subscriber requests them
+     * - The object is written on the executor once the first chunk is requested, errors are signalled with onError
+     * - Full chunks are emitted while the object is written, without demand the executor thread waits, so at most one chunk is held
+     * - Cancelling stops the serialization of nested objects at the next full buffer
+     *
+     * @param object    the object to serialize
+     * @param chunkSize the maximum size of a chunk in bytes
+     * @return the publisher of the document, which accepts a single subscriber
+     */
+    public Flow.Publisher<ByteBuffer> publishObject(Object object, int chunkSize) {
+        boolean[] written = new boolean[1];
+        return new ChunkPublisher(publishExecutor(), chunkSize, writer -> {
+            if (written[0]) return false;
+            written[0] = true;
+            writeObject(object, writer);
+            return true;
+        });
+    }
+
+    /**
+     * Publishes a list of JsonSerializableObjects as UTF-8 encoded chunks of at most 8 KiB
+     *
+     * @param list     the objects to serialize
+     * @param clazz    the class of the objects, its listName is used as the key of the list
+     * @param response the form of the list
+     * @return the publisher of the document
+     * @see #publishList(Iterator, Class, ParserResponseType, int)
+     */
+    public Flow.Publisher<ByteBuffer> publishList(List<?> list, Class<?> clazz, ParserResponseType response) {
+        return publishList(list.iterator(), clazz, response, ChunkPublisher.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Publishes JsonSerializableObjects as UTF-8 encoded chunks while they are iterated
+     * - The next element is only taken once the chunks of the previous one were requested and delivered
+     * - Full chunks are emitted while an element is written, without demand the executor thread waits, so at most one chunk is held
+     * - Cancelling stops the iteration, elements which were not taken yet are never serialized
+     *
+     * @param elements  the objects to serialize, like the rows of a database cursor
+     * @param clazz     the class of the objects, its listName is used as the key of the list
+     * @param response  the form of the list
+     * @param chunkSize the maximum size of a chunk in bytes
+     * @return the publisher of the document, which accepts a single subscriber
+     */
+    public Flow.Publisher<ByteBuffer> publishList(Iterator<?> elements, Class<?> clazz, ParserResponseType response, int chunkSize) {
+        int[] step = new int[1];
+        return new ChunkPublisher(publishExecutor(), chunkSize, writer -> {
+            switch (step[0]) {
+                case 0:
+                    beginList(clazz, response, writer);
+                    step[0] = 1;
+                    return true;
+                case 1:
+                    if (elements.hasNext()) {
+                        writeElement(elements.next(), response, writer);
+                    } else {
+                        endList(response, writer);
+                        step[0] = 2;
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        });
+    }
+
+    private Executor publishExecutor() {
+        Executor executor = this.executor;
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Reads the next value of a document into an object of an annotated class or record
+     * - Keys are matched against the keys of the class without creating Strings, unknown keys are skipped
+     * - Records are created with their canonical constructor, other classes need a no-args constructor
+     * - Nested objects and lists are read with the Handlers of this parser
+     *
+     * @param reader the reader positioned before the object
+     * @param clazz  the class annotated with JsonSerializableObject
+     * @return the object or null if the value is null
+     * @throws JsonParseException if the document is malformed or the object cannot be created
+     * @throws IOException        if the document cannot be read
+     */
+    public <T> T readObject(JsonReader reader, Class<T> clazz) throws IOException {
+        return new ObjectReader(this, handlers).readObject(reader, clazz);
+    }
+
+    /**
+     * Reads a UTF-8 encoded JSON Object from a stream, the stream is not closed
+     *
+     * @param in    the stream
+     * @param clazz the class annotated with JsonSerializableObject
+     * @return the object or null if the document is null
+     * @throws JsonParseException if the document is malformed or the object cannot be created
+     * @throws IOException        if the stream cannot be read
+     */
+    public <T> T readObject(InputStream in, Class<T> clazz) throws IOException {
+        JsonReader reader = JsonReader.of(in);
+        T object = readObject(reader, clazz);
+        expectEnd(reader);
+        return object;
+    }
+
+    /**
+     * @param in     the stream of the document, it is not closed
+     * @param clazz  the class annotated with JsonSerializableObject
+     * @param format the encoding of the document
+     * @return the object or null if the document is null
+     * @throws JsonParseException if the document is malformed or the object cannot be created
+     * @throws IOException        if the stream cannot be read
+     */
+    public <T> T readObject(InputStream in, Class<T> clazz, DataFormat format) throws IOException {
+        JsonReader reader = (format == DataFormat.CBOR) ? CborReader.of(in) : JsonReader.of(in);
+        T object = readObject(reader, clazz);
+        expectEnd(reader);
+        return object;
+    }
+
+    /**
+     * @param bytes  the encoded object
+     * @param clazz  the class annotated with JsonSerializableObject
+     * @param format the encoding of the document
+     * @return the object or null if the document is null
+     * @throws JsonParseException if the document is malformed or the object cannot be created
+     */
+    public <T> T bytesToObject(byte[] bytes, Class<T> clazz, DataFormat format) throws JsonParseException {
+        try {
+            JsonReader reader = (format == DataFormat.CBOR) ? CborReader.of(bytes) : JsonReader.of(bytes);
+            T object = readObject(reader, clazz);
+            expectEnd(reader);
+            return object;
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new JsonParseException(e.getMessage());
+        }
+    }
+
+    /**
+     * @param json  the UTF-8 encoded JSON Object
+     * @param clazz the class annotated with JsonSerializableObject
+     * @return the object or null if the document is null
+     * @throws JsonParseException if the document is malformed or the object cannot be created
+     */
+    public <T> T jsonToObject(byte[] json, Class<T> clazz) throws JsonParseException {
+        try {
+            JsonReader reader = JsonReader.of(json);
+            T object = readObject(reader, clazz);
+            expectEnd(reader);
+            return object;
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new JsonParseException(e.getMessage());
+        }
+    }
+
+    /**
+     * @param json  the JSON Object
+     * @param clazz the class annotated with JsonSerializableObject
+     * @return the object or null if the document is null
+     * @throws JsonParseException if the document is malformed or the object cannot be created
+     */
+    public <T> T jsonToObject(String json, Class<T> clazz) throws JsonParseException {
+        return jsonToObject(json.getBytes(StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * Reads a list in the form it was written with, the listName of the class is the key of the list
+     * - NDJSON reads objects until the end of the document
+     *
+     * @param reader   the reader positioned before the list
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response the form of the list
+     * @return the objects of the list
+     * @throws JsonParseException if the document is malformed or an object cannot be created
+     * @throws IOException        if the document cannot be read
+     */
+    public <T> List<T> readList(JsonReader reader, Class<T> clazz, ParserResponseType response) throws IOException {
+        return new ObjectReader(this, handlers).readList(reader, clazz, response);
+    }
+
+    /**
+     * Reads a UTF-8 encoded list from a stream, the stream is not closed
+     *
+     * @param in       the stream
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response the form of the list
+     * @return the objects of the list
+     * @throws JsonParseException if the document is malformed or an object cannot be created
+     * @throws IOException        if the stream cannot be read
+     */
+    public <T> List<T> readList(InputStream in, Class<T> clazz, ParserResponseType response) throws IOException {
+        JsonReader reader = JsonReader.of(in);
+        List<T> list = readList(reader, clazz, response);
+        expectEnd(reader);
+        return list;
+    }
+
+    /**
+     * @param in       the stream of the document, it is not closed
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response the form of the list
+     * @param format   the encoding of the document
+     * @return the objects of the list
+     * @throws JsonParseException if the document is malformed or an object cannot be created
+     * @throws IOException        if the stream cannot be read
+     */
+    public <T> List<T> readList(InputStream in, Class<T> clazz, ParserResponseType response, DataFormat format) throws IOException {
+        JsonReader reader = (format == DataFormat.CBOR) ? CborReader.of(in) : JsonReader.of(in);
+        List<T> list = readList(reader, clazz, response);
+        expectEnd(reader);
+        return list;
+    }
+
+    /**
+     * @param bytes    the encoded list
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response the form of the list
+     * @param format   the encoding of the document
+     * @return the objects of the list
+     * @throws JsonParseException if the document is malformed or an object cannot be created
+     */
+    public <T> List<T> bytesToList(byte[] bytes, Class<T> clazz, ParserResponseType response, DataFormat format) throws JsonParseException {
+        try {
+            JsonReader reader = (format == DataFormat.CBOR) ? CborReader.of(bytes) : JsonReader.of(bytes);
+            List<T> list = readList(reader, clazz, response);
+            expectEnd(reader);
+            return list;
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new JsonParseException(e.getMessage());
+        }
+    }
+
+    /**
+     * @param json     the UTF-8 encoded list
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response the form of the list
+     * @return the objects of the list
+     * @throws JsonParseException if the document is malformed or an object cannot be created
+     */
+    public <T> List<T> jsonToList(byte[] json, Class<T> clazz, ParserResponseType response) throws JsonParseException {
+        try {
+            JsonReader reader = JsonReader.of(json);
+            List<T> list = readList(reader, clazz, response);
+            expectEnd(reader);
+            return list;
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new JsonParseException(e.getMessage());
+        }
+    }
+
+    /**
+     * @param json     the list
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response the form of the list
+     * @return the objects of the list
+     * @throws JsonParseException if the document is malformed or an object cannot be created
+     */
+    public <T> List<T> jsonToList(String json, Class<T> clazz, ParserResponseType response) throws JsonParseException {
+        return jsonToList(json.getBytes(StandardCharsets.UTF_8), clazz, response);
+    }
+
+    /**
+     * Reads a LIST or NDJSON file which may be larger than the heap, the file is memory-mapped and split into regions of whole elements
+     * - The regions are parsed in parallel, the stream keeps the order of the file
+     * - The file stays open until the stream is closed
+     *
+     * @param file     the UTF-8 encoded file
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response LIST or NDJSON
+     * @return a parallel stream of the objects, it throws an UncheckedIOException if a region is malformed
+     * @throws JsonParseException if the file cannot be split into elements
+     * @throws IOException        if the file cannot be read
+     */
+    public <T> Stream<T> streamList(Path file, Class<T> clazz, ParserResponseType response) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedListReader(this, executor == null ? ForkJoinPool.commonPool() : executor)
+                    .stream(channel, clazz, response)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a LIST or NDJSON file which may be larger than the heap like streamList
+     * - The action is called concurrently from the threads of the Executor and in no particular order
+     *
+     * @param file     the UTF-8 encoded file
+     * @param clazz    the class of the objects annotated with JsonSerializableObject
+     * @param response LIST or NDJSON
+     * @param action   called for every object
+     * @throws JsonParseException if the file is malformed or an object cannot be created
+     * @throws IOException        if the file cannot be read
+     */
+    public <T> void readList(Path file, Class<T> clazz, ParserResponseType response, Consumer<? super T> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new MappedListReader(this, executor == null ? ForkJoinPool.commonPool() : executor).forEach(channel, clazz, response, action);
+        }
+    }
+
+    private static void expectEnd(JsonReader reader) throws IOException {
+        if (reader.peek() != JSONToken.END_DOCUMENT)
+            throw new JsonParseException("Expected the end of the document at offset " + reader.getOffset());
+    }
+}
@@ -0,0 +1,355 @@
+package parser;
+
+import exceptions.JsonParseException;
+import parser.enums.JSONToken;
+import parser.enums.ParserResponseType;
+import parser.io.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the elements of huge LIST and NDJSON files in parallel
+ * - The file is memory-mapped region by region, it never has to fit on the heap
+ * - NDJSON files are split after newlines, which cannot occur inside JSON strings
+ * - LIST files are split at commas between top-level elements, found in two parallel passes:
+ *   the first finds the quote parity and bracket depth of every chunk, the second the first top-level comma of every chunk
+ * - Chunk boundaries never follow a backslash, so every chunk starts unescaped and can be scanned on its own
+ * - The regions between the split points are parsed on the Executor, a window of regions is in flight at a time
+ */
+final class MappedListReader {
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 64L << 20;
+
+    private final JSONParser parser;
+    private final Executor executor;
+    private final int parallelism;
+    private final long minChunkSize;
+
+    MappedListReader(JSONParser parser, Executor executor) {
+        this(parser, executor, MIN_CHUNK_SIZE);
+    }
+
+    MappedListReader(JSONParser parser, Executor executor, long minChunkSize) {
+        this.parser = parser;
+        this.executor = executor;
+        this.minChunkSize = minChunkSize;
+        this.parallelism = (executor instanceof ForkJoinPool)
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return an ordered parallel stream of the elements, every region is parsed when the stream reaches it
+     */
+    <T> Stream<T> stream(FileChannel channel, Class<T> clazz, ParserResponseType response) throws IOException {
+        List<long[]> regions = split(channel, response);
+        return regions.parallelStream().flatMap(region -> {
+            try {
+                return parse(channel, region, clazz, response).stream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Calls the action for every element, concurrently from the threads of the Executor
+     */
+    <T> void forEach(FileChannel channel, Class<T> clazz, ParserResponseType response, Consumer<? super T> action) throws IOException {
+        List<long[]> regions = split(channel, response);
+        int window = parallelism * 2;
+        ArrayDeque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+        int next = 0;
+        try {
+            while (next < regions.size() || !pending.isEmpty()) {
+                while (next < regions.size() && pending.size() < window) {
+                    long[] region = regions.get(next++);
+                    pending.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            parse(channel, region, clazz, response).forEach(action);
+                        } catch (IOException e) {
+                            throw new CompletionException(e);
+                        }
+                    }, executor));
+                }
+                pending.poll().join();
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<Void> future : pending) future.cancel(false);
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * @return the regions [start, end) of the file which contain whole elements
+     */
+    private List<long[]> split(FileChannel channel, ParserResponseType response) throws IOException {
+        if (response != ParserResponseType.LIST && response != ParserResponseType.NDJSON)
+            throw new IllegalArgumentException("Only LIST and NDJSON files can be split, not " + response);
+
+        long size = channel.size();
+        long chunkSize = Math.max(minChunkSize, Math.min(MAX_CHUNK_SIZE, size / (parallelism * 4L)));
+        int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+        long[] boundaries = new long[chunks + 1];
+        for (int k = 1; k < chunks; k++) boundaries[k] = unescapedBoundary(channel, k * chunkSize, size);
+        boundaries[chunks] = size;
+
+        return (response == ParserResponseType.NDJSON) ? splitLines(channel, boundaries) : splitArray(channel, boundaries);
+    }
+
+    private List<long[]> splitLines(FileChannel channel, long[] boundaries) throws IOException {
+        List<CompletableFuture<Long>> splits = new ArrayList<>();
+        for (int k = 1; k < boundaries.length - 1; k++) {
+            long from = boundaries[k];
+            long to = boundaries[k + 1];
+            splits.add(CompletableFuture.supplyAsync(() -> {
+                ByteBuffer chunk = map(channel, from, to - from);
+                for (int i = 0; i < chunk.limit(); i++) {
+                    if (chunk.get(i) == '\n') return from + i + 1;
+                }
+                return -1L;
+            }, executor));
+        }
+
+        List<long[]> regions = new ArrayList<>();
+        long start = 0;
+        for (Long split : join(splits)) {
+            if (split < 0) continue;
+            regions.add(new long[]{start, split});
+            start = split;
+        }
+        regions.add(new long[]{start, boundaries[boundaries.length - 1]});
+        return regions;
+    }
+
+    private List<long[]> splitArray(FileChannel channel, long[] boundaries) throws IOException {
+        long size = boundaries[boundaries.length - 1];
+        long open = firstByte(channel, size);
+        long close = lastByte(channel, size);
+        if (open < 0 || readByte(channel, open) != '[' || close <= open || readByte(channel, close) != ']')
+            throw new JsonParseException("The file does not contain a JSON array");
+
+        // first pass: the quote parity and the bracket depth of every chunk, for both states it may start in
+        List<CompletableFuture<int[]>> scans = new ArrayList<>();
+        for (int k = 0; k < boundaries.length - 1; k++) {
+            long from = boundaries[k];
+            long to = boundaries[k + 1];
+            scans.add(CompletableFuture.supplyAsync(() -> scan(map(channel, from, to - from)), executor));
+        }
+        List<int[]> counts = join(scans);
+
+        // the state at the start of every chunk follows from the chunks before it
+        boolean[] inString = new boolean[boundaries.length];
+        long[] depth = new long[boundaries.length];
+        for (int k = 0; k < counts.size(); k++) {
+            int[] count = counts.get(k);
+            depth[k + 1] = depth[k] + (inString[k] ? count[2] : count[1]);
+            inString[k + 1] = inString[k] ^ (count[0] == 1);
+        }
+
+        // second pass: the first comma between top-level elements of every chunk
+        List<CompletableFuture<Long>> splits = new ArrayList<>();
+        for (int k = 1; k < boundaries.length - 1; k++) {
+            long from = boundaries[k];
+            long to = boundaries[k + 1];
+            boolean string = inString[k];
+            long level = depth[k];
+            splits.add(CompletableFuture.supplyAsync(() -> {
+                int comma = firstTopLevelComma(map(channel, from, to - from), string, level);
+                return (comma < 0) ? -1L : from + comma;
+            }, executor));
+        }
+
+        List<long[]> regions = new ArrayList<>();
+        long start = open + 1;
+        for (Long split : join(splits)) {
+            if (split < 0 || split < start || split > close) continue;
+            regions.add(new long[]{start, split});
+            start = split + 1;
+        }
+        regions.add(new long[]{start, close});
+        return regions;
+    }
+
+    /**
+     * Counts the unescaped quotes and the brackets outside of strings if the chunk starts outside (even) or inside (odd) a string
+     *
+     * @return the quote parity, the depth change if it starts outside and if it starts inside a string
+     */
+    private static int[] scan(ByteBuffer chunk) {
+        int parity = 0;
+        int even = 0;
+        int odd = 0;
+        boolean escaped = false;
+        for (int i = 0; i < chunk.limit(); i++) {
+            byte b = chunk.get(i);
+            if (escaped) {
+                escaped = false;
+            } else if (b == '\\') {
+                // backslashes only occur inside strings in valid JSON
+                escaped = true;
+            } else if (b == '"') {
+                parity ^= 1;
+            } else if (b == '[' || b == '{') {
+                if (parity == 0) even++;
+                else odd++;
+            } else if (b == ']' || b == '}') {
+                if (parity == 0) even--;
+                else odd--;
+            }
+        }
+        return new int[]{parity, even, odd};
+    }
+
+    /**
+     * @return the index of the first comma at depth 1 or -1 if there is none
+     */
+    private static int firstTopLevelComma(ByteBuffer chunk, boolean inString, long depth) {
+        boolean escaped = false;
+        for (int i = 0; i < chunk.limit(); i++) {
+            byte b = chunk.get(i);
+            if (inString) {
+                if (escaped) escaped = false;
+                else if (b == '\\') escaped = true;
+                else if (b == '"') inString = false;
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '[' || b == '{') {
+                depth++;
+            } else if (b == ']' || b == '}') {
+                depth--;
+            } else if (b == ',' && depth == 1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the elements of a region, the elements of a LIST are read as an array of their own
+     */
+    private <T> List<T> parse(FileChannel channel, long[] region, Class<T> clazz, ParserResponseType response) throws IOException {
+        long length = region[1] - region[0];
+        if (length > Integer.MAX_VALUE - 2) throw new JsonParseException("An element at offset " + region[0] + " is larger than 2 GB");
+        ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, region[0], length);
+
+        JsonReader reader = (response == ParserResponseType.NDJSON) ? JsonReader.of(bytes) : JsonReader.of(new BracketedStream(bytes));
+        List<T> elements = parser.readList(reader, clazz, response);
+        if (reader.peek() != JSONToken.END_DOCUMENT)
+            throw new JsonParseException("Unexpected content at offset " + (region[0] + reader.getOffset()));
+        return elements;
+    }
+
+    /**
+     * Moves a chunk boundary forward until it does not follow a backslash
+     */
+    private static long unescapedBoundary(FileChannel channel, long boundary, long size) throws IOException {
+        long position = boundary;
+        while (position < size && readByte(channel, position - 1) == '\\') position++;
+        return position;
+    }
+
+    private static long firstByte(FileChannel channel, long size) throws IOException {
+        for (long i = 0; i < size; i++) {
+            if (!isWhitespace(readByte(channel, i))) return i;
+        }
+        return -1;
+    }
+
+    private static long lastByte(FileChannel channel, long size) throws IOException {
+        for (long i = size - 1; i >= 0; i--) {
+            if (!isWhitespace(readByte(channel, i))) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static byte readByte(FileChannel channel, long position) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        if (channel.read(one, position) != 1) throw new JsonParseException("Unexpected end of the file at offset " + position);
+        return one.get(0);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static <V> List<V> join(List<CompletableFuture<V>> futures) throws IOException {
+        List<V> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<V> future : futures) results.add(future.join());
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+        return results;
+    }
+
+    private static IOException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) return (IOException) cause;
+        if (cause instanceof UncheckedIOException) return ((UncheckedIOException) cause).getCause();
+        return new JsonParseException(String.valueOf(cause.getMessage()));
+    }
+
+    /**
+     * The elements of a region between an opening and a closing bracket, so they are read as one array
+     */
+    private static final class BracketedStream extends InputStream {
+        private final ByteBuffer bytes;
+        private int state;
+
+        private BracketedStream(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return (read(one, 0, 1) < 0) ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int offset, int length) {
+            if (length == 0) return 0;
+            switch (state) {
+                case 0:
+                    state = 1;
+                    b[offset] = '[';
+                    return 1;
+                case 1:
+                    if (bytes.hasRemaining()) {
+                        int count = Math.min(length, bytes.remaining());
+                        bytes.get(b, offset, count);
+                        return count;
+                    }
+                    state = 2;
+                    b[offset] = ']';
+                    return 1;
+                default:
+                    return -1;
+            }
+        }
+    }
+}
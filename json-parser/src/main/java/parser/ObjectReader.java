@@ -0,0 +1,452 @@
+package parser;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonParseException;
+import parser.annotations.JsonSerializableObject;
+import parser.enums.JSONToken;
+import parser.enums.JSONType;
+import parser.enums.ParserResponseType;
+import parser.handlers.ElementHandler;
+import parser.handlers.HandlerRegistry;
+import parser.handlers.ReadableElementHandler;
+import parser.io.JsonNames;
+import parser.io.JsonReader;
+
+import java.io.IOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads JSON documents into JsonSerializableObjects with the DeserializationPlans of their classes.
+ * - Primitive Fields are set without boxing, records collect the arguments of their canonical constructor
+ * - Unknown keys and keys of JsonMethods are skipped, absent keys keep the default value
+ * - CUSTOM elements are read by their ReadableElementHandler, AUTO elements as plain JSON values
+ * - Elements of Lists, arrays and Maps are read into their declared type, primitive arrays without boxing
+ *
+ * @see DeserializationPlan
+ */
+final class ObjectReader {
+    private final JSONParser parser;
+    private final HandlerRegistry handlers;
+
+    ObjectReader(JSONParser parser, HandlerRegistry handlers) {
+        this.parser = parser;
+        this.handlers = handlers;
+    }
+
+    /**
+     * @return the object or null for a JSON null
+     */
+    <T> T readObject(JsonReader reader, Class<T> clazz) throws IOException {
+        DeserializationPlan plan = checkIfDeserializable(clazz);
+        if (reader.peek() == JSONToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return clazz.cast(plan.isRecord() ? readRecord(reader, plan) : readFields(reader, plan));
+    }
+
+    /**
+     * @return the objects of a list in the layout of the response type
+     */
+    <T> List<T> readList(JsonReader reader, Class<T> clazz, ParserResponseType response) throws IOException {
+        String listName = checkIfDeserializable(clazz).getListName();
+        List<T> list;
+        switch (response) {
+            case OBJECT_LIST:
+                list = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals(listName)) list = readElements(reader, clazz);
+                    else reader.skipValue();
+                }
+                reader.endObject();
+                if (list == null) throw new JsonParseException("The document has no list \"" + listName + "\"");
+                return list;
+            case KEY_VALUE_PAIR:
+                String name = reader.nextName();
+                if (!name.equals(listName))
+                    throw new JsonParseException("Expected the list \"" + listName + "\" but was \"" + name + "\"");
+                return readElements(reader, clazz);
+            case NDJSON:
+                list = new ArrayList<>();
+                while (reader.peek() != JSONToken.END_DOCUMENT) list.add(readObject(reader, clazz));
+                return list;
+            default:
+                return readElements(reader, clazz);
+        }
+    }
+
+    private DeserializationPlan checkIfDeserializable(Class<?> clazz) throws JsonParseException {
+        DeserializationPlan plan = DeserializationPlan.of(clazz);
+        if (plan.getListName() == null)
+            throw new JsonParseException("The class " + clazz.getName() + " is not annotated with JsonSerializableObject");
+        if (plan.getError() != null) throw new JsonParseException(plan.getError());
+        return plan;
+    }
+
+    private <T> List<T> readElements(JsonReader reader, Class<T> clazz) throws IOException {
+        List<T> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) list.add(readObject(reader, clazz));
+        reader.endArray();
+        return list;
+    }
+
+    private Object readFields(JsonReader reader, DeserializationPlan plan) throws IOException {
+        Object target;
+        try {
+            target = plan.newInstance();
+        } catch (Throwable t) {
+            throw failure(plan, t);
+        }
+
+        JsonNames names = plan.getNames();
+        DeserializationPlan.Binding[] bindings = plan.getBindings();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int index = reader.nextName(names);
+            if (index < 0) {
+                reader.skipValue();
+                continue;
+            }
+
+            DeserializationPlan.Binding binding = bindings[index];
+            DeserializationPlan.Kind kind = binding.getKind();
+            if (kind != DeserializationPlan.Kind.VALUE && reader.peek() == JSONToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            try {
+                switch (kind) {
+                    case LONG:
+                        binding.getPrimitiveSetter().invokeExact(target, readLong(reader, binding.getValueType()));
+                        break;
+                    case DOUBLE:
+                        binding.getPrimitiveSetter().invokeExact(target, reader.nextDouble());
+                        break;
+                    case FLOAT:
+                        binding.getPrimitiveSetter().invokeExact(target, reader.nextFloat());
+                        break;
+                    case BOOLEAN:
+                        binding.getPrimitiveSetter().invokeExact(target, reader.nextBoolean());
+                        break;
+                    default:
+                        binding.getSetter().invokeExact(target, readValue(reader, binding));
+                        break;
+                }
+            } catch (IOException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw failure(plan, binding, t);
+            }
+        }
+        reader.endObject();
+        return target;
+    }
+
+    private Object readRecord(JsonReader reader, DeserializationPlan plan) throws IOException {
+        Object[] arguments = plan.newArguments();
+        JsonNames names = plan.getNames();
+        DeserializationPlan.Binding[] bindings = plan.getBindings();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int index = reader.nextName(names);
+            if (index < 0) {
+                reader.skipValue();
+                continue;
+            }
+
+            DeserializationPlan.Binding binding = bindings[index];
+            Class<?> valueType = binding.getValueType();
+            switch (binding.getKind()) {
+                case LONG:
+                case DOUBLE:
+                case FLOAT:
+                case BOOLEAN:
+                    // null keeps the default of the primitive component
+                    if (reader.peek() == JSONToken.NULL) reader.nextNull();
+                    else arguments[binding.getSlot()] = readNumberOrBoolean(reader, valueType);
+                    break;
+                default:
+                    Object value = readValue(reader, binding);
+                    if (value != null && !wrap(valueType).isInstance(value))
+                        throw failure(plan, binding, new ClassCastException(value.getClass().getName() + " cannot be cast to " + valueType.getName()));
+                    arguments[binding.getSlot()] = value;
+                    break;
+            }
+        }
+        reader.endObject();
+
+        try {
+            return plan.newRecord(arguments);
+        } catch (Throwable t) {
+            throw failure(plan, t);
+        }
+    }
+
+    /**
+     * Reads a value which is not set without boxing, null for a JSON null
+     */
+    private Object readValue(JsonReader reader, DeserializationPlan.Binding binding) throws IOException {
+        if (reader.peek() == JSONToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        Class<?> valueType = binding.getValueType();
+        switch (binding.getJsonType()) {
+            case INTEGER:
+            case DOUBLE:
+            case FLOAT:
+            case BOOLEAN:
+                return readNumberOrBoolean(reader, valueType);
+            case STRING:
+                return reader.nextString();
+            case LIST:
+                return readList(reader, binding.getElementType());
+            case ARRAY:
+                return valueType.isArray() ? readArray(reader, valueType) : readAny(reader);
+            case MAP:
+                return readMap(reader, binding.getElementType());
+            case JSON_ANNOTATED:
+                return readObject(reader, valueType);
+            case ENUMERATED_STRING:
+                if (binding.getConstants() == null) break;
+                int index = reader.nextString(binding.getConstantNames());
+                if (index < 0) throw new JsonParseException("Unknown constant of " + valueType.getName() + " for \"" + binding.getKey() + "\"");
+                return binding.getConstants()[index];
+            case ENUMERATED_ORDINAL:
+                if (binding.getConstants() == null) break;
+                int ordinal = reader.nextInt();
+                if (ordinal < 0 || ordinal >= binding.getConstants().length)
+                    throw new JsonParseException("Unknown ordinal " + ordinal + " of " + valueType.getName() + " for \"" + binding.getKey() + "\"");
+                return binding.getConstants()[ordinal];
+            case CUSTOM:
+                ElementHandler handler = handlers.get(binding.getHandlerType());
+                if (handler == null)
+                    throw new JsonParseException("No handler with the Type( \"" + binding.getHandlerType() + "\" ) was found");
+                if (handler instanceof ReadableElementHandler) {
+                    try {
+                        return ((ReadableElementHandler) handler).read(reader, valueType, parser);
+                    } catch (ElementTypeException e) {
+                        throw new JsonParseException(e.getMessage());
+                    }
+                }
+                return readAny(reader);
+            default:
+                return readAny(reader);
+        }
+        throw new JsonParseException("The type " + valueType.getName() + " of \"" + binding.getKey() + "\" is no enum");
+    }
+
+    private List<Object> readList(JsonReader reader, Class<?> elementType) throws IOException {
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) list.add(readElement(reader, elementType));
+        reader.endArray();
+        return list;
+    }
+
+    /**
+     * Reads an object into a LinkedHashMap, the keys are read as Strings
+     */
+    private Map<String, Object> readMap(JsonReader reader, Class<?> valueType) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) map.put(reader.nextName(), readElement(reader, valueType));
+        reader.endObject();
+        return map;
+    }
+
+    /**
+     * Reads an array into an array of the type, primitive arrays are filled without boxing
+     */
+    private Object readArray(JsonReader reader, Class<?> arrayType) throws IOException {
+        Class<?> component = arrayType.getComponentType();
+        if (component == char.class) return reader.nextString().toCharArray();
+        if (!component.isPrimitive()) {
+            List<Object> list = readList(reader, component);
+            return list.toArray((Object[]) Array.newInstance(component, list.size()));
+        }
+
+        int n = 0;
+        reader.beginArray();
+        if (component == int.class) {
+            int[] values = new int[16];
+            for (; reader.hasNext(); n++) {
+                if (n == values.length) values = Arrays.copyOf(values, n << 1);
+                values[n] = (int) readLong(reader, int.class);
+            }
+            reader.endArray();
+            return Arrays.copyOf(values, n);
+        }
+        if (component == long.class) {
+            long[] values = new long[16];
+            for (; reader.hasNext(); n++) {
+                if (n == values.length) values = Arrays.copyOf(values, n << 1);
+                values[n] = reader.nextLong();
+            }
+            reader.endArray();
+            return Arrays.copyOf(values, n);
+        }
+        if (component == double.class) {
+            double[] values = new double[16];
+            for (; reader.hasNext(); n++) {
+                if (n == values.length) values = Arrays.copyOf(values, n << 1);
+                values[n] = reader.nextDouble();
+            }
+            reader.endArray();
+            return Arrays.copyOf(values, n);
+        }
+        if (component == float.class) {
+            float[] values = new float[16];
+            for (; reader.hasNext(); n++) {
+                if (n == values.length) values = Arrays.copyOf(values, n << 1);
+                values[n] = reader.nextFloat();
+            }
+            reader.endArray();
+            return Arrays.copyOf(values, n);
+        }
+        if (component == boolean.class) {
+            boolean[] values = new boolean[16];
+            for (; reader.hasNext(); n++) {
+                if (n == values.length) values = Arrays.copyOf(values, n << 1);
+                values[n] = reader.nextBoolean();
+            }
+            reader.endArray();
+            return Arrays.copyOf(values, n);
+        }
+        if (component == short.class) {
+            short[] values = new short[16];
+            for (; reader.hasNext(); n++) {
+                if (n == values.length) values = Arrays.copyOf(values, n << 1);
+                values[n] = (short) readLong(reader, short.class);
+            }
+            reader.endArray();
+            return Arrays.copyOf(values, n);
+        }
+        byte[] values = new byte[16];
+        for (; reader.hasNext(); n++) {
+            if (n == values.length) values = Arrays.copyOf(values, n << 1);
+            values[n] = (byte) readLong(reader, byte.class);
+        }
+        reader.endArray();
+        return Arrays.copyOf(values, n);
+    }
+
+    /**
+     * Reads an element of a List, array or Map into its declared type
+     * - Annotated types are read as objects, numbers and booleans into their wrapper, enums by name or ordinal
+     * - Elements of other types are read as plain JSON values
+     */
+    private Object readElement(JsonReader reader, Class<?> type) throws IOException {
+        if (reader.peek() == JSONToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (type == Object.class) return readAny(reader);
+        if (type == String.class) return reader.nextString();
+        if (type.isAnnotationPresent(JsonSerializableObject.class)) return readObject(reader, type);
+        if (type == Long.class || type == Integer.class || type == Double.class || type == Float.class || type == Boolean.class
+                || type == Short.class || type == Byte.class || type == Number.class)
+            return readNumberOrBoolean(reader, type);
+        if (type.isArray()) return readArray(reader, type);
+        if (type.isEnum()) return readConstant(reader, type);
+        return readAny(reader);
+    }
+
+    private static Object readConstant(JsonReader reader, Class<?> type) throws IOException {
+        Object[] constants = type.getEnumConstants();
+        if (reader.peek() == JSONToken.NUMBER) {
+            int ordinal = reader.nextInt();
+            if (ordinal < 0 || ordinal >= constants.length)
+                throw new JsonParseException("Unknown ordinal " + ordinal + " of " + type.getName());
+            return constants[ordinal];
+        }
+        String name = reader.nextString();
+        for (Object constant : constants) {
+            if (((Enum<?>) constant).name().equals(name)) return constant;
+        }
+        throw new JsonParseException("Unknown constant " + name + " of " + type.getName());
+    }
+
+    /**
+     * Reads a number or boolean boxed into the wrapper of the type, Numbers and Objects get a Long or Double
+     */
+    private static Object readNumberOrBoolean(JsonReader reader, Class<?> type) throws IOException {
+        if (type == boolean.class || type == Boolean.class) return reader.nextBoolean();
+        if (type == double.class || type == Double.class) return reader.nextDouble();
+        if (type == float.class || type == Float.class) return reader.nextFloat();
+        if (type == long.class || type == Long.class) return reader.nextLong();
+        if (type == int.class || type == Integer.class) return (int) readLong(reader, int.class);
+        if (type == short.class || type == Short.class) return (short) readLong(reader, short.class);
+        if (type == byte.class || type == Byte.class) return (byte) readLong(reader, byte.class);
+        if (reader.peek() == JSONToken.BOOLEAN) return reader.nextBoolean();
+        return (reader.peekType() == JSONType.INTEGER) ? (Object) reader.nextLong() : (Object) reader.nextDouble();
+    }
+
+    /**
+     * Reads an integer and checks that it fits into the primitive type
+     */
+    private static long readLong(JsonReader reader, Class<?> type) throws IOException {
+        long value = reader.nextLong();
+        if (type == int.class && (int) value != value
+                || type == short.class && (short) value != value
+                || type == byte.class && (byte) value != value)
+            throw new JsonParseException("The number " + value + " does not fit into " + type.getName());
+        return value;
+    }
+
+    /**
+     * Reads any value as String, Long, Double, Boolean, List, Map or null
+     *
+     * @param reader the reader positioned before the value
+     * @return the value
+     * @throws IOException if the document cannot be read or is malformed
+     */
+    static Object readAny(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) map.put(reader.nextName(), readAny(reader));
+                reader.endObject();
+                return map;
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) list.add(readAny(reader));
+                reader.endArray();
+                return list;
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return (reader.peekType() == JSONType.INTEGER) ? (Object) reader.nextLong() : (Object) reader.nextDouble();
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new JsonParseException("Expected a value but was " + reader.peek() + " at offset " + reader.getOffset());
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static JsonParseException failure(DeserializationPlan plan, Throwable cause) {
+        return new JsonParseException("The class " + plan.getType().getName() + " cannot be created: " + cause);
+    }
+
+    private static JsonParseException failure(DeserializationPlan plan, DeserializationPlan.Binding binding, Throwable cause) {
+        return new JsonParseException("The element \"" + binding.getKey() + "\" of " + plan.getType().getName() + " cannot be set: " + cause);
+    }
+}
@@ -0,0 +1,101 @@
+package parser;
+
+import exceptions.JsonSerializationException;
+import parser.enums.ParserResponseType;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Writes the elements of a large list on an Executor
+ * - The list is split into chunks which are serialized into their own buffers
+ * - The buffers are joined in order and written with the escaping of the writer, so the output is identical to the sequential one
+ * - Only a window of chunks is in flight, the writer is not held back by the slowest chunk of the whole list
+ */
+final class ParallelListWriter {
+    private static final int MIN_CHUNK_SIZE = 256;
+    private static final int MAX_CHUNK_SIZE = 16384;
+
+    private final JSONParser parser;
+    private final Executor executor;
+    private final int parallelism;
+
+    ParallelListWriter(JSONParser parser, Executor executor) {
+        this.parser = parser;
+        this.executor = executor;
+        this.parallelism = (executor instanceof ForkJoinPool)
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Writes the elements of the list, the envelope of the list is written by the caller
+     *
+     * @param list          the elements, it has to support fast random access
+     * @param response      the form of the list, NDJSON writes every element on its own line
+     * @param writer        the writer which is positioned inside the array or at the top-level
+     * @param flushInterval the number of elements after which the writer is flushed, 0 never flushes
+     */
+    void write(List<?> list, ParserResponseType response, JsonWriter writer, int flushInterval) throws JsonSerializationException, IOException {
+        int size = list.size();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (parallelism * 8)));
+        int window = parallelism * 2;
+        boolean lines = response == ParserResponseType.NDJSON;
+        boolean escapeNonAscii = writer.isEscapeNonAscii();
+
+        ArrayDeque<CompletableFuture<String>> chunks = new ArrayDeque<>();
+        int next = 0;
+        int unflushed = 0;
+        try {
+            while (next < size || !chunks.isEmpty()) {
+                while (next < size && chunks.size() < window) {
+                    int from = next;
+                    int to = Math.min(size, from + chunkSize);
+                    chunks.add(CompletableFuture.supplyAsync(() -> writeChunk(list.subList(from, to), lines, escapeNonAscii), executor));
+                    next = to;
+                }
+
+                CompletableFuture<String> chunk = chunks.poll();
+                writer.rawValue(chunk.join());
+                unflushed += chunkSize;
+                if (flushInterval > 0 && unflushed >= flushInterval) {
+                    writer.flush();
+                    unflushed = 0;
+                }
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<String> chunk : chunks) chunk.cancel(false);
+            Throwable cause = e.getCause();
+            if (cause instanceof JsonSerializationException) throw (JsonSerializationException) cause;
+            throw new JsonSerializationException(cause.getMessage());
+        }
+    }
+
+    /**
+     * Serializes a chunk without the brackets of the array, the writer inserts the commas between the elements
+     */
+    private String writeChunk(List<?> chunk, boolean lines, boolean escapeNonAscii) {
+        StringBuilder out = new StringBuilder(chunk.size() * 64);
+        JsonWriter writer = JsonWriter.of(out);
+        writer.setEscapeNonAscii(escapeNonAscii);
+        try {
+            if (!lines) {
+                writer.beginArray();
+                out.setLength(0);
+            }
+            for (Object o : chunk) {
+                parser.writeObject(o, writer);
+                if (lines) writer.newLine();
+            }
+        } catch (JsonSerializationException | IOException e) {
+            throw new CompletionException(e);
+        }
+        return out.toString();
+    }
+}
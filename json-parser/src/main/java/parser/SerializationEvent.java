@@ -0,0 +1,33 @@
+package parser;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event of an object which took long to serialize
+ * - Only emitted while a SerializationListener is set and a recording enables the event
+ * - The threshold can be changed in the settings of the recording
+ */
+@Name("dev.marconyous.jsonparser.Serialization")
+@Label("JSON Serialization")
+@Category("JSON Parser")
+@Description("Serialization of an object which exceeded the threshold, including its nested objects")
+@Threshold("1 ms")
+@StackTrace(false)
+final class SerializationEvent extends Event {
+    @Label("Class")
+    Class<?> type;
+
+    @Label("Written")
+    @DataAmount
+    long written;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,224 @@
+package parser;
+
+import parser.accessors.AccessorMode;
+import parser.accessors.Accessors;
+import parser.accessors.PropertyAccessor;
+import parser.annotations.JsonField;
+import parser.annotations.JsonMethod;
+import parser.annotations.JsonSerializableObject;
+import parser.enums.JSONType;
+import parser.io.JsonKey;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable description of how a class is serialized.
+ * - All annotated Fields and Methods are resolved once per class and cached
+ * - Keys, types and accessors are reused for every object of that class
+ * - Plans are cached with a ClassValue, so they are thread-safe and do not keep classes alive
+ * - There is one plan per class and AccessorMode
+ *
+ * @see JsonField
+ * @see JsonMethod
+ */
+public final class SerializationPlan {
+    /**
+     * The AccessorMode used if none is specified
+     */
+    public static final AccessorMode DEFAULT_ACCESSOR_MODE = AccessorMode.LAMBDA_METAFACTORY;
+
+    private static final ClassValue<?>[] PLANS = new ClassValue<?>[AccessorMode.values().length];
+
+    static {
+        for (AccessorMode mode : AccessorMode.values()) {
+            PLANS[mode.ordinal()] = new ClassValue<SerializationPlan>() {
+                @Override
+                protected SerializationPlan computeValue(Class<?> type) {
+                    return new SerializationPlan(type, mode);
+                }
+            };
+        }
+    }
+
+    private final Class<?> type;
+    private final String listName;
+    private final List<Property> properties;
+    private final String error;
+
+    private SerializationPlan(Class<?> type, AccessorMode mode) {
+        this.type = type;
+
+        JsonSerializableObject annotation = type.getAnnotation(JsonSerializableObject.class);
+        this.listName = (annotation == null) ? null : annotation.listName();
+
+        // the properties are keyed like the JSON elements were, so the order of the output stays the same
+        Map<String, Property> elements = new HashMap<>();
+        String error = null;
+
+        for (Field f : type.getDeclaredFields()) {
+            JsonField jsonField = f.getAnnotation(JsonField.class);
+            if (jsonField == null) continue;
+
+            String key = jsonField.key().equals("") ? f.getName() : jsonField.key();
+            if (error == null && jsonField.type() == JSONType.CUSTOM && jsonField.customType().equals(""))
+                error = "The field(" + type + " --> " + f.getName() + ") is annotated with JSONType.CUSTOM but not with customType";
+
+            elements.put(Property.keyFragment(key), new Property(key, f.getName(), jsonField.type(), jsonField.customType(), Accessors.of(f, mode)));
+        }
+
+        for (Method m : type.getDeclaredMethods()) {
+            JsonMethod jsonMethod = m.getAnnotation(JsonMethod.class);
+            if (jsonMethod == null) continue;
+
+            String key = jsonMethod.key().equals("") ? m.getName() : jsonMethod.key();
+            if (error == null && jsonMethod.type() == JSONType.CUSTOM && jsonMethod.customType().equals(""))
+                error = "The method(" + type + " --> " + m.getName() + ") is annotated with JSONType.CUSTOM but not with customType";
+
+            elements.put(Property.keyFragment(key), new Property(key, m.getName(), jsonMethod.type(), jsonMethod.customType(), Accessors.of(m, mode)));
+        }
+
+        this.properties = List.copyOf(elements.values());
+        this.error = error;
+    }
+
+    /**
+     * @param clazz the class to get the plan for
+     * @return the cached plan of the class
+     */
+    public static SerializationPlan of(Class<?> clazz) {
+        return of(clazz, DEFAULT_ACCESSOR_MODE);
+    }
+
+    /**
+     * @param clazz the class to get the plan for
+     * @param mode  the way the values are read
+     * @return the cached plan of the class
+     */
+    public static SerializationPlan of(Class<?> clazz, AccessorMode mode) {
+        return (SerializationPlan) PLANS[mode.ordinal()].get(clazz);
+    }
+
+    /**
+     * @return the class this plan describes
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return if the class is annotated with JsonSerializableObject
+     */
+    public boolean isSerializable() {
+        return listName != null;
+    }
+
+    /**
+     * @return the listName of the JsonSerializableObject annotation or null if the class is not annotated
+     */
+    public String getListName() {
+        return listName;
+    }
+
+    /**
+     * @return the properties in the order they are written
+     */
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return the reason why the class cannot be serialized or null if it is valid
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * A single element of the JSON Object
+     */
+    public static final class Property {
+        private final String key;
+        private final String memberName;
+        private final String keyFragment;
+        private final JsonKey jsonKey;
+        private final JSONType type;
+        private final String handlerType;
+        private final PropertyAccessor accessor;
+
+        private Property(String key, String memberName, JSONType type, String customType, PropertyAccessor accessor) {
+            this.key = key;
+            this.memberName = memberName;
+            this.keyFragment = keyFragment(key);
+            this.jsonKey = JsonKey.of(key);
+            this.type = type;
+            this.handlerType = (type == JSONType.CUSTOM) ? customType : type.name();
+            this.accessor = accessor;
+        }
+
+        private static String keyFragment(String key) {
+            return "\"" + key + "\":";
+        }
+
+        /**
+         * @return the name of the element in the JSON Object
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return the name of the Field or Method
+         */
+        public String getMemberName() {
+            return memberName;
+        }
+
+        /**
+         * @return the quoted key followed by a colon, like: "name":
+         */
+        public String getKeyFragment() {
+            return keyFragment;
+        }
+
+        /**
+         * @return the prepared key for a JsonWriter
+         */
+        public JsonKey getJsonKey() {
+            return jsonKey;
+        }
+
+        /**
+         * @return the type of the element
+         */
+        public JSONType getJsonType() {
+            return type;
+        }
+
+        /**
+         * @return the type of the handler which handles this element (the customType for JSONType.CUSTOM)
+         */
+        public String getHandlerType() {
+            return handlerType;
+        }
+
+        /**
+         * @param object the object to read from
+         * @return the value of the element
+         * @throws ReflectiveOperationException if the value cannot be read
+         */
+        public Object get(Object object) throws ReflectiveOperationException {
+            return accessor.get(object);
+        }
+
+        /**
+         * @return the accessor which reads the value, also without boxing primitives
+         */
+        public PropertyAccessor getAccessor() {
+            return accessor;
+        }
+    }
+}
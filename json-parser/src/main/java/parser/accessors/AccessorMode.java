@@ -0,0 +1,25 @@
+package parser.accessors;
+
+/**
+ * The way values of annotated Fields and Methods are read
+ *
+ * @see Accessors
+ */
+public enum AccessorMode {
+    /**
+     * Reads values with Field.get and Method.invoke
+     */
+    REFLECTION,
+
+    /**
+     * Reads values with MethodHandles which are adapted to the type of the value
+     */
+    METHOD_HANDLE,
+
+    /**
+     * Reads values with functions spun by the LambdaMetafactory.
+     * - Getters and record components are called directly
+     * - Fields which are not record components use METHOD_HANDLE
+     */
+    LAMBDA_METAFACTORY
+}
@@ -0,0 +1,132 @@
+package parser.accessors;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Creates the PropertyAccessors for annotated Fields and Methods.
+ * - If an accessor cannot be created with the requested mode the next simpler mode is used
+ *
+ * @see AccessorMode
+ */
+public final class Accessors {
+    private Accessors() {
+    }
+
+    /**
+     * @param field the field to read
+     * @param mode  the way the field is read
+     * @return the accessor for the field
+     */
+    public static PropertyAccessor of(Field field, AccessorMode mode) {
+        if (mode == AccessorMode.LAMBDA_METAFACTORY) {
+            Method component = recordAccessor(field);
+            if (component != null) {
+                PropertyAccessor accessor = lambda(component);
+                if (accessor != null) return accessor;
+            }
+        }
+        if (mode != AccessorMode.REFLECTION) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+                return new MethodHandleAccessor(lookup.unreflectGetter(field));
+            } catch (IllegalAccessException | RuntimeException ignored) {
+                // fall back to reflection
+            }
+        }
+        return new ReflectionAccessor(field);
+    }
+
+    /**
+     * @param method the method to call, it must not take any arguments
+     * @param mode   the way the method is called
+     * @return the accessor for the method
+     */
+    public static PropertyAccessor of(Method method, AccessorMode mode) {
+        if (mode == AccessorMode.LAMBDA_METAFACTORY) {
+            PropertyAccessor accessor = lambda(method);
+            if (accessor != null) return accessor;
+        }
+        if (mode != AccessorMode.REFLECTION) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+                return new MethodHandleAccessor(lookup.unreflect(method));
+            } catch (IllegalAccessException | RuntimeException ignored) {
+                // fall back to reflection
+            }
+        }
+        return new ReflectionAccessor(method);
+    }
+
+    /**
+     * @param valueType the type of a value
+     * @return the primitive type the value can be read as without boxing or null if it has to be boxed
+     */
+    public static Class<?> primitiveKind(Class<?> valueType) {
+        if (valueType == long.class || valueType == int.class || valueType == short.class || valueType == byte.class)
+            return long.class;
+        if (valueType == double.class || valueType == float.class || valueType == boolean.class)
+            return valueType;
+        return null;
+    }
+
+    private static Method recordAccessor(Field field) {
+        Class<?> declaring = field.getDeclaringClass();
+        if (!declaring.isRecord()) return null;
+
+        for (RecordComponent component : declaring.getRecordComponents()) {
+            if (component.getName().equals(field.getName())) return component.getAccessor();
+        }
+        return null;
+    }
+
+    /**
+     * Spins the functions for a getter, one for the boxed value and one for its primitive kind
+     *
+     * @return the accessor or null if the LambdaMetafactory cannot be used for this method
+     */
+    @SuppressWarnings("unchecked")
+    private static PropertyAccessor lambda(Method method) {
+        try {
+            Class<?> declaring = method.getDeclaringClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaring, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+            Class<?> valueType = method.getReturnType();
+
+            Function<Object, Object> getter = (Function<Object, Object>) spin(lookup, handle, Function.class, "apply", Object.class, handle.type().wrap());
+
+            ToLongFunction<Object> longGetter = null;
+            ToDoubleFunction<Object> doubleGetter = null;
+            Predicate<Object> booleanGetter = null;
+            Class<?> primitive = primitiveKind(valueType);
+            if (primitive == long.class) {
+                longGetter = (ToLongFunction<Object>) spin(lookup, handle, ToLongFunction.class, "applyAsLong", long.class, handle.type());
+            } else if (primitive == double.class || primitive == float.class) {
+                doubleGetter = (ToDoubleFunction<Object>) spin(lookup, handle, ToDoubleFunction.class, "applyAsDouble", double.class, handle.type());
+            } else if (primitive == boolean.class) {
+                booleanGetter = (Predicate<Object>) spin(lookup, handle, Predicate.class, "test", boolean.class, handle.type());
+            }
+
+            return new LambdaAccessor(valueType, getter, longGetter, doubleGetter, booleanGetter);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static Object spin(MethodHandles.Lookup lookup, MethodHandle handle, Class<?> functionType, String name,
+                               Class<?> samReturn, MethodType instantiated) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(functionType),
+                MethodType.methodType(samReturn, Object.class), handle, instantiated);
+        return site.getTarget().invoke();
+    }
+}
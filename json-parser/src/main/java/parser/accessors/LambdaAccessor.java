@@ -0,0 +1,58 @@
+package parser.accessors;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Accessor which calls a function spun by the LambdaMetafactory.
+ * - Only the function matching the value type is set
+ * - float values are read through a ToDoubleFunction, which is lossless
+ */
+class LambdaAccessor implements PropertyAccessor {
+    private final Class<?> valueType;
+    private final Function<Object, Object> getter;
+    private final ToLongFunction<Object> longGetter;
+    private final ToDoubleFunction<Object> doubleGetter;
+    private final Predicate<Object> booleanGetter;
+
+    LambdaAccessor(Class<?> valueType, Function<Object, Object> getter, ToLongFunction<Object> longGetter,
+                   ToDoubleFunction<Object> doubleGetter, Predicate<Object> booleanGetter) {
+        this.valueType = valueType;
+        this.getter = getter;
+        this.longGetter = longGetter;
+        this.doubleGetter = doubleGetter;
+        this.booleanGetter = booleanGetter;
+    }
+
+    @Override
+    public Object get(Object target) {
+        return getter.apply(target);
+    }
+
+    @Override
+    public long getLong(Object target) {
+        return longGetter.applyAsLong(target);
+    }
+
+    @Override
+    public double getDouble(Object target) {
+        return doubleGetter.applyAsDouble(target);
+    }
+
+    @Override
+    public float getFloat(Object target) {
+        return (float) doubleGetter.applyAsDouble(target);
+    }
+
+    @Override
+    public boolean getBoolean(Object target) {
+        return booleanGetter.test(target);
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return valueType;
+    }
+}
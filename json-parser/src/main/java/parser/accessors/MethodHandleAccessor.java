@@ -0,0 +1,85 @@
+package parser.accessors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Accessor which calls a MethodHandle with an exact type.
+ * - The handle for the boxed value is (Object)Object
+ * - The handle for primitive values is (Object)long, (Object)double, (Object)float or (Object)boolean
+ * - Exceptions of the target are wrapped in an InvocationTargetException like with reflection
+ */
+class MethodHandleAccessor implements PropertyAccessor {
+    private final Class<?> valueType;
+    private final MethodHandle getter;
+    private final MethodHandle primitiveGetter;
+
+    MethodHandleAccessor(MethodHandle handle) {
+        this.valueType = handle.type().returnType();
+        this.getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+
+        Class<?> primitive = Accessors.primitiveKind(valueType);
+        this.primitiveGetter = (primitive == null) ? null : handle.asType(MethodType.methodType(primitive, Object.class));
+    }
+
+    @Override
+    public Object get(Object target) throws ReflectiveOperationException {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public long getLong(Object target) throws ReflectiveOperationException {
+        try {
+            return (long) primitiveGetter.invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public double getDouble(Object target) throws ReflectiveOperationException {
+        try {
+            return (double) primitiveGetter.invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public float getFloat(Object target) throws ReflectiveOperationException {
+        try {
+            return (float) primitiveGetter.invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object target) throws ReflectiveOperationException {
+        try {
+            return (boolean) primitiveGetter.invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return valueType;
+    }
+}
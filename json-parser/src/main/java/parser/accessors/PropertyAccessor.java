@@ -0,0 +1,60 @@
+package parser.accessors;
+
+/**
+ * Reads the value of an annotated Field or Method from an object.
+ * - Primitive values can be read without boxing them
+ * - The primitive getters may only be called if the value type is compatible
+ *
+ * @see Accessors
+ */
+public interface PropertyAccessor {
+    /**
+     * @param target the object to read from
+     * @return the (boxed) value
+     * @throws ReflectiveOperationException if the value cannot be read
+     */
+    Object get(Object target) throws ReflectiveOperationException;
+
+    /**
+     * Reads a long, int, short or byte value
+     *
+     * @param target the object to read from
+     * @return the value widened to a long
+     * @throws ReflectiveOperationException if the value cannot be read
+     */
+    default long getLong(Object target) throws ReflectiveOperationException {
+        return ((Number) get(target)).longValue();
+    }
+
+    /**
+     * @param target the object to read from
+     * @return the double value
+     * @throws ReflectiveOperationException if the value cannot be read
+     */
+    default double getDouble(Object target) throws ReflectiveOperationException {
+        return (Double) get(target);
+    }
+
+    /**
+     * @param target the object to read from
+     * @return the float value
+     * @throws ReflectiveOperationException if the value cannot be read
+     */
+    default float getFloat(Object target) throws ReflectiveOperationException {
+        return (Float) get(target);
+    }
+
+    /**
+     * @param target the object to read from
+     * @return the boolean value
+     * @throws ReflectiveOperationException if the value cannot be read
+     */
+    default boolean getBoolean(Object target) throws ReflectiveOperationException {
+        return (Boolean) get(target);
+    }
+
+    /**
+     * @return the declared type of the Field or the return type of the Method
+     */
+    Class<?> getValueType();
+}
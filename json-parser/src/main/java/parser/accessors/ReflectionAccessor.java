@@ -0,0 +1,54 @@
+package parser.accessors;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Accessor which uses plain reflection
+ */
+class ReflectionAccessor implements PropertyAccessor {
+    private final Field field;
+    private final Method method;
+
+    ReflectionAccessor(Field field) {
+        field.setAccessible(true);
+        this.field = field;
+        this.method = null;
+    }
+
+    ReflectionAccessor(Method method) {
+        method.setAccessible(true);
+        this.field = null;
+        this.method = method;
+    }
+
+    @Override
+    public Object get(Object target) throws ReflectiveOperationException {
+        return (field != null) ? field.get(target) : method.invoke(target);
+    }
+
+    @Override
+    public long getLong(Object target) throws ReflectiveOperationException {
+        return (field != null) ? field.getLong(target) : ((Number) method.invoke(target)).longValue();
+    }
+
+    @Override
+    public double getDouble(Object target) throws ReflectiveOperationException {
+        return (field != null) ? field.getDouble(target) : (Double) method.invoke(target);
+    }
+
+    @Override
+    public float getFloat(Object target) throws ReflectiveOperationException {
+        return (field != null) ? field.getFloat(target) : (Float) method.invoke(target);
+    }
+
+    @Override
+    public boolean getBoolean(Object target) throws ReflectiveOperationException {
+        return (field != null) ? field.getBoolean(target) : (Boolean) method.invoke(target);
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return (field != null) ? field.getType() : method.getReturnType();
+    }
+}
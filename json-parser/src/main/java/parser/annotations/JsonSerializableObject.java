@@ -0,0 +1,20 @@
+package parser.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JsonSerializableObject {
+    String listName();
+
+    /**
+     * Marks the objects of the class as immutable, so parsers with a FragmentCache may reuse their serialized JSON.
+     * - All values the JSON depends on, including nested objects and lists, must never change
+     *
+     * @return if the JSON of an object may be cached
+     */
+    boolean cacheable() default false;
+}
@@ -0,0 +1,201 @@
+package parser.cache;
+
+import parser.io.JsonFragment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the serialized JSON of immutable objects
+ * - Only classes annotated with JsonSerializableObject(cacheable = true) are cached
+ * - Objects are either keyed by identity, so equal copies are serialized on their own, or by equality
+ * - The entries are split into segments which are each evicted least recently used, so threads rarely wait for each other
+ * - A cache must only be shared by parsers with the same Handlers, a parser clears it when Handlers are added
+ *
+ * @see parser.JSONParser#setFragmentCache(FragmentCache)
+ */
+public final class FragmentCache {
+    private static final int SEGMENTS = 16;
+
+    private final boolean identity;
+    private final int maximumSize;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private FragmentCache(boolean identity, int maximumSize) {
+        if (maximumSize < 1) throw new IllegalArgumentException("The maximum size has to be positive");
+        this.identity = identity;
+        this.maximumSize = maximumSize;
+        int capacity = Math.max(1, (maximumSize + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) segments[i] = new Segment(capacity);
+    }
+
+    /**
+     * @param maximumSize the maximum number of fragments, rounded up to a multiple of the number of segments
+     * @return a cache which only reuses the JSON of the same instance
+     */
+    public static FragmentCache byIdentity(int maximumSize) {
+        return new FragmentCache(true, maximumSize);
+    }
+
+    /**
+     * @param maximumSize the maximum number of fragments, rounded up to a multiple of the number of segments
+     * @return a cache which reuses the JSON of equal objects, their equals and hashCode have to cover all serialized values
+     */
+    public static FragmentCache byEquality(int maximumSize) {
+        return new FragmentCache(false, maximumSize);
+    }
+
+    /**
+     * @param object the object
+     * @return the cached JSON of the object or null
+     */
+    public JsonFragment get(Object object) {
+        Object key = key(object);
+        JsonFragment fragment = segment(key).get(key);
+        if (fragment != null) hits.increment();
+        else misses.increment();
+        return fragment;
+    }
+
+    /**
+     * @param object   the object
+     * @param fragment the JSON of the object
+     */
+    public void put(Object object, JsonFragment fragment) {
+        Object key = key(object);
+        segment(key).put(key, fragment);
+    }
+
+    /**
+     * Removes all fragments, the statistics are kept
+     */
+    public void clear() {
+        for (Segment segment : segments) segment.clear();
+    }
+
+    /**
+     * @return the number of cached fragments
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) size += segment.size();
+        return size;
+    }
+
+    /**
+     * @return the maximum number of fragments
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return if objects are keyed by identity
+     */
+    public boolean isByIdentity() {
+        return identity;
+    }
+
+    /**
+     * @return the number of lookups which found a fragment
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups which found no fragment
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of fragments which were evicted
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the share of lookups which found a fragment, 0 if there were none
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return (total == 0) ? 0 : (double) h / total;
+    }
+
+    private Object key(Object object) {
+        return identity ? new IdentityKey(object) : object;
+    }
+
+    private Segment segment(Object key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "FragmentCache{size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "}";
+    }
+
+    /**
+     * A part of the entries in access order, the least recently used entry is evicted when the segment is full
+     */
+    private final class Segment {
+        private final Map<Object, JsonFragment> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, JsonFragment> eldest) {
+                    if (size() <= capacity) return false;
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+
+        private synchronized JsonFragment get(Object key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(Object key, JsonFragment fragment) {
+            entries.put(key, fragment);
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Key which compares the object by identity
+     */
+    private static final class IdentityKey {
+        private final Object object;
+
+        private IdentityKey(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package parser.enums;
+
+/**
+ * The encoding of a document, every format uses the same annotations and ParserResponseTypes
+ */
+public enum DataFormat {
+    /**
+     * UTF-8 encoded JSON text
+     */
+    JSON,
+
+    /**
+     * Concise Binary Object Representation (RFC 8949), numbers in binary form and repeated names as stringrefs
+     * like: d9 01 00 bf 66 6e 75 6d 62 65 72 01 ff for {"number":1}, tagged as a stringref namespace
+     */
+    CBOR
+}
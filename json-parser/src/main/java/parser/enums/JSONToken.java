@@ -0,0 +1,69 @@
+package parser.enums;
+
+/**
+ * The tokens of a JSON document read by a JsonReader
+ */
+public enum JSONToken {
+    /**
+     * The opening brace of a JSON Object
+     */
+    BEGIN_OBJECT(JSONType.JSON_ANNOTATED),
+
+    /**
+     * The closing brace of a JSON Object
+     */
+    END_OBJECT(null),
+
+    /**
+     * The opening bracket of a JSON Array
+     */
+    BEGIN_ARRAY(JSONType.LIST),
+
+    /**
+     * The closing bracket of a JSON Array
+     */
+    END_ARRAY(null),
+
+    /**
+     * The name of a value in a JSON Object
+     */
+    NAME(null),
+
+    /**
+     * A string value
+     */
+    STRING(JSONType.STRING),
+
+    /**
+     * A number value, INTEGER or DOUBLE depending on its literal
+     */
+    NUMBER(JSONType.DOUBLE),
+
+    /**
+     * A boolean value
+     */
+    BOOLEAN(JSONType.BOOLEAN),
+
+    /**
+     * The null value
+     */
+    NULL(null),
+
+    /**
+     * The end of the input
+     */
+    END_DOCUMENT(null);
+
+    private final JSONType type;
+
+    JSONToken(JSONType type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the JSONType of a value with this token, null if the token is not a value or null
+     */
+    public JSONType getType() {
+        return type;
+    }
+}
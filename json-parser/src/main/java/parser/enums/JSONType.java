@@ -0,0 +1,29 @@
+package parser.enums;
+
+public enum JSONType {
+    FLOAT,
+    DOUBLE,
+    INTEGER,
+    STRING,
+    BOOLEAN,
+    LIST,
+    JSON_ANNOTATED,
+    CUSTOM,
+    ENUMERATED_ORDINAL,
+    ENUMERATED_STRING,
+
+    /**
+     * The handler is inferred from the class of the value, once per class
+     */
+    AUTO,
+
+    /**
+     * Primitive and object arrays, primitive arrays are written without boxing their elements
+     */
+    ARRAY,
+
+    /**
+     * Maps written as JSON Objects, the keys are the names and the values are written with the handlers inferred for them
+     */
+    MAP
+}
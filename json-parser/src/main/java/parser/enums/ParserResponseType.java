@@ -17,5 +17,11 @@ public enum ParserResponseType {
      * JSON Array
      * like: [1,2,3,4,5]
      */
-    LIST
+    LIST,
+
+    /**
+     * Newline-delimited JSON, one Object per line which can be consumed while it is written
+     * like: {"number":1}\n{"number":2}\n
+     */
+    NDJSON
 }
\ No newline at end of file
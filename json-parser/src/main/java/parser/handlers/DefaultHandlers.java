@@ -0,0 +1,519 @@
+package parser.handlers;
+
+import parser.annotations.JsonSerializableObject;
+import parser.enums.JSONType;
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.io.JsonWriter;
+import parser.io.NumberFormatter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Default parser.handlers for datatypes in JSON
+ */
+public class DefaultHandlers {
+    /**
+     * Handles Integers
+     */
+    public static class IntegerHandler implements PrimitiveElementHandler, StreamingElementHandler {
+        /**
+         * Converts an Integer into a String for a JSON Object
+         *
+         * @param o the Object to convert
+         * @return the Converted JSON String
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public String handle(Object o) throws ElementTypeException {
+            if (!(o instanceof Integer) && !(o instanceof Long) && !(o instanceof Byte) && !(o instanceof Short))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Integer Value!");
+            return String.valueOf(((Number) o).longValue());
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, IOException {
+            if (!(o instanceof Integer) && !(o instanceof Long) && !(o instanceof Byte) && !(o instanceof Short))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Integer Value!");
+            writer.value(((Number) o).longValue());
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.INTEGER.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the object is instance of a Integer Number
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return (o instanceof Integer || o instanceof Long || o instanceof Byte || o instanceof Short);
+        }
+
+        @Override
+        public boolean canHandlePrimitive(Class<?> type) {
+            return type == long.class || type == int.class || type == short.class || type == byte.class;
+        }
+
+        @Override
+        public String handleLong(long value) {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public void writeLong(long value, JsonWriter writer) throws IOException {
+            writer.value(value);
+        }
+    }
+
+    public static class StringHandler implements StreamingElementHandler {
+
+        /**
+         * Converts a String into a String for a JSON Object
+         *
+         * @param o the Object to convert
+         * @return the Converted JSON String
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public String handle(Object o) throws ElementTypeException {
+            if (!(o instanceof String))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to String Value!");
+            StringBuilder out = new StringBuilder(((String) o).length() + 2);
+            try {
+                JsonWriter.of(out).value((String) o);
+            } catch (IOException e) {
+                throw new ElementTypeException(e.getMessage());
+            }
+            return out.toString();
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, IOException {
+            if (!(o instanceof String))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to String Value!");
+            writer.value((String) o);
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.STRING.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is instance of a String
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o instanceof String;
+        }
+    }
+
+    public static class FloatHandler implements PrimitiveElementHandler, StreamingElementHandler {
+
+        /**
+         * Converts a Float into a String for a JSON Object
+         *
+         * @param o the Object to convert
+         * @return the Converted JSON String
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public String handle(Object o) throws ElementTypeException {
+            if (!(o instanceof Float))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Float Value!");
+            return NumberFormatter.toString(((Float) o).floatValue());
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, IOException {
+            if (!(o instanceof Float))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Float Value!");
+            writer.value(((Float) o).floatValue());
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.FLOAT.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an instance of Float
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o instanceof Float;
+        }
+
+        @Override
+        public boolean canHandlePrimitive(Class<?> type) {
+            return type == float.class;
+        }
+
+        @Override
+        public String handleFloat(float value) {
+            return NumberFormatter.toString(value);
+        }
+
+        @Override
+        public void writeFloat(float value, JsonWriter writer) throws IOException {
+            writer.value(value);
+        }
+
+    }
+
+    public static class DoubleHandler implements PrimitiveElementHandler, StreamingElementHandler {
+
+        /**
+         * Converts a Double into a String for a JSON Object
+         *
+         * @param o the Object to convert
+         * @return the Converted JSON String
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public String handle(Object o) throws ElementTypeException {
+            if (!(o instanceof Double))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Double Value!");
+            return NumberFormatter.toString(((Double) o).doubleValue());
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, IOException {
+            if (!(o instanceof Double))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Double Value!");
+            writer.value(((Double) o).doubleValue());
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.DOUBLE.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an instance of Double
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o instanceof Double;
+        }
+
+        @Override
+        public boolean canHandlePrimitive(Class<?> type) {
+            return type == double.class;
+        }
+
+        @Override
+        public String handleDouble(double value) {
+            return NumberFormatter.toString(value);
+        }
+
+        @Override
+        public void writeDouble(double value, JsonWriter writer) throws IOException {
+            writer.value(value);
+        }
+    }
+
+    public static class BooleanHandler implements PrimitiveElementHandler, StreamingElementHandler {
+
+        /**
+         * Converts a Boolean into a String for a JSON Object
+         *
+         * @param o the Object to convert
+         * @return the Converted JSON String
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public String handle(Object o) throws ElementTypeException {
+            if (!(o instanceof Boolean))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Boolean Value!");
+            return String.valueOf(o);
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, IOException {
+            if (!(o instanceof Boolean))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Boolean Value!");
+            writer.value(((Boolean) o).booleanValue());
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.BOOLEAN.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an instance of Boolean
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o instanceof Boolean;
+        }
+
+        @Override
+        public boolean canHandlePrimitive(Class<?> type) {
+            return type == boolean.class;
+        }
+
+        @Override
+        public String handleBoolean(boolean value) {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public void writeBoolean(boolean value, JsonWriter writer) throws IOException {
+            writer.value(value);
+        }
+    }
+
+    public static class ListHandler implements StreamingElementHandler {
+
+        /**
+         * Writes a List as a JSON Array into a JSON Object, every element with the handler inferred for its class
+         *
+         * @param o the Object to convert
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException {
+            if (!(o instanceof List))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to List Value!");
+
+            ElementWriter elements = new ElementWriter(parser, writer);
+            writer.beginArray();
+            for (Object obj : (List<?>) o)
+                elements.write(obj);
+            writer.endArray();
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.LIST.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an instance of List
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o instanceof List;
+        }
+    }
+
+    public static class ArrayHandler implements StreamingElementHandler {
+
+        /**
+         * Writes an array as a JSON Array into a JSON Object
+         * - int, long, double, float and boolean arrays are formatted in bulk without boxing
+         * - char arrays are written as a String, object arrays element by element with the inferred handlers
+         *
+         * @param o the Object to convert
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException {
+            if (o instanceof int[]) {
+                writer.array((int[]) o);
+            } else if (o instanceof long[]) {
+                writer.array((long[]) o);
+            } else if (o instanceof double[]) {
+                writer.array((double[]) o);
+            } else if (o instanceof float[]) {
+                writer.array((float[]) o);
+            } else if (o instanceof boolean[]) {
+                writer.array((boolean[]) o);
+            } else if (o instanceof short[]) {
+                writer.beginArray();
+                for (short value : (short[]) o) writer.value(value);
+                writer.endArray();
+            } else if (o instanceof byte[]) {
+                writer.beginArray();
+                for (byte value : (byte[]) o) writer.value(value);
+                writer.endArray();
+            } else if (o instanceof char[]) {
+                writer.value(new String((char[]) o));
+            } else if (o instanceof Object[]) {
+                ElementWriter elements = new ElementWriter(parser, writer);
+                writer.beginArray();
+                for (Object obj : (Object[]) o)
+                    elements.write(obj);
+                writer.endArray();
+            } else {
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Array Value!");
+            }
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.ARRAY.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an array
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o.getClass().isArray();
+        }
+    }
+
+    public static class MapHandler implements StreamingElementHandler {
+
+        /**
+         * Writes a Map as a JSON Object into a JSON Object
+         * - The keys are written as names, Strings as they are, enums by name and other keys with String.valueOf
+         * - The values are written with the handler inferred for their class
+         *
+         * @param o the Object to convert
+         * @throws ElementTypeException if the Object cannot be converted or has a null key
+         */
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException {
+            if (!(o instanceof Map))
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Map Value!");
+
+            ElementWriter values = new ElementWriter(parser, writer);
+            writer.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) o).entrySet()) {
+                writer.name(nameOf(entry.getKey()));
+                values.write(entry.getValue());
+            }
+            writer.endObject();
+        }
+
+        private static String nameOf(Object key) throws ElementTypeException {
+            if (key instanceof String) return (String) key;
+            if (key instanceof Enum) return ((Enum<?>) key).name();
+            if (key == null) throw new ElementTypeException("A Map with a null key cannot be converted into a JSON Object!");
+            return String.valueOf(key);
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.MAP.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an instance of Map
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o instanceof Map;
+        }
+    }
+
+    public static class JSONAnnotatedHandler implements StreamingElementHandler {
+        /**
+         * Writes a JSONAnnotated Object into a JSON Object
+         *
+         * @param o the Object to convert
+         * @throws JsonSerializationException if the Object cannot be serialized
+         */
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws JsonSerializationException, IOException {
+            parser.writeObject(o, writer);
+        }
+
+        @Override
+        public String getType() {
+            return String.valueOf(JSONType.JSON_ANNOTATED);
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object can be JSONSerialized
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o.getClass().isAnnotationPresent(JsonSerializableObject.class);
+        }
+    }
+
+    public static class EnumerationHandler implements StreamingElementHandler {
+
+        /**
+         * Converts an Enumerated Object into a String for a JSON Object
+         *
+         * @param o the Object to convert
+         * @return the Converted JSON String (quoted Enum Name)
+         * @throws ElementTypeException if the Object cannot be converted
+         */
+        @Override
+        public String handle(Object o) throws ElementTypeException, JsonSerializationException {
+            if (!o.getClass().isEnum())
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Enumerated Value!");
+            return "\"" + ((Enum<?>) o).name() + "\"";
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException {
+            if (!o.getClass().isEnum())
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Enumerated Value!");
+            writer.value(((Enum<?>) o).name());
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.ENUMERATED_STRING.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an Enum
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o.getClass().isEnum();
+        }
+    }
+
+    public static class EnumerationHandlerOrdinal implements StreamingElementHandler {
+
+        /**
+         * Converts a JSONAnnotated Object into a String for a JSON Object
+         *
+         * @param o the Object to convert
+         * @return the Converted JSON String
+         * @throws ElementTypeException if the Object cannot be converted (ordinal)
+         */
+        @Override
+        public String handle(Object o) throws ElementTypeException, JsonSerializationException {
+            if (!o.getClass().isEnum())
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Enumerated Value!");
+            return String.valueOf(((Enum<?>) o).ordinal());
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, IOException {
+            if (!o.getClass().isEnum())
+                throw new ElementTypeException("Type (" + o.getClass().getSimpleName() + ") cannot be casted to Enumerated Value!");
+            writer.value(((Enum<?>) o).ordinal());
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.ENUMERATED_ORDINAL.name();
+        }
+
+        /**
+         * @param o the object to check
+         * @return if the Object is an Enum
+         */
+        @Override
+        public boolean canHandle(Object o) {
+            return o.getClass().isEnum();
+        }
+    }
+}
\ No newline at end of file
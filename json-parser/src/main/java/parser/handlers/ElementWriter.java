@@ -0,0 +1,43 @@
+package parser.handlers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes the elements of a List, array or Map with the handlers of the parser
+ * - The handler is inferred from the class of an element and reused while the class does not change
+ * - Annotated elements are written with the JSON_ANNOTATED handler, so lists of Longs or Strings work like lists of objects
+ */
+final class ElementWriter {
+    private final JSONParser parser;
+    private final JsonWriter writer;
+    private Class<?> type;
+    private ElementHandler handler;
+
+    ElementWriter(JSONParser parser, JsonWriter writer) {
+        this.parser = parser;
+        this.writer = writer;
+    }
+
+    /**
+     * @param element the element, null is written as null
+     */
+    void write(Object element) throws ElementTypeException, JsonSerializationException, IOException {
+        if (element == null) {
+            writer.nullValue();
+            return;
+        }
+        if (element.getClass() != type) {
+            ElementHandler inferred = parser.getHandlers().infer(element);
+            if (inferred == null)
+                throw new ElementTypeException("No handler can handle the Type (" + element.getClass().getSimpleName() + ")");
+            handler = inferred;
+            type = element.getClass();
+        }
+        parser.writeValue(handler, element, writer);
+    }
+}
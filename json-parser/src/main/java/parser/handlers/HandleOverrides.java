@@ -0,0 +1,33 @@
+package parser.handlers;
+
+import parser.JSONParser;
+import parser.io.JsonWriter;
+
+import java.lang.reflect.Method;
+
+/**
+ * Finds handlers which override handle below the class that implements write.
+ * - Such handlers are subclasses of a streaming handler which only changed handle
+ * - The result is cached per handler class
+ */
+final class HandleOverrides {
+    private static final ClassValue<Boolean> OVERRIDDEN = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                Class<?> handle = type.getMethod("handle", Object.class).getDeclaringClass();
+                Class<?> write = type.getMethod("write", Object.class, JsonWriter.class, JSONParser.class).getDeclaringClass();
+                return handle != write && write.isAssignableFrom(handle);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private HandleOverrides() {
+    }
+
+    static boolean isOverridden(Class<?> handlerClass) {
+        return OVERRIDDEN.get(handlerClass);
+    }
+}
@@ -0,0 +1,198 @@
+package parser.handlers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.enums.JSONType;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable set of ElementHandlers, keyed by the type they handle.
+ * - The default handlers are reflected and instantiated once and shared by every parser
+ * - Adding handlers creates a new registry, so a registry can be shared across threads and parsers
+ * - Handlers of a JSONType are found by its ordinal, handlers of a class are inferred once and cached
+ * - The inferred handlers are kept in a ClassValue, so the cache does not keep classes or their ClassLoaders alive
+ *
+ * @see DefaultHandlers
+ */
+public final class HandlerRegistry {
+    private static final JSONType[] TYPES = JSONType.values();
+    private static final HandlerRegistry DEFAULTS = new HandlerRegistry(instantiateDefaults());
+
+    private final Map<String, ElementHandler> handlers;
+    private final ElementHandler[] byType = new ElementHandler[TYPES.length];
+    private final ElementHandler[] inferenceOrder;
+    // the handler can only be inferred from a value, so every class gets a slot which is filled by the first value
+    private final ClassValue<AtomicReference<ElementHandler>> inferred = new ClassValue<>() {
+        @Override
+        protected AtomicReference<ElementHandler> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    private HandlerRegistry(Map<String, ElementHandler> handlers) {
+        handlers.values().removeIf(handler -> handler instanceof AutoHandler);
+        handlers.putIfAbsent(JSONType.AUTO.name(), new AutoHandler(this));
+        this.handlers = Collections.unmodifiableMap(handlers);
+
+        for (JSONType type : TYPES)
+            byType[type.ordinal()] = handlers.get(type.name());
+
+        // handlers of the JSONTypes are asked first in the order of the enum, custom handlers afterwards
+        List<ElementHandler> order = new ArrayList<>();
+        for (JSONType type : TYPES) {
+            ElementHandler handler = byType[type.ordinal()];
+            if (type != JSONType.CUSTOM && type != JSONType.AUTO && handler != null) order.add(handler);
+        }
+        for (Map.Entry<String, ElementHandler> h : handlers.entrySet()) {
+            if (!isJsonType(h.getKey())) order.add(h.getValue());
+        }
+        this.inferenceOrder = order.toArray(new ElementHandler[0]);
+    }
+
+    /**
+     * @return the registry of all handlers in DefaultHandlers
+     */
+    public static HandlerRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param handlers the handlers keyed by their type, the map is copied
+     * @return a registry of the handlers
+     */
+    public static HandlerRegistry of(Map<String, ElementHandler> handlers) {
+        return new HandlerRegistry(new HashMap<>(handlers));
+    }
+
+    /**
+     * @param handlers the handlers to add, they replace handlers of the same type
+     * @return a new registry with the handlers of this one and the added handlers
+     */
+    public HandlerRegistry with(ElementHandler... handlers) {
+        Map<String, ElementHandler> copy = new HashMap<>(this.handlers);
+        for (ElementHandler handler : handlers)
+            copy.put(handler.getType(), handler);
+        return new HandlerRegistry(copy);
+    }
+
+    /**
+     * @param type the type of the handler
+     * @return the handler or null if there is no handler of the type
+     */
+    public ElementHandler get(String type) {
+        return handlers.get(type);
+    }
+
+    /**
+     * @param type the JSONType of the handler, CUSTOM has no handler
+     * @return the handler or null if there is no handler of the type
+     */
+    public ElementHandler get(JSONType type) {
+        return byType[type.ordinal()];
+    }
+
+    /**
+     * Infers the handler of a value, the result is cached for the class of the value
+     *
+     * @param value the value, never null
+     * @return the first handler which can handle the value or null if there is none
+     */
+    public ElementHandler infer(Object value) {
+        AtomicReference<ElementHandler> slot = inferred.get(value.getClass());
+        ElementHandler handler = slot.get();
+        if (handler != null) return handler;
+
+        for (ElementHandler candidate : inferenceOrder) {
+            if (candidate.canHandle(value)) {
+                return slot.compareAndSet(null, candidate) ? candidate : slot.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param handler the handler to check
+     * @return if the handler is an instance of a class in DefaultHandlers
+     */
+    public static boolean isDefault(ElementHandler handler) {
+        ElementHandler defaultHandler = DEFAULTS.handlers.get(handler.getType());
+        return defaultHandler != null && defaultHandler.getClass() == handler.getClass();
+    }
+
+    /**
+     * @return an unmodifiable view of all handlers keyed by their type
+     */
+    public Map<String, ElementHandler> asMap() {
+        return handlers;
+    }
+
+    private static boolean isJsonType(String type) {
+        for (JSONType t : TYPES) {
+            if (t.name().equals(type)) return true;
+        }
+        return false;
+    }
+
+    private static Map<String, ElementHandler> instantiateDefaults() {
+        Map<String, ElementHandler> handlers = new HashMap<>();
+        for (Class<?> clazz : DefaultHandlers.class.getClasses()) {
+            ElementHandler handler = null;
+            try {
+                handler = (ElementHandler) clazz.getDeclaredConstructor().newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                e.printStackTrace();
+            }
+            assert handler != null;
+            handlers.put(handler.getType(), handler);
+        }
+        return handlers;
+    }
+
+    /**
+     * Handler of JSONType.AUTO, writes every value with the handler inferred for its class
+     */
+    private static final class AutoHandler implements StreamingElementHandler {
+        private final HandlerRegistry registry;
+
+        private AutoHandler(HandlerRegistry registry) {
+            this.registry = registry;
+        }
+
+        private ElementHandler handlerOf(Object o) throws ElementTypeException {
+            ElementHandler handler = registry.infer(o);
+            if (handler == null)
+                throw new ElementTypeException("No handler can handle the Type (" + o.getClass().getSimpleName() + ")");
+            return handler;
+        }
+
+        @Override
+        public void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException {
+            parser.writeValue(handlerOf(o), o, writer);
+        }
+
+        @Override
+        public String handle(Object o) throws ElementTypeException, JsonSerializationException {
+            return handlerOf(o).handle(o);
+        }
+
+        @Override
+        public String getType() {
+            return JSONType.AUTO.name();
+        }
+
+        @Override
+        public boolean canHandle(Object o) {
+            return registry.infer(o) != null;
+        }
+    }
+}
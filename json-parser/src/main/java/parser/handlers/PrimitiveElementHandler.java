@@ -0,0 +1,81 @@
+package parser.handlers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Handler which can convert primitive values without boxing them.
+ * - The parser only calls the primitive methods for types accepted by canHandlePrimitive
+ * - Values of all other types are boxed and passed to handle
+ * - The write methods write the result of the handle methods unless they are overridden
+ */
+public interface PrimitiveElementHandler extends ElementHandler {
+    /**
+     * @param type the primitive type of a Field or the return type of a Method
+     * @return if the primitive methods of this handler accept the type
+     */
+    boolean canHandlePrimitive(Class<?> type);
+
+    /**
+     * Handles a long, int, short or byte value
+     *
+     * @return the value for the JSON Object
+     */
+    default String handleLong(long value) throws ElementTypeException, JsonSerializationException {
+        return handle(value);
+    }
+
+    /**
+     * @return the value for the JSON Object
+     */
+    default String handleDouble(double value) throws ElementTypeException, JsonSerializationException {
+        return handle(value);
+    }
+
+    /**
+     * @return the value for the JSON Object
+     */
+    default String handleFloat(float value) throws ElementTypeException, JsonSerializationException {
+        return handle(value);
+    }
+
+    /**
+     * @return the value for the JSON Object
+     */
+    default String handleBoolean(boolean value) throws ElementTypeException, JsonSerializationException {
+        return handle(value);
+    }
+
+    /**
+     * Writes a long, int, short or byte value
+     */
+    default void writeLong(long value, JsonWriter writer) throws ElementTypeException, JsonSerializationException, IOException {
+        writer.rawValue(handleLong(value));
+    }
+
+    default void writeDouble(double value, JsonWriter writer) throws ElementTypeException, JsonSerializationException, IOException {
+        writer.rawValue(handleDouble(value));
+    }
+
+    default void writeFloat(float value, JsonWriter writer) throws ElementTypeException, JsonSerializationException, IOException {
+        writer.rawValue(handleFloat(value));
+    }
+
+    default void writeBoolean(boolean value, JsonWriter writer) throws ElementTypeException, JsonSerializationException, IOException {
+        writer.rawValue(handleBoolean(value));
+    }
+
+    /**
+     * @param handler   the handler of a value
+     * @param valueType the type of the Field or the return type of the Method
+     * @return if the value can be handled with the primitive methods of the handler
+     */
+    static boolean usesPrimitives(ElementHandler handler, Class<?> valueType) {
+        if (!(handler instanceof PrimitiveElementHandler) || !valueType.isPrimitive()) return false;
+        if (handler instanceof StreamingElementHandler && !StreamingElementHandler.usesWrite(handler)) return false;
+        return ((PrimitiveElementHandler) handler).canHandlePrimitive(valueType);
+    }
+}
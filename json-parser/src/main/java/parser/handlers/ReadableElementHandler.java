@@ -0,0 +1,26 @@
+package parser.handlers;
+
+import exceptions.ElementTypeException;
+import parser.JSONParser;
+import parser.io.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * Handler which can also read the values it writes back from a JSON document.
+ * - The parser calls read for elements of its type when an object is deserialized
+ * - The built-in JSONTypes are read by the parser itself, this is needed for CUSTOM types
+ */
+public interface ReadableElementHandler extends ElementHandler {
+    /**
+     * Reads the value of an element, JSON null values are not passed to the handler
+     *
+     * @param reader the reader positioned before the value
+     * @param type   the declared type of the Field
+     * @param parser the parser which reads the document, nested objects can be read with it
+     * @return the value of the element
+     * @throws ElementTypeException if the value cannot be converted into the type
+     * @throws IOException          if the document cannot be read or is malformed
+     */
+    Object read(JsonReader reader, Class<?> type, JSONParser parser) throws ElementTypeException, IOException;
+}
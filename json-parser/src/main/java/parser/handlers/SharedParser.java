@@ -0,0 +1,13 @@
+package parser.handlers;
+
+import parser.JSONParser;
+
+/**
+ * Parser with the default configuration which is used by handlers called outside a parser
+ */
+final class SharedParser {
+    static final JSONParser INSTANCE = new JSONParser();
+
+    private SharedParser() {
+    }
+}
@@ -0,0 +1,54 @@
+package parser.handlers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.io.JsonWriter;
+import parser.io.JsonWriterPool;
+import parser.io.PooledJsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Handler which writes its value directly into a JsonWriter instead of returning a String.
+ * - Nested objects and lists are written with the parser that is passed in
+ * - handle writes into a String with a shared default parser, so the handler can still be used like any other ElementHandler
+ * - A subclass which only overrides handle is called through handle, see usesWrite
+ */
+public interface StreamingElementHandler extends ElementHandler {
+    /**
+     * Writes the value into the JSON document
+     *
+     * @param o      the object to write, never null
+     * @param writer the writer of the document
+     * @param parser the parser which writes the document
+     * @throws ElementTypeException       if the Object cannot be converted
+     * @throws JsonSerializationException if a nested Object cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     */
+    void write(Object o, JsonWriter writer, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException;
+
+    /**
+     * @return the value for the JSON Object
+     */
+    @Override
+    default String handle(Object o) throws ElementTypeException, JsonSerializationException {
+        PooledJsonWriter out = JsonWriterPool.SHARED.acquire(16);
+        try {
+            write(o, out, SharedParser.INSTANCE);
+            return out.toJson();
+        } catch (IOException e) {
+            throw new JsonSerializationException(e.getMessage());
+        } finally {
+            JsonWriterPool.SHARED.release(out);
+        }
+    }
+
+    /**
+     * @param handler the handler to check
+     * @return if the values of the handler are written with write and its primitive write methods
+     */
+    static boolean usesWrite(ElementHandler handler) {
+        return handler instanceof StreamingElementHandler && !HandleOverrides.isOverridden(handler.getClass());
+    }
+}
@@ -0,0 +1,78 @@
+package parser.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * JsonWriter which buffers the characters and writes them to an Appendable in chunks
+ */
+final class AppendableJsonWriter extends TextJsonWriter {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Appendable out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private long flushed;
+
+    AppendableJsonWriter(Appendable out) {
+        this.out = out;
+    }
+
+    @Override
+    public long getWritten() {
+        return flushed + position;
+    }
+
+    @Override
+    protected void write(char c) throws IOException {
+        if (position == buffer.length) flushBuffer();
+        buffer[position++] = c;
+    }
+
+    @Override
+    protected void write(String s) throws IOException {
+        write(s, 0, s.length());
+    }
+
+    @Override
+    protected void write(String s, int start, int end) throws IOException {
+        int offset = start;
+        while (offset < end) {
+            if (position == buffer.length) flushBuffer();
+            int count = Math.min(end - offset, buffer.length - position);
+            s.getChars(offset, offset + count, buffer, position);
+            position += count;
+            offset += count;
+        }
+    }
+
+    @Override
+    protected void write(char[] chars, int offset, int length) throws IOException {
+        if (buffer.length - position < length) flushBuffer();
+        System.arraycopy(chars, offset, buffer, position, length);
+        position += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (out instanceof Flushable) ((Flushable) out).flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (out instanceof Closeable) ((Closeable) out).close();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position == 0) return;
+        if (out instanceof Writer) ((Writer) out).write(buffer, 0, position);
+        else out.append(CharBuffer.wrap(buffer, 0, position));
+        flushed += position;
+        position = 0;
+    }
+}
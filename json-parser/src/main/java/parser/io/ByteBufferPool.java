@@ -0,0 +1,91 @@
+package parser.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe pool of equally sized ByteBuffers.
+ * - Buffers are handed out cleared and can be released from any thread
+ * - At most maxPooled buffers are kept, further released buffers are left to the garbage collector
+ * - The buffers are kept in a fixed array of slots, acquiring and releasing a pooled buffer allocates nothing
+ */
+public final class ByteBufferPool {
+    /**
+     * Pool of heap buffers, used for streams and byte arrays
+     */
+    public static final ByteBufferPool HEAP = new ByteBufferPool(16 * 1024, 256, false);
+
+    /**
+     * Pool of direct buffers, used for channels so they are not copied again by the channel
+     */
+    public static final ByteBufferPool DIRECT = new ByteBufferPool(64 * 1024, 64, true);
+
+    private final int bufferSize;
+    private final boolean direct;
+    private final AtomicReferenceArray<ByteBuffer> slots;
+
+    /**
+     * @param bufferSize the capacity of every buffer
+     * @param maxPooled  the maximum number of buffers which are kept
+     * @param direct     if the buffers are allocated outside of the heap
+     */
+    public ByteBufferPool(int bufferSize, int maxPooled, boolean direct) {
+        if (bufferSize < 16) throw new IllegalArgumentException("The buffer size has to be at least 16 bytes");
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+        this.slots = new AtomicReferenceArray<>(Math.max(0, maxPooled));
+    }
+
+    /**
+     * @return a cleared buffer, either a pooled or a new one
+     */
+    public ByteBuffer acquire() {
+        int n = slots.length();
+        int start = start(n);
+        for (int i = 0; i < n; i++) {
+            int slot = (start + i) % n;
+            if (slots.get(slot) == null) continue;
+            ByteBuffer buffer = slots.getAndSet(slot, null);
+            if (buffer != null) return buffer.clear();
+        }
+        return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Returns a buffer to the pool, buffers of other pools are ignored
+     *
+     * @param buffer the buffer which is not used anymore
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize || buffer.isDirect() != direct || buffer.isReadOnly()) return;
+        int n = slots.length();
+        int start = start(n);
+        for (int i = 0; i < n; i++) {
+            int slot = (start + i) % n;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer)) return;
+        }
+    }
+
+    /**
+     * @return the first slot the current thread looks at, threads are spread over the slots by their id
+     */
+    private static int start(int n) {
+        if (n == 0) return 0;
+        long id = Thread.currentThread().getId();
+        return Math.floorMod(Long.hashCode(id * 0x9E3779B97F4A7C15L), n);
+    }
+
+    /**
+     * @return the capacity of every buffer
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return if the buffers are allocated outside of the heap
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+}
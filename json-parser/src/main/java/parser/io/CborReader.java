@@ -0,0 +1,558 @@
+package parser.io;
+
+import exceptions.JsonParseException;
+import parser.enums.JSONToken;
+import parser.enums.JSONType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static parser.io.CborWriter.*;
+
+/**
+ * JsonReader of a CBOR (RFC 8949) document, like the ones written by CborWriter.
+ * - Maps are read as objects and arrays as arrays, with definite or indefinite length
+ * - Integers and floats (half, single and double precision) are read as numbers without parsing text
+ * - Text strings are decoded into reused chars, so names matched with JsonNames are read without allocating
+ * - Stringref namespaces (tag 256) and stringrefs (tag 25) are resolved, a namespace ends with the next one
+ * - Other tags are ignored, undefined is read as null, byte strings can only be skipped
+ * - Several top-level values, a CBOR sequence, are read one after another
+ * - nextRawValue copies a value into a CBOR document of its own, it cannot be sliced because of the stringrefs
+ *
+ * @see CborWriter
+ */
+public final class CborReader extends JsonReader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAP = 1;
+    private static final int ARRAY = 2;
+
+    private final InputStream in;
+    private byte[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed;
+
+    // the open containers, remaining is the number of items left or -1 for an indefinite length
+    private int[] kinds = new int[32];
+    private long[] remaining = new long[32];
+    private boolean[] keys = new boolean[32];
+    private int depth = 1;
+
+    private JSONToken peeked;
+    private int major;
+    private long argument;
+    private int additional;
+    private String reference;
+
+    private final List<Object> strings = new ArrayList<>();
+    private boolean namespace;
+
+    private char[] chars = new char[64];
+    private int charCount;
+
+    private CborReader(byte[] buffer, int offset, int length, InputStream in) {
+        this.buffer = buffer;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.in = in;
+    }
+
+    /**
+     * @param cbor the encoded document, it is read in place
+     * @return a reader of the document
+     */
+    public static CborReader of(byte[] cbor) {
+        return new CborReader(cbor, 0, cbor.length, null);
+    }
+
+    /**
+     * @param in the stream of the document, it is read through one reused buffer
+     * @return a reader of the document
+     */
+    public static CborReader of(InputStream in) {
+        return new CborReader(new byte[BUFFER_SIZE], 0, 0, in);
+    }
+
+    @Override
+    public JSONToken peek() throws IOException {
+        if (peeked != null) return peeked;
+
+        int d = depth - 1;
+        if (d > 0) {
+            if (remaining[d] == 0) return peeked = (kinds[d] == MAP) ? JSONToken.END_OBJECT : JSONToken.END_ARRAY;
+            if (remaining[d] < 0) {
+                require(1);
+                if ((buffer[pos] & 0xff) == BREAK) {
+                    if (kinds[d] == MAP && !keys[d]) throw syntaxError("The map ends without the value of its last key");
+                    return peeked = (kinds[d] == MAP) ? JSONToken.END_OBJECT : JSONToken.END_ARRAY;
+                }
+            }
+        } else {
+            if (!available(1)) return peeked = JSONToken.END_DOCUMENT;
+            // a namespace only covers the top-level value it is tagged on
+            namespace = false;
+        }
+
+        readHead();
+        boolean key = false;
+        if (d > 0) {
+            if (remaining[d] > 0) remaining[d]--;
+            if (kinds[d] == MAP) {
+                key = keys[d];
+                keys[d] = !key;
+            }
+        }
+
+        if (reference != null) return peeked = key ? JSONToken.NAME : JSONToken.STRING;
+        switch (major) {
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                if (key) throw syntaxError("Only text strings are supported as keys");
+                return peeked = JSONToken.NUMBER;
+            case MAJOR_BYTES:
+                if (key) throw syntaxError("Only text strings are supported as keys");
+                return peeked = JSONToken.STRING;
+            case MAJOR_TEXT:
+                return peeked = key ? JSONToken.NAME : JSONToken.STRING;
+            case MAJOR_ARRAY:
+                return peeked = JSONToken.BEGIN_ARRAY;
+            case MAJOR_MAP:
+                return peeked = JSONToken.BEGIN_OBJECT;
+            default:
+                if (key) throw syntaxError("Only text strings are supported as keys");
+                if (additional == 20 || additional == 21) return peeked = JSONToken.BOOLEAN;
+                if (additional == 22 || additional == 23) return peeked = JSONToken.NULL;
+                if (additional >= 25 && additional <= 27) return peeked = JSONToken.NUMBER;
+                throw syntaxError("Unsupported simple value " + (additional == 24 ? argument : additional));
+        }
+    }
+
+    @Override
+    public JSONType peekType() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NUMBER) return (major == MAJOR_SIMPLE) ? JSONType.DOUBLE : JSONType.INTEGER;
+        return token.getType();
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JSONToken.BEGIN_OBJECT);
+        push(MAP, (additional == INDEFINITE) ? -1 : argument * 2);
+        peeked = null;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JSONToken.END_OBJECT);
+        pop();
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JSONToken.BEGIN_ARRAY);
+        push(ARRAY, (additional == INDEFINITE) ? -1 : argument);
+        peeked = null;
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JSONToken.END_ARRAY);
+        pop();
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        readName();
+        return (reference != null) ? reference : new String(chars, 0, charCount);
+    }
+
+    @Override
+    public int nextName(JsonNames names) throws IOException {
+        readName();
+        return (reference != null) ? names.indexOf(reference) : names.indexOf(chars, charCount);
+    }
+
+    /**
+     * @return the next string, numbers are returned as their decimal representation
+     */
+    @Override
+    public String nextString() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NUMBER) {
+            String number = (major == MAJOR_SIMPLE) ? NumberFormatter.toString(readFloat()) : String.valueOf(readInteger());
+            peeked = null;
+            return number;
+        }
+        expect(JSONToken.STRING);
+        String value = (reference != null) ? reference : readText(true);
+        peeked = null;
+        return value;
+    }
+
+    @Override
+    public int nextString(JsonNames values) throws IOException {
+        expect(JSONToken.STRING);
+        if (reference == null) {
+            if (major == MAJOR_BYTES) throw syntaxError("Byte strings are not supported as values");
+            readText(false);
+        }
+        peeked = null;
+        return (reference != null) ? values.indexOf(reference) : values.indexOf(chars, charCount);
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JSONToken.BOOLEAN);
+        peeked = null;
+        return additional == 21;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JSONToken.NULL);
+        peeked = null;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        expect(JSONToken.NUMBER);
+        long value;
+        if (major == MAJOR_SIMPLE) {
+            double d = readFloat();
+            value = (long) d;
+            if (value != d) throw syntaxError("The number " + d + " does not fit into a long");
+        } else {
+            value = readInteger();
+        }
+        peeked = null;
+        return value;
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        expect(JSONToken.NUMBER);
+        double value = (major == MAJOR_SIMPLE) ? readFloat() : readInteger();
+        peeked = null;
+        return value;
+    }
+
+    /**
+     * Skips the next value, a name is skipped together with its value.
+     * - The strings inside are still read, because they take indexes of the stringref namespace
+     */
+    @Override
+    public void skipValue() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NAME) {
+            readName();
+            token = peek();
+        }
+
+        switch (token) {
+            case BEGIN_OBJECT:
+                beginObject();
+                while (hasNext()) skipValue();
+                endObject();
+                break;
+            case BEGIN_ARRAY:
+                beginArray();
+                while (hasNext()) skipValue();
+                endArray();
+                break;
+            case STRING:
+                if (reference == null) readText(false);
+                peeked = null;
+                break;
+            case NUMBER:
+            case BOOLEAN:
+            case NULL:
+                peeked = null;
+                break;
+            default:
+                throw syntaxError("Expected a value but was " + token);
+        }
+    }
+
+    /**
+     * Reads the next value and encodes it again as a CBOR document of its own
+     * - Stringrefs make the bytes of a value depend on the strings before it, so the value is copied instead of sliced
+     * - The copy is tagged as its own stringref namespace, like a top-level value of CborWriter
+     */
+    @Override
+    public ByteBuffer nextRawValue() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NAME) throw syntaxError("Expected a value but was " + token);
+        CborWriter copy = CborWriter.toMemory();
+        copy.transcode(this);
+        return ByteBuffer.wrap(copy.toByteArray());
+    }
+
+    @Override
+    public void skipRemaining() throws IOException {
+        if (depth == 1) throw new IllegalStateException("No object or array is open");
+        while (hasNext()) skipValue();
+        if (kinds[depth - 1] == MAP) endObject();
+        else endArray();
+    }
+
+    @Override
+    public long getOffset() {
+        return consumed + pos;
+    }
+
+    /**
+     * Closes the stream the document is read from
+     */
+    @Override
+    public void close() throws IOException {
+        if (in != null) in.close();
+    }
+
+    /**
+     * Reads the initial byte and the argument of the next data item, tags are consumed on the way
+     */
+    private void readHead() throws IOException {
+        reference = null;
+        while (true) {
+            require(1);
+            int initial = buffer[pos++] & 0xff;
+            major = initial >>> 5;
+            additional = initial & 0x1f;
+            argument = readArgument(additional);
+            if (major != MAJOR_TAG) return;
+
+            if (argument == TAG_STRINGREF_NAMESPACE) {
+                strings.clear();
+                namespace = true;
+            } else if (argument == TAG_STRINGREF) {
+                require(1);
+                int head = buffer[pos++] & 0xff;
+                if (head >>> 5 != MAJOR_UNSIGNED) throw syntaxError("A stringref needs an unsigned index");
+                long index = readArgument(head & 0x1f);
+                if (!namespace || index < 0 || index >= strings.size()) throw syntaxError("Unknown stringref " + index);
+                Object string = strings.get((int) index);
+                if (!(string instanceof String)) throw syntaxError("The stringref " + index + " is no text string");
+                reference = (String) string;
+                major = MAJOR_TEXT;
+                return;
+            }
+        }
+    }
+
+    private long readArgument(int additional) throws IOException {
+        if (additional < 24) return additional;
+        switch (additional) {
+            case 24:
+                require(1);
+                return buffer[pos++] & 0xff;
+            case 25:
+                require(2);
+                return readBytes(2);
+            case 26:
+                require(4);
+                return readBytes(4);
+            case 27:
+                require(8);
+                return readBytes(8);
+            case INDEFINITE:
+                if (major == MAJOR_UNSIGNED || major == MAJOR_NEGATIVE || major == MAJOR_TAG)
+                    throw syntaxError("Integers and tags have no indefinite length");
+                return -1;
+            default:
+                throw syntaxError("Reserved additional information " + additional);
+        }
+    }
+
+    private long readBytes(int count) {
+        long value = 0;
+        for (int i = 0; i < count; i++) value = value << 8 | (buffer[pos++] & 0xff);
+        return value;
+    }
+
+    private long readInteger() throws IOException {
+        if (argument < 0) throw syntaxError("The integer does not fit into a long");
+        return (major == MAJOR_NEGATIVE) ? -1 - argument : argument;
+    }
+
+    private double readFloat() {
+        switch (additional) {
+            case 25:
+                return halfToFloat((int) argument);
+            case 26:
+                return Float.intBitsToFloat((int) argument);
+            default:
+                return Double.longBitsToDouble(argument);
+        }
+    }
+
+    private static float halfToFloat(int half) {
+        int exponent = (half >>> 10) & 0x1f;
+        int mantissa = half & 0x3ff;
+        float value;
+        if (exponent == 0) value = mantissa * 0x1p-24f;
+        else if (exponent == 31) value = (mantissa == 0) ? Float.POSITIVE_INFINITY : Float.NaN;
+        else value = (mantissa + 1024) * (float) Math.scalb(1.0, exponent - 25);
+        return ((half & 0x8000) != 0) ? -value : value;
+    }
+
+    private void readName() throws IOException {
+        JSONToken token = peek();
+        if (token != JSONToken.NAME && (token != JSONToken.STRING || depth != 1))
+            throw syntaxError("Expected " + JSONToken.NAME + " but was " + token);
+        if (reference == null) readText(false);
+        peeked = null;
+    }
+
+    /**
+     * Reads the text or byte string of the current head into chars and adds it to the stringref namespace
+     *
+     * @param create if a String of a text string is needed
+     * @return the String if one was created
+     */
+    private String readText(boolean create) throws IOException {
+        if (major == MAJOR_BYTES) {
+            if (create) throw syntaxError("Byte strings are not supported as values");
+            skipBytes();
+            return null;
+        }
+        charCount = 0;
+        long length = 0;
+        if (additional == INDEFINITE) {
+            while (true) {
+                require(1);
+                int head = buffer[pos++] & 0xff;
+                if (head == BREAK) break;
+                if (head >>> 5 != MAJOR_TEXT || (head & 0x1f) == INDEFINITE) throw syntaxError("Expected a chunk of a text string");
+                long chunk = readArgument(head & 0x1f);
+                decode(chunk);
+                length += chunk;
+            }
+        } else {
+            length = argument;
+            decode(length);
+        }
+
+        String value = null;
+        boolean referenced = namespace && isReferenced((int) Math.min(length, Integer.MAX_VALUE), strings.size());
+        if (create || referenced) value = new String(chars, 0, charCount);
+        if (referenced) strings.add(value);
+        return value;
+    }
+
+    private void skipBytes() throws IOException {
+        long length = 0;
+        if (additional == INDEFINITE) {
+            while (true) {
+                require(1);
+                int head = buffer[pos++] & 0xff;
+                if (head == BREAK) break;
+                if (head >>> 5 != MAJOR_BYTES || (head & 0x1f) == INDEFINITE) throw syntaxError("Expected a chunk of a byte string");
+                long chunk = readArgument(head & 0x1f);
+                require(checkedLength(chunk));
+                pos += (int) chunk;
+                length += chunk;
+            }
+        } else {
+            length = argument;
+            require(checkedLength(length));
+            pos += (int) length;
+        }
+        if (namespace && isReferenced((int) Math.min(length, Integer.MAX_VALUE), strings.size())) strings.add(new byte[0]);
+    }
+
+    /**
+     * Decodes UTF-8 bytes and appends the chars
+     */
+    private void decode(long length) throws IOException {
+        int n = checkedLength(length);
+        require(n);
+        if (chars.length - charCount < n) chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + n));
+
+        byte[] b = buffer;
+        char[] c = chars;
+        int p = pos;
+        int end = pos + n;
+        int count = charCount;
+        while (p < end) {
+            int x = b[p++];
+            if (x >= 0) {
+                c[count++] = (char) x;
+            } else if ((x & 0xe0) == 0xc0 && p < end) {
+                c[count++] = (char) ((x & 0x1f) << 6 | (b[p++] & 0x3f));
+            } else if ((x & 0xf0) == 0xe0 && p + 1 < end) {
+                c[count++] = (char) ((x & 0x0f) << 12 | (b[p] & 0x3f) << 6 | (b[p + 1] & 0x3f));
+                p += 2;
+            } else if ((x & 0xf8) == 0xf0 && p + 2 < end) {
+                int codePoint = (x & 0x07) << 18 | (b[p] & 0x3f) << 12 | (b[p + 1] & 0x3f) << 6 | (b[p + 2] & 0x3f);
+                c[count++] = Character.highSurrogate(codePoint);
+                c[count++] = Character.lowSurrogate(codePoint);
+                p += 3;
+            } else {
+                throw syntaxError("Malformed UTF-8 in a text string");
+            }
+        }
+        pos = end;
+        charCount = count;
+    }
+
+    private int checkedLength(long length) throws JsonParseException {
+        if (length < 0 || length > Integer.MAX_VALUE - 16) throw syntaxError("The length " + length + " is too large");
+        return (int) length;
+    }
+
+    private void expect(JSONToken token) throws IOException {
+        JSONToken actual = peek();
+        if (actual != token) throw syntaxError("Expected " + token + " but was " + actual);
+    }
+
+    private void push(int kind, long items) {
+        if (depth == kinds.length) {
+            kinds = Arrays.copyOf(kinds, depth * 2);
+            remaining = Arrays.copyOf(remaining, depth * 2);
+            keys = Arrays.copyOf(keys, depth * 2);
+        }
+        kinds[depth] = kind;
+        remaining[depth] = items;
+        keys[depth] = true;
+        depth++;
+    }
+
+    private void pop() {
+        if (remaining[depth - 1] < 0) pos++;
+        depth--;
+        peeked = null;
+    }
+
+    /**
+     * @return if the bytes are available, the buffer is refilled from the stream if needed
+     */
+    private boolean available(int count) throws IOException {
+        if (limit - pos >= count) return true;
+        if (in == null) return false;
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            consumed += pos;
+            limit -= pos;
+            pos = 0;
+        }
+        if (buffer.length < count) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count));
+        while (limit < count) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) return false;
+            limit += read;
+        }
+        return true;
+    }
+
+    private void require(int count) throws IOException {
+        if (!available(count)) throw syntaxError("Unexpected end of the document");
+    }
+
+    private JsonParseException syntaxError(String message) {
+        return new JsonParseException(message + " at offset " + getOffset());
+    }
+}
@@ -0,0 +1,419 @@
+package parser.io;
+
+import parser.enums.JSONToken;
+import parser.enums.JSONType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JsonWriter which encodes the document as CBOR (RFC 8949) instead of JSON text.
+ * - Objects and arrays are written with indefinite length, so they can be streamed like JSON
+ * - Integers are written as major type 0 or 1 with the shortest argument, doubles as float32 if that keeps their value
+ * - Primitive arrays are written with a definite length and encoded in bulk
+ * - Every top-level value is tagged as a stringref namespace (tag 256), repeated names are written as stringrefs (tag 25)
+ * - Top-level values follow each other as a CBOR sequence (RFC 8742), newLine writes nothing
+ * - Raw JSON of handlers and cached fragments is transcoded token by token
+ *
+ * @see CborReader
+ */
+public final class CborWriter extends JsonWriter {
+    static final int MAJOR_UNSIGNED = 0;
+    static final int MAJOR_NEGATIVE = 1;
+    static final int MAJOR_BYTES = 2;
+    static final int MAJOR_TEXT = 3;
+    static final int MAJOR_ARRAY = 4;
+    static final int MAJOR_MAP = 5;
+    static final int MAJOR_TAG = 6;
+    static final int MAJOR_SIMPLE = 7;
+
+    static final int TAG_STRINGREF = 25;
+    static final int TAG_STRINGREF_NAMESPACE = 256;
+    static final int INDEFINITE = 31;
+    static final int BREAK = 0xff;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private long drained;
+    private int depth;
+
+    private final Map<String, Integer> names = new HashMap<>();
+    private int strings;
+
+    private CborWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @param out the stream the document is written to
+     * @return the writer
+     */
+    public static CborWriter toStream(OutputStream out) {
+        return new CborWriter(out);
+    }
+
+    /**
+     * @return a writer which keeps the document until toByteArray is called
+     */
+    public static CborWriter toMemory() {
+        return new CborWriter(null);
+    }
+
+    /**
+     * @return the encoded document of a writer created with toMemory
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    @Override
+    public long getWritten() {
+        return drained + position;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        beforeItem();
+        writeByte(MAJOR_MAP << 5 | INDEFINITE);
+        depth++;
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        writeByte(BREAK);
+        depth--;
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        beforeItem();
+        writeByte(MAJOR_ARRAY << 5 | INDEFINITE);
+        depth++;
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        writeByte(BREAK);
+        depth--;
+        return this;
+    }
+
+    /**
+     * Writes a name as a text string, a name which was written before in the namespace as a stringref
+     */
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        beforeItem();
+        Integer index = names.get(name);
+        if (index != null) {
+            writeHead(MAJOR_TAG, TAG_STRINGREF);
+            writeHead(MAJOR_UNSIGNED, index);
+            return this;
+        }
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        if (isReferenced(utf8.length, strings)) names.put(name, strings);
+        writeText(utf8);
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(JsonKey key) throws IOException {
+        return name(key.getName());
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) return nullValue();
+        beforeItem();
+        writeText(value.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        beforeItem();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        beforeItem();
+        writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(float value) throws IOException {
+        beforeItem();
+        require(5);
+        buffer[position++] = (byte) (MAJOR_SIMPLE << 5 | 26);
+        putInt(Float.floatToIntBits(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        beforeItem();
+        writeByte(value ? 0xf5 : 0xf4);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        beforeItem();
+        writeByte(0xf6);
+        return this;
+    }
+
+    @Override
+    public JsonWriter array(int[] values) throws IOException {
+        beforeItem();
+        writeHead(MAJOR_ARRAY, values.length);
+        for (int value : values) writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter array(long[] values) throws IOException {
+        beforeItem();
+        writeHead(MAJOR_ARRAY, values.length);
+        for (long value : values) writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter array(double[] values) throws IOException {
+        beforeItem();
+        writeHead(MAJOR_ARRAY, values.length);
+        for (double value : values) writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter array(float[] values) throws IOException {
+        beforeItem();
+        writeHead(MAJOR_ARRAY, values.length);
+        for (float value : values) {
+            require(5);
+            buffer[position++] = (byte) (MAJOR_SIMPLE << 5 | 26);
+            putInt(Float.floatToIntBits(value));
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter array(boolean[] values) throws IOException {
+        beforeItem();
+        writeHead(MAJOR_ARRAY, values.length);
+        for (boolean value : values) writeByte(value ? 0xf5 : 0xf4);
+        return this;
+    }
+
+    /**
+     * Transcodes a JSON value into CBOR
+     *
+     * @param json the JSON of exactly one value
+     * @throws IOException if the JSON is malformed or contains more than one value
+     */
+    @Override
+    public JsonWriter rawValue(String json) throws IOException {
+        transcodeValue(JsonReader.of(json.getBytes(StandardCharsets.UTF_8)));
+        return this;
+    }
+
+    @Override
+    public JsonWriter rawValue(JsonFragment fragment) throws IOException {
+        transcodeValue(JsonReader.of(fragment.utf8()));
+        return this;
+    }
+
+    /**
+     * Top-level values of a CBOR sequence need no separator
+     */
+    @Override
+    public JsonWriter newLine() {
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (out != null) out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (out != null) out.close();
+    }
+
+    /**
+     * Copies the only value of a JSON document, trailing values are rejected instead of being dropped
+     */
+    private void transcodeValue(JsonReader reader) throws IOException {
+        transcode(reader);
+        JSONToken trailing = reader.peek();
+        if (trailing != JSONToken.END_DOCUMENT) throw new IOException("Expected one JSON value but it is followed by " + trailing);
+    }
+
+    /**
+     * Copies the next value of a reader, numbers keep whether they are integral
+     */
+    void transcode(JsonReader reader) throws IOException {
+        JSONToken token = reader.peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                beginObject();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    name(reader.nextName());
+                    transcode(reader);
+                }
+                reader.endObject();
+                endObject();
+                break;
+            case BEGIN_ARRAY:
+                beginArray();
+                reader.beginArray();
+                while (reader.hasNext()) transcode(reader);
+                reader.endArray();
+                endArray();
+                break;
+            case STRING:
+                value(reader.nextString());
+                break;
+            case NUMBER:
+                if (reader.peekType() == JSONType.INTEGER) value(reader.nextLong());
+                else value(reader.nextDouble());
+                break;
+            case BOOLEAN:
+                value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                nullValue();
+                break;
+            default:
+                throw new IOException("Expected a value but was " + token);
+        }
+    }
+
+    /**
+     * Starts a stringref namespace before every top-level value
+     */
+    private void beforeItem() throws IOException {
+        if (depth != 0) return;
+        names.clear();
+        strings = 0;
+        writeHead(MAJOR_TAG, TAG_STRINGREF_NAMESPACE);
+    }
+
+    /**
+     * @return if a string of the length gets the index in the namespace, so a stringref is never longer than the string
+     */
+    static boolean isReferenced(int length, long index) {
+        if (index < 24) return length >= 3;
+        if (index < 256) return length >= 4;
+        if (index < 65536) return length >= 5;
+        if (index < 4294967296L) return length >= 7;
+        return length >= 11;
+    }
+
+    private void writeText(byte[] utf8) throws IOException {
+        if (isReferenced(utf8.length, strings)) strings++;
+        writeHead(MAJOR_TEXT, utf8.length);
+        require(utf8.length);
+        System.arraycopy(utf8, 0, buffer, position, utf8.length);
+        position += utf8.length;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value < 0) writeHead(MAJOR_NEGATIVE, -1 - value);
+        else writeHead(MAJOR_UNSIGNED, value);
+    }
+
+    private void writeDouble(double value) throws IOException {
+        float narrow = (float) value;
+        if (narrow == value || value != value) {
+            require(5);
+            buffer[position++] = (byte) (MAJOR_SIMPLE << 5 | 26);
+            putInt(Float.floatToIntBits(narrow));
+        } else {
+            require(9);
+            buffer[position++] = (byte) (MAJOR_SIMPLE << 5 | 27);
+            putLong(Double.doubleToLongBits(value));
+        }
+    }
+
+    /**
+     * Writes the initial byte and the argument of a data item with the shortest encoding
+     */
+    private void writeHead(int major, long argument) throws IOException {
+        require(9);
+        int type = major << 5;
+        byte[] b = buffer;
+        if (argument < 24) {
+            b[position++] = (byte) (type | argument);
+        } else if (argument < 0x100) {
+            b[position++] = (byte) (type | 24);
+            b[position++] = (byte) argument;
+        } else if (argument < 0x10000) {
+            b[position++] = (byte) (type | 25);
+            b[position++] = (byte) (argument >>> 8);
+            b[position++] = (byte) argument;
+        } else if (argument < 0x100000000L) {
+            b[position++] = (byte) (type | 26);
+            putInt((int) argument);
+        } else {
+            b[position++] = (byte) (type | 27);
+            putLong(argument);
+        }
+    }
+
+    private void putInt(int value) {
+        byte[] b = buffer;
+        int p = position;
+        b[p] = (byte) (value >>> 24);
+        b[p + 1] = (byte) (value >>> 16);
+        b[p + 2] = (byte) (value >>> 8);
+        b[p + 3] = (byte) value;
+        position = p + 4;
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    private void writeByte(int value) throws IOException {
+        require(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Makes room for a number of bytes, by draining into the stream or by growing the buffer in memory
+     */
+    private void require(int length) throws IOException {
+        if (buffer.length - position >= length) return;
+        drain();
+        if (buffer.length - position < length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+    }
+
+    private void drain() throws IOException {
+        if (out == null || position == 0) return;
+        out.write(buffer, 0, position);
+        drained += position;
+        position = 0;
+    }
+}
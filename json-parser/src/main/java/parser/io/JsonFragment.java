@@ -0,0 +1,56 @@
+package parser.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A complete JSON value which was serialized once and is written many times.
+ * - The JSON is kept as characters and as UTF-8 bytes, so every writer splices it without encoding it again
+ * - The JSON is trusted, it is neither validated nor escaped when it is written
+ *
+ * @see JsonWriter#rawValue(JsonFragment)
+ */
+public final class JsonFragment {
+    private final String json;
+    private final byte[] utf8;
+    private final boolean ascii;
+
+    private JsonFragment(String json) {
+        this.json = json;
+        this.utf8 = json.getBytes(StandardCharsets.UTF_8);
+        this.ascii = StringEscaper.isAscii(json);
+    }
+
+    /**
+     * @param json the serialized value
+     * @return the fragment of the value
+     */
+    public static JsonFragment of(CharSequence json) {
+        return new JsonFragment(json.toString());
+    }
+
+    /**
+     * @return the serialized value
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * @return if the value only contains ASCII characters, otherwise it cannot be written by writers which escape non-ASCII
+     */
+    public boolean isAscii() {
+        return ascii;
+    }
+
+    /**
+     * @return the UTF-8 encoded value
+     */
+    byte[] utf8() {
+        return utf8;
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
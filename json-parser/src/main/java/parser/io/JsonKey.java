@@ -0,0 +1,72 @@
+package parser.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Name of a JSON element which is encoded once and written many times.
+ * - The escaped and quoted name with the colon is prepared up front, also as UTF-8 bytes
+ *
+ * @see JsonWriter#name(JsonKey)
+ */
+public final class JsonKey {
+    private final String name;
+    private final String fragment;
+    private final byte[] utf8;
+    private final boolean ascii;
+
+    private JsonKey(String name) {
+        StringBuilder out = new StringBuilder(name.length() + 3);
+        try {
+            JsonWriter.of(out).value(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.name = name;
+        this.fragment = out.append(':').toString();
+        this.utf8 = fragment.getBytes(StandardCharsets.UTF_8);
+        this.ascii = StringEscaper.isAscii(fragment);
+    }
+
+    /**
+     * @param name the name which is escaped
+     * @return the key of the name
+     */
+    public static JsonKey of(String name) {
+        return new JsonKey(name);
+    }
+
+    /**
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the escaped fragment, like: "name":
+     */
+    String fragment() {
+        return fragment;
+    }
+
+    /**
+     * @return if the name only contains ASCII characters
+     */
+    boolean isAscii() {
+        return ascii;
+    }
+
+    /**
+     * @return the UTF-8 encoded fragment, like: "name":
+     */
+    byte[] utf8() {
+        return utf8;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,111 @@
+package parser.io;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Set of known names which are matched while a document is read, without creating Strings.
+ * - The names are placed with a perfect hash, a lookup is one hash over the read characters and one comparison
+ * - The index of a name is its position in the array it was created with
+ *
+ * @see JsonReader#nextName(JsonNames)
+ */
+public final class JsonNames {
+    private static final int MAX_SEEDS = 64;
+    private static final int MAX_BITS = 24;
+
+    private final String[] names;
+    private final char[][] chars;
+    private final int[] slots;
+    private final int seed;
+    private final int shift;
+
+    private JsonNames(String[] names) {
+        this.names = names;
+        this.chars = new char[names.length][];
+        for (int i = 0; i < names.length; i++) chars[i] = names[i].toCharArray();
+
+        // grow the table until a seed places every name into its own slot
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, names.length * 2 - 1));
+        int candidate = 0;
+        int[] table = null;
+        search:
+        while (true) {
+            for (int attempt = 0; attempt < MAX_SEEDS; attempt++) {
+                candidate = 0x9e3779b9 + attempt * 0x7f4a7c16 | 1;
+                table = place(candidate, bits);
+                if (table != null) break search;
+            }
+            if (++bits > MAX_BITS) throw new IllegalArgumentException("The names cannot be placed into a table");
+        }
+        this.slots = table;
+        this.seed = candidate;
+        this.shift = 32 - bits;
+    }
+
+    /**
+     * @param names the names, they have to be distinct
+     * @return the set of the names
+     */
+    public static JsonNames of(String... names) {
+        if (new HashSet<>(Arrays.asList(names)).size() != names.length)
+            throw new IllegalArgumentException("The names have to be distinct");
+        return new JsonNames(names.clone());
+    }
+
+    /**
+     * @return the number of names
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param index the index of the name
+     * @return the name
+     */
+    public String get(int index) {
+        return names[index];
+    }
+
+    /**
+     * @param name the name
+     * @return the index of the name or -1 if it is not in the set
+     */
+    public int indexOf(String name) {
+        return indexOf(name.toCharArray(), name.length());
+    }
+
+    /**
+     * @return the index of the name in the first length characters or -1 if it is not in the set
+     */
+    int indexOf(char[] name, int length) {
+        if (names.length == 0) return -1;
+        int index = slots[slot(name, length, seed, shift)];
+        if (index < 0) return -1;
+        char[] candidate = chars[index];
+        if (candidate.length != length) return -1;
+        for (int i = 0; i < length; i++) {
+            if (candidate[i] != name[i]) return -1;
+        }
+        return index;
+    }
+
+    private static int slot(char[] name, int length, int seed, int shift) {
+        int hash = seed;
+        for (int i = 0; i < length; i++) hash = (hash + name[i]) * seed;
+        hash ^= hash >>> 16;
+        return (hash * 0x85ebca6b) >>> shift;
+    }
+
+    private int[] place(int candidate, int bits) {
+        int[] table = new int[1 << bits];
+        Arrays.fill(table, -1);
+        for (int i = 0; i < names.length; i++) {
+            int slot = slot(chars[i], chars[i].length, candidate, 32 - bits);
+            if (table[slot] != -1) return null;
+            table[slot] = i;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,256 @@
+package parser.io;
+
+import exceptions.JsonParseException;
+import parser.enums.JSONToken;
+import parser.enums.JSONType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/**
+ * Reads a document token by token, the ObjectReader and JsonPath only see these tokens.
+ * - Names may also be read outside of an object, like the KEY_VALUE_PAIR response writes them
+ * - JSON text is read by TextJsonReader, which the factories of this class create
+ * - Other formats implement the tokens on their own, like CborReader
+ *
+ * @see #of(byte[])
+ * @see TextJsonReader
+ * @see CborReader
+ */
+public abstract class JsonReader implements Closeable {
+    /**
+     * @param json the UTF-8 encoded document, it is read in place
+     * @return a reader of the document
+     */
+    public static JsonReader of(byte[] json) {
+        return new TextJsonReader(json, 0, json.length, null);
+    }
+
+    /**
+     * @param json   the UTF-8 encoded document, it is read in place
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return a reader of the document
+     */
+    public static JsonReader of(byte[] json, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, json.length);
+        return new TextJsonReader(json, offset, length, null);
+    }
+
+    /**
+     * @param json the UTF-8 encoded document from its position to its limit, heap buffers are read in place
+     * @return a reader of the document, the position of the buffer is not changed
+     */
+    public static JsonReader of(ByteBuffer json) {
+        if (json.hasArray()) return new TextJsonReader(json.array(), json.arrayOffset() + json.position(), json.remaining(), null);
+
+        ByteBuffer slice = json.slice();
+        return new TextJsonReader(new byte[TextJsonReader.BUFFER_SIZE], 0, 0, (b, offset, length) -> {
+            if (!slice.hasRemaining()) return -1;
+            int count = Math.min(length, slice.remaining());
+            slice.get(b, offset, count);
+            return count;
+        });
+    }
+
+    /**
+     * @param in the stream of the UTF-8 encoded document
+     * @return a reader of the document, close closes the stream
+     */
+    public static JsonReader of(InputStream in) {
+        return new TextJsonReader(new byte[TextJsonReader.BUFFER_SIZE], 0, 0, new TextJsonReader.Source() {
+            @Override
+            public int read(byte[] b, int offset, int length) throws IOException {
+                return in.read(b, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        });
+    }
+
+    /**
+     * @param in the channel of the UTF-8 encoded document
+     * @return a reader of the document, close closes the channel
+     */
+    public static JsonReader of(ReadableByteChannel in) {
+        return new TextJsonReader(new byte[TextJsonReader.BUFFER_SIZE], 0, 0, new TextJsonReader.Source() {
+            @Override
+            public int read(byte[] b, int offset, int length) throws IOException {
+                int read;
+                do {
+                    read = in.read(ByteBuffer.wrap(b, offset, length));
+                } while (read == 0);
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        });
+    }
+
+    /**
+     * @param in the document, its characters are encoded into UTF-8 while they are read
+     * @return a reader of the document, close closes the Reader
+     */
+    public static JsonReader of(Reader in) {
+        return new TextJsonReader(new byte[TextJsonReader.BUFFER_SIZE], 0, 0, new TextJsonReader.ReaderSource(in));
+    }
+
+    /**
+     * @return the next token without consuming it
+     * @throws IOException if the document cannot be read or is malformed
+     */
+    public abstract JSONToken peek() throws IOException;
+
+    /**
+     * @return the JSONType of the next value, INTEGER or DOUBLE for numbers, null for null and tokens which are no value
+     * @throws IOException if the document cannot be read or is malformed
+     */
+    public abstract JSONType peekType() throws IOException;
+
+    /**
+     * @return if the current object or array has another element
+     * @throws IOException if the document cannot be read or is malformed
+     */
+    public boolean hasNext() throws IOException {
+        JSONToken token = peek();
+        return token != JSONToken.END_OBJECT && token != JSONToken.END_ARRAY && token != JSONToken.END_DOCUMENT;
+    }
+
+    /**
+     * @throws IOException if the next token is not the beginning of an object
+     */
+    public abstract void beginObject() throws IOException;
+
+    /**
+     * @throws IOException if the next token is not the end of an object
+     */
+    public abstract void endObject() throws IOException;
+
+    /**
+     * @throws IOException if the next token is not the beginning of an array
+     */
+    public abstract void beginArray() throws IOException;
+
+    /**
+     * @throws IOException if the next token is not the end of an array
+     */
+    public abstract void endArray() throws IOException;
+
+    /**
+     * @return the next name
+     * @throws IOException if the next token is not a name
+     */
+    public abstract String nextName() throws IOException;
+
+    /**
+     * Reads the next name and finds it in a set of known names without creating a String
+     *
+     * @param names the known names
+     * @return the index of the name in the set or -1 if it is unknown
+     * @throws IOException if the next token is not a name
+     */
+    public abstract int nextName(JsonNames names) throws IOException;
+
+    /**
+     * @return the next string, numbers are returned as their literal
+     * @throws IOException if the next token is not a string or a number
+     */
+    public abstract String nextString() throws IOException;
+
+    /**
+     * Reads the next string and finds it in a set of known strings without creating a String, like the names of enum constants
+     *
+     * @param values the known strings
+     * @return the index of the string in the set or -1 if it is unknown
+     * @throws IOException if the next token is not a string
+     */
+    public abstract int nextString(JsonNames values) throws IOException;
+
+    /**
+     * @return the next boolean
+     * @throws IOException if the next token is not a boolean
+     */
+    public abstract boolean nextBoolean() throws IOException;
+
+    /**
+     * @throws IOException if the next token is not null
+     */
+    public abstract void nextNull() throws IOException;
+
+    /**
+     * @return the next number as a long
+     * @throws IOException if the next token is not a number which fits into a long without losing its fraction
+     */
+    public abstract long nextLong() throws IOException;
+
+    /**
+     * @return the next number as an int
+     * @throws IOException if the next token is not a number which fits into an int
+     */
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if ((int) value != value) throw new JsonParseException("The number " + value + " does not fit into an int at offset " + getOffset());
+        return (int) value;
+    }
+
+    /**
+     * @return the next number as a double
+     * @throws IOException if the next token is not a number
+     */
+    public abstract double nextDouble() throws IOException;
+
+    /**
+     * @return the next number as a float, readers which can round it directly override this
+     * @throws IOException if the next token is not a number
+     */
+    public float nextFloat() throws IOException {
+        return (float) nextDouble();
+    }
+
+    /**
+     * Skips the next value, a name is skipped together with its value
+     *
+     * @throws IOException if the document cannot be read or there is no value to skip
+     */
+    public abstract void skipValue() throws IOException;
+
+    /**
+     * Reads the next value as a self-contained document in the encoding of the reader, without building objects for it
+     *
+     * @return the bytes of the value
+     * @throws IOException if the document cannot be read or there is no value
+     */
+    public abstract ByteBuffer nextRawValue() throws IOException;
+
+    /**
+     * Skips the remaining names and values of the current object or elements of the current array, including its end
+     *
+     * @throws IOException           if the document cannot be read or is malformed
+     * @throws IllegalStateException if no object or array is open
+     */
+    public abstract void skipRemaining() throws IOException;
+
+    /**
+     * @return the number of bytes read before the next token
+     */
+    public abstract long getOffset();
+
+    /**
+     * Closes the source the document is read from, documents which are read in place have none
+     *
+     * @throws IOException if it cannot be closed
+     */
+    @Override
+    public abstract void close() throws IOException;
+}
@@ -0,0 +1,261 @@
+package parser.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a document token by token, handlers and serializers only see these tokens.
+ * - Names may also be written outside of an object, like the KEY_VALUE_PAIR response does
+ * - JSON text is written by the subclasses of TextJsonWriter, which insert the commas and escape strings
+ * - Other formats implement the tokens on their own, like CborWriter
+ *
+ * @see #of(Appendable)
+ * @see TextJsonWriter
+ * @see CborWriter
+ */
+public abstract class JsonWriter implements Flushable, Closeable {
+    private boolean escapeNonAscii;
+
+    /**
+     * @param out the sink, a StringBuilder is appended to directly
+     * @return a writer which writes into the sink
+     */
+    public static JsonWriter of(Appendable out) {
+        if (out instanceof StringBuilder) return new StringBuilderJsonWriter((StringBuilder) out);
+        return new AppendableJsonWriter(out);
+    }
+
+    /**
+     * @param out the stream the UTF-8 encoded document is written to
+     * @return a writer which writes into the stream, it has to be flushed or closed
+     */
+    public static JsonWriter of(OutputStream out) {
+        return Utf8JsonWriter.toStream(out, ByteBufferPool.HEAP);
+    }
+
+    /**
+     * @param out the channel the UTF-8 encoded document is written to
+     * @return a writer which writes into the channel, it has to be flushed or closed
+     */
+    public static JsonWriter of(WritableByteChannel out) {
+        return Utf8JsonWriter.toChannel(out, ByteBufferPool.DIRECT);
+    }
+
+    /**
+     * Enables or disables the escaping of all characters above ASCII, so the document is pure ASCII
+     * - Writers of binary formats write every character as it is
+     *
+     * @param escapeNonAscii if characters above ASCII are written as backslash-u sequences
+     */
+    public void setEscapeNonAscii(boolean escapeNonAscii) {
+        this.escapeNonAscii = escapeNonAscii;
+    }
+
+    /**
+     * @return if characters above ASCII are written as backslash-u sequences
+     */
+    public boolean isEscapeNonAscii() {
+        return escapeNonAscii;
+    }
+
+    /**
+     * @return the number of characters, or bytes for UTF-8 and binary writers, written so far, -1 if the writer does not count them
+     */
+    public long getWritten() {
+        return -1;
+    }
+
+    /**
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter beginObject() throws IOException;
+
+    /**
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter endObject() throws IOException;
+
+    /**
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter beginArray() throws IOException;
+
+    /**
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter endArray() throws IOException;
+
+    /**
+     * Writes the name of the next value, like: "name":
+     *
+     * @param name the name which is escaped
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter name(String name) throws IOException;
+
+    /**
+     * Writes the name of the next value, like: "name":
+     *
+     * @param key the prepared name
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter name(JsonKey key) throws IOException;
+
+    /**
+     * @param value the string which is escaped and written in quotes or null
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter value(String value) throws IOException;
+
+    /**
+     * @param value the integer value
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter value(long value) throws IOException;
+
+    /**
+     * @param value the double value
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter value(double value) throws IOException;
+
+    /**
+     * @param value the float value
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter value(float value) throws IOException;
+
+    /**
+     * @param value the boolean value
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter value(boolean value) throws IOException;
+
+    /**
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter nullValue() throws IOException;
+
+    /**
+     * Writes an array of integers, writers which can encode it in bulk override this
+     *
+     * @param values the values of the array
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public JsonWriter array(int[] values) throws IOException {
+        beginArray();
+        for (int value : values) value(value);
+        return endArray();
+    }
+
+    /**
+     * @param values the values of the array
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     * @see #array(int[])
+     */
+    public JsonWriter array(long[] values) throws IOException {
+        beginArray();
+        for (long value : values) value(value);
+        return endArray();
+    }
+
+    /**
+     * @param values the values of the array
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     * @see #array(int[])
+     */
+    public JsonWriter array(double[] values) throws IOException {
+        beginArray();
+        for (double value : values) value(value);
+        return endArray();
+    }
+
+    /**
+     * @param values the values of the array
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     * @see #array(int[])
+     */
+    public JsonWriter array(float[] values) throws IOException {
+        beginArray();
+        for (float value : values) value(value);
+        return endArray();
+    }
+
+    /**
+     * @param values the values of the array
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     * @see #array(int[])
+     */
+    public JsonWriter array(boolean[] values) throws IOException {
+        beginArray();
+        for (boolean value : values) value(value);
+        return endArray();
+    }
+
+    /**
+     * Writes a value which already is JSON, like the result of an ElementHandler
+     *
+     * @param json the JSON of exactly one value
+     * @return this writer
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract JsonWriter rawValue(String json) throws IOException;
+
+    /**
+     * Writes a prepared value
+     *
+     * @param fragment the serialized value
+     * @return this writer
+     * @throws IOException           if the sink cannot be written
+     * @throws IllegalStateException if the fragment is not ASCII and non-ASCII characters are escaped
+     */
+    public abstract JsonWriter rawValue(JsonFragment fragment) throws IOException;
+
+    /**
+     * Ends a line of newline-delimited JSON, the next top-level value starts the next line
+     *
+     * @return this writer
+     * @throws IOException           if the sink cannot be written
+     * @throws IllegalStateException if an Object or Array is still open
+     */
+    public abstract JsonWriter newLine() throws IOException;
+
+    /**
+     * Flushes buffered output into the sink and flushes the sink
+     *
+     * @throws IOException if the sink cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+    }
+
+    /**
+     * Flushes the writer and closes the sink
+     *
+     * @throws IOException if the sink cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
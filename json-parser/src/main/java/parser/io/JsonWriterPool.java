@@ -0,0 +1,78 @@
+package parser.io;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of PooledJsonWriters which is safe for platform and virtual threads.
+ * - The writers are kept in a fixed array of slots, acquire and release only swap references and allocate nothing
+ * - Every thread starts at a slot derived from its id, so threads rarely compete for the same slot
+ * - Nothing is kept per thread, the pool does not grow with the number of threads
+ * - Writers whose buffer grew beyond maxRetained characters are left to the garbage collector, so one large document is not held forever
+ * - Expected lengths are clamped to maxRetained, so a writer is never grown up front beyond the size it is pooled again with
+ */
+public final class JsonWriterPool {
+    /**
+     * Pool used by the parsers and handlers
+     */
+    public static final JsonWriterPool SHARED = new JsonWriterPool(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()), 1 << 20);
+
+    private final AtomicReferenceArray<PooledJsonWriter> slots;
+    private final int maxRetained;
+
+    /**
+     * @param size        the maximum number of pooled writers
+     * @param maxRetained the maximum capacity in characters of a writer which is pooled again
+     */
+    public JsonWriterPool(int size, int maxRetained) {
+        if (size < 1) throw new IllegalArgumentException("The pool needs at least one slot");
+        this.slots = new AtomicReferenceArray<>(size);
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * @param expectedLength the expected length of the document, the buffer is grown to it up front but not beyond maxRetained
+     * @return a cleared writer, either a pooled or a new one
+     */
+    public PooledJsonWriter acquire(int expectedLength) {
+        int length = Math.min(expectedLength, maxRetained);
+        int n = slots.length();
+        int start = start(n);
+        for (int i = 0; i < n; i++) {
+            int slot = (start + i) % n;
+            if (slots.get(slot) == null) continue;
+            PooledJsonWriter writer = slots.getAndSet(slot, null);
+            if (writer != null) {
+                writer.reset(length);
+                return writer;
+            }
+        }
+        return new PooledJsonWriter(Math.max(16, length));
+    }
+
+    /**
+     * Returns a writer to the pool, its document cannot be read anymore
+     *
+     * @param writer the writer which is not used anymore
+     */
+    public void release(PooledJsonWriter writer) {
+        if (writer == null || writer.capacity() > maxRetained) return;
+        int n = slots.length();
+        int start = start(n);
+        for (int i = 0; i < n; i++) {
+            int slot = (start + i) % n;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, writer)) return;
+        }
+    }
+
+    /**
+     * @return the maximum capacity in characters of a writer which is pooled again
+     */
+    public int getMaxRetained() {
+        return maxRetained;
+    }
+
+    private static int start(int n) {
+        long id = Thread.currentThread().getId();
+        return Math.floorMod(Long.hashCode(id * 0x9E3779B97F4A7C15L), n);
+    }
+}
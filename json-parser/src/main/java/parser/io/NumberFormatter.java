@@ -0,0 +1,356 @@
+package parser.io;
+
+import java.math.BigInteger;
+
+/**
+ * Formats primitive numbers into a char array without allocating.
+ * - Integers are written two digits at a time
+ * - Doubles and floats are written with the shortest digits which read back to the same value (Schubfach)
+ * - The layout is the one of Double.toString and Float.toString, plain from 10^-3 to 10^7 and computerized scientific otherwise
+ */
+public final class NumberFormatter {
+    /**
+     * The longest formatted number, like -1.2345678901234567E-308
+     */
+    static final int MAX_LENGTH = 32;
+
+    private static final char[] DIGIT_PAIRS = new char[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i << 1] = (char) ('0' + i / 10);
+            DIGIT_PAIRS[(i << 1) + 1] = (char) ('0' + i % 10);
+        }
+    }
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    /**
+     * g = floor(10^-k * 2^(125 - flog2pow10(-k))) + 1 for every k, split into its upper and lower 63 bits
+     */
+    private static final long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+
+    static {
+        BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger pow = BigInteger.TEN.pow(-k);
+                g = shift >= 0 ? pow.shiftLeft(shift) : pow.shiftRight(-shift);
+            } else {
+                g = BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+            }
+            g = g.add(BigInteger.ONE);
+            G[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+            G[((k - K_MIN) << 1) + 1] = g.and(mask).longValue();
+        }
+    }
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+
+    private static final int DOUBLE_P = 53;
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final long DOUBLE_C_MIN = 1L << (DOUBLE_P - 1);
+    private static final long DOUBLE_C_TINY = 3;
+
+    private static final int FLOAT_P = 24;
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+    private static final int FLOAT_C_TINY = 8;
+
+    private NumberFormatter() {
+    }
+
+    /**
+     * @param value the double value
+     * @return the shortest String which reads back to the value
+     */
+    public static String toString(double value) {
+        char[] buf = new char[MAX_LENGTH];
+        return new String(buf, 0, formatDouble(value, buf, 0));
+    }
+
+    /**
+     * @param value the float value
+     * @return the shortest String which reads back to the value
+     */
+    public static String toString(float value) {
+        char[] buf = new char[MAX_LENGTH];
+        return new String(buf, 0, formatFloat(value, buf, 0));
+    }
+
+    /**
+     * @return the position after the last written char
+     */
+    static int formatLong(long value, char[] buf, int pos) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                "-9223372036854775808".getChars(0, 20, buf, pos);
+                return pos + 20;
+            }
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int end = pos + digitCount(value);
+        writeDigits(value, buf, end);
+        return end;
+    }
+
+    /**
+     * @return the position after the last written char
+     */
+    static int formatDouble(double value, char[] buf, int pos) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & ((1L << (DOUBLE_P - 1)) - 1);
+        int bq = (int) (bits >>> (DOUBLE_P - 1)) & 0x7ff;
+        if (bq == 0x7ff) return special(t != 0, bits < 0, buf, pos);
+        if (bits < 0) buf[pos++] = '-';
+
+        if (bq != 0) {
+            int mq = -DOUBLE_Q_MIN + 1 - bq;
+            long c = DOUBLE_C_MIN | t;
+            // integers below 2^53 are written without the conversion
+            if (0 < mq && mq < DOUBLE_P) {
+                long f = c >> mq;
+                if (f << mq == c) return layout(f, 0, buf, pos);
+            }
+            return toDecimal(-mq, c, 0, buf, pos);
+        }
+        if (t != 0) {
+            return t < DOUBLE_C_TINY
+                    ? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buf, pos)
+                    : toDecimal(DOUBLE_Q_MIN, t, 0, buf, pos);
+        }
+        return zero(buf, pos);
+    }
+
+    /**
+     * @return the position after the last written char
+     */
+    static int formatFloat(float value, char[] buf, int pos) {
+        int bits = Float.floatToRawIntBits(value);
+        int t = bits & ((1 << (FLOAT_P - 1)) - 1);
+        int bq = (bits >>> (FLOAT_P - 1)) & 0xff;
+        if (bq == 0xff) return special(t != 0, bits < 0, buf, pos);
+        if (bits < 0) buf[pos++] = '-';
+
+        if (bq != 0) {
+            int mq = -FLOAT_Q_MIN + 1 - bq;
+            int c = FLOAT_C_MIN | t;
+            if (0 < mq && mq < FLOAT_P) {
+                int f = c >> mq;
+                if (f << mq == c) return layout(f, 0, buf, pos);
+            }
+            return toDecimal(-mq, c, 0, buf, pos);
+        }
+        if (t != 0) {
+            return t < FLOAT_C_TINY
+                    ? toDecimal(FLOAT_Q_MIN, 10 * t, -1, buf, pos)
+                    : toDecimal(FLOAT_Q_MIN, t, 0, buf, pos);
+        }
+        return zero(buf, pos);
+    }
+
+    /**
+     * Finds the shortest decimal of c * 2^q which rounds back to it
+     */
+    private static int toDecimal(int q, long c, int dk, char[] buf, int pos) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // the lower neighbour of a power of two is closer
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+        long g1 = G[(k - K_MIN) << 1];
+        long g0 = G[((k - K_MIN) << 1) + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) return layout(upin ? sp10 : tp10, k, buf, pos);
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) return layout(uin ? s : t, k + dk, buf, pos);
+
+        long cmp = vb - ((s + t) << 1);
+        return layout(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, pos);
+    }
+
+    private static int toDecimal(int q, int c, int dk, char[] buf, int pos) {
+        int out = c & 0x1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+        long g = G[(k - K_MIN) << 1] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) return layout(upin ? sp10 : tp10, k, buf, pos);
+        }
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) return layout(uin ? s : t, k + dk, buf, pos);
+
+        int cmp = vb - ((s + t) << 1);
+        return layout(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, pos);
+    }
+
+    /**
+     * The upper 64 bits of g * cp / 2^63, with the lowest bit set if any discarded bit is set
+     */
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    private static int rop(long g, long cp) {
+        long x1 = Math.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | ((x1 & MASK_32) + MASK_32) >>> 32);
+    }
+
+    /**
+     * Writes f * 10^e like Double.toString
+     */
+    private static int layout(long f, int e, char[] buf, int pos) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int length = digitCount(f);
+        int exponent = e + length - 1;
+
+        if (exponent >= 0 && exponent < 7) {
+            int intDigits = exponent + 1;
+            if (length <= intDigits) {
+                writeDigits(f, buf, pos + length);
+                pos += length;
+                for (int i = length; i < intDigits; i++) buf[pos++] = '0';
+                buf[pos++] = '.';
+                buf[pos++] = '0';
+                return pos;
+            }
+            // write all digits one position to the right and move the integer digits in front of the point
+            writeDigits(f, buf, pos + length + 1);
+            System.arraycopy(buf, pos + 1, buf, pos, intDigits);
+            buf[pos + intDigits] = '.';
+            return pos + length + 1;
+        }
+        if (exponent < 0 && exponent >= -3) {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (int i = -1; i > exponent; i--) buf[pos++] = '0';
+            writeDigits(f, buf, pos + length);
+            return pos + length;
+        }
+
+        writeDigits(f, buf, pos + length + 1);
+        buf[pos] = buf[pos + 1];
+        buf[pos + 1] = '.';
+        pos += length + 1;
+        if (length == 1) buf[pos++] = '0';
+        buf[pos++] = 'E';
+        if (exponent < 0) {
+            buf[pos++] = '-';
+            exponent = -exponent;
+        }
+        int end = pos + digitCount(exponent);
+        writeDigits(exponent, buf, end);
+        return end;
+    }
+
+    private static int special(boolean nan, boolean negative, char[] buf, int pos) {
+        String s = nan ? "NaN" : negative ? "-Infinity" : "Infinity";
+        s.getChars(0, s.length(), buf, pos);
+        return pos + s.length();
+    }
+
+    private static int zero(char[] buf, int pos) {
+        buf[pos] = '0';
+        buf[pos + 1] = '.';
+        buf[pos + 2] = '0';
+        return pos + 3;
+    }
+
+    /**
+     * Writes the digits of a positive value so that the last digit is in front of end
+     */
+    private static void writeDigits(long value, char[] buf, int end) {
+        while (value >= 100) {
+            int pair = (int) (value % 100) << 1;
+            value /= 100;
+            buf[--end] = DIGIT_PAIRS[pair + 1];
+            buf[--end] = DIGIT_PAIRS[pair];
+        }
+        if (value >= 10) {
+            int pair = (int) value << 1;
+            buf[--end] = DIGIT_PAIRS[pair + 1];
+            buf[--end] = DIGIT_PAIRS[pair];
+        } else {
+            buf[--end] = (char) ('0' + value);
+        }
+    }
+
+    private static int digitCount(long value) {
+        long p = 10;
+        for (int i = 1; i < 19; i++) {
+            if (value < p) return i;
+            p *= 10;
+        }
+        return 19;
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
@@ -0,0 +1,177 @@
+package parser.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses JSON number literals from bytes into primitives without allocating.
+ * - Integers are accumulated directly into a long
+ * - Doubles and floats which are exactly representable are computed with one multiplication or division (Clinger's fast path)
+ * - All other literals fall back to Double.parseDouble and Float.parseFloat
+ * - The parse methods expect a literal accepted by isValid
+ */
+public final class NumberParser {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private NumberParser() {
+    }
+
+    /**
+     * @param bytes  the bytes
+     * @param offset the index of the first byte of the literal
+     * @param length the length of the literal
+     * @return if the literal is a number in the JSON grammar
+     */
+    public static boolean isValid(byte[] bytes, int offset, int length) {
+        int i = offset;
+        int n = offset + length;
+        if (i < n && bytes[i] == '-') i++;
+        if (i == n || !isDigit(bytes[i])) return false;
+        if (bytes[i] == '0' && i + 1 < n && isDigit(bytes[i + 1])) return false;
+        while (i < n && isDigit(bytes[i])) i++;
+        if (i < n && bytes[i] == '.') {
+            int start = ++i;
+            while (i < n && isDigit(bytes[i])) i++;
+            if (i == start) return false;
+        }
+        if (i < n && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            if (i < n && (bytes[i] == '+' || bytes[i] == '-')) i++;
+            int start = i;
+            while (i < n && isDigit(bytes[i])) i++;
+            if (i == start) return false;
+        }
+        return i == n;
+    }
+
+    /**
+     * @return if the literal has neither a fraction nor an exponent
+     */
+    public static boolean isIntegral(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            byte b = bytes[i];
+            if (b == '.' || b == 'e' || b == 'E') return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the value of the literal
+     * @throws NumberFormatException if the value does not fit into a long or has a fraction
+     */
+    public static long parseLong(byte[] bytes, int offset, int length) {
+        if (!isIntegral(bytes, offset, length)) {
+            double d = parseDouble(bytes, offset, length);
+            long value = (long) d;
+            if (value != d) throw new NumberFormatException("The number " + literal(bytes, offset, length) + " is not an integer");
+            return value;
+        }
+
+        int i = offset;
+        int n = offset + length;
+        boolean negative = bytes[i] == '-';
+        if (negative) i++;
+        // accumulate negatively, so Long.MIN_VALUE fits
+        long value = 0;
+        for (; i < n; i++) {
+            int digit = bytes[i] - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) throw tooLarge(bytes, offset, length);
+            value = value * 10 - digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) throw tooLarge(bytes, offset, length);
+            value = -value;
+        }
+        return value;
+    }
+
+    /**
+     * @return the closest double to the literal
+     */
+    public static double parseDouble(byte[] bytes, int offset, int length) {
+        double value = exact(bytes, offset, length, false);
+        return (value == value) ? value : Double.parseDouble(literal(bytes, offset, length));
+    }
+
+    /**
+     * @return the closest float to the literal
+     */
+    public static float parseFloat(byte[] bytes, int offset, int length) {
+        double value = exact(bytes, offset, length, true);
+        return (value == value) ? (float) value : Float.parseFloat(literal(bytes, offset, length));
+    }
+
+    /**
+     * Splits the literal into its first 19 significant digits and a decimal exponent
+     * and computes the value if both the digits and the power of ten are exact
+     *
+     * @param single if the value is computed as a float
+     * @return the value or NaN if it cannot be computed exactly
+     */
+    private static double exact(byte[] bytes, int offset, int length, boolean single) {
+        int i = offset;
+        int n = offset + length;
+        boolean negative = bytes[i] == '-';
+        if (negative) i++;
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        for (; i < n && isDigit(bytes[i]); i++) {
+            if (digits < 19) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+                digits++;
+            }
+        }
+        if (i < n && bytes[i] == '.') {
+            for (i++; i < n && isDigit(bytes[i]); i++) {
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                } else {
+                    digits++;
+                }
+            }
+        }
+        if (i < n) {
+            i++;
+            boolean negativeExponent = bytes[i] == '-';
+            if (bytes[i] == '-' || bytes[i] == '+') i++;
+            int e = 0;
+            for (; i < n; i++) e = Math.min(e * 10 + (bytes[i] - '0'), 100_000);
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (single) {
+            if (digits > 7 || exponent < -10 || exponent > 10) return Double.NaN;
+            float value = (float) mantissa;
+            value = exponent < 0 ? value / FLOAT_POWERS_OF_TEN[-exponent] : value * FLOAT_POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        if (digits > 15 || exponent < -22 || exponent > 22) return Double.NaN;
+        double value = (double) mantissa;
+        value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static NumberFormatException tooLarge(byte[] bytes, int offset, int length) {
+        return new NumberFormatException("The number " + literal(bytes, offset, length) + " does not fit into a long");
+    }
+
+    private static String literal(byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
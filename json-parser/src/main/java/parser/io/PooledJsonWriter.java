@@ -0,0 +1,70 @@
+package parser.io;
+
+/**
+ * JsonWriter into its own StringBuilder which is reused for the next document
+ * - Acquired from a JsonWriterPool, the document has to be taken before the writer is released
+ *
+ * @see JsonWriterPool
+ */
+public final class PooledJsonWriter extends TextJsonWriter {
+    private final StringBuilder out;
+
+    PooledJsonWriter(int capacity) {
+        this.out = new StringBuilder(capacity);
+    }
+
+    /**
+     * Clears the writer and grows its buffer to the expected length of the next document
+     */
+    void reset(int expectedLength) {
+        reset();
+        out.setLength(0);
+        out.ensureCapacity(expectedLength);
+    }
+
+    /**
+     * @return the number of characters the buffer holds without growing
+     */
+    int capacity() {
+        return out.capacity();
+    }
+
+    /**
+     * @return the written document
+     */
+    public String toJson() {
+        return out.toString();
+    }
+
+    /**
+     * @return the number of written characters
+     */
+    public int length() {
+        return out.length();
+    }
+
+    @Override
+    public long getWritten() {
+        return out.length();
+    }
+
+    @Override
+    protected void write(char c) {
+        out.append(c);
+    }
+
+    @Override
+    protected void write(String s) {
+        out.append(s);
+    }
+
+    @Override
+    protected void write(String s, int start, int end) {
+        out.append(s, start, end);
+    }
+
+    @Override
+    protected void write(char[] chars, int offset, int length) {
+        out.append(chars, offset, length);
+    }
+}
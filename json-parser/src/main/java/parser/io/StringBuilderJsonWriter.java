@@ -0,0 +1,39 @@
+package parser.io;
+
+/**
+ * JsonWriter which appends directly to a StringBuilder
+ */
+final class StringBuilderJsonWriter extends TextJsonWriter {
+    private final StringBuilder out;
+    private final int start;
+
+    StringBuilderJsonWriter(StringBuilder out) {
+        this.out = out;
+        this.start = out.length();
+    }
+
+    @Override
+    public long getWritten() {
+        return out.length() - start;
+    }
+
+    @Override
+    protected void write(char c) {
+        out.append(c);
+    }
+
+    @Override
+    protected void write(String s) {
+        out.append(s);
+    }
+
+    @Override
+    protected void write(String s, int start, int end) {
+        out.append(s, start, end);
+    }
+
+    @Override
+    protected void write(char[] chars, int offset, int length) {
+        out.append(chars, offset, length);
+    }
+}
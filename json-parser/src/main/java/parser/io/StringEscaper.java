@@ -0,0 +1,88 @@
+package parser.io;
+
+/**
+ * Finds and writes the characters of a JSON string which have to be escaped.
+ * - Quotes, backslashes and control characters are escaped, \b \f \n \r \t with their short form
+ * - ASCII characters are checked with one lookup in a table of the characters written as they are
+ * - Characters above ASCII are only escaped as backslash-u sequences if the writer is asked to
+ */
+final class StringEscaper {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final boolean[] SAFE = new boolean[128];
+
+    static {
+        for (int c = 0x20; c < 128; c++) SAFE[c] = c != '"' && c != '\\';
+    }
+
+    private StringEscaper() {
+    }
+
+    /**
+     * @param c the ASCII character, below 0x80
+     * @return if the character is written as it is
+     */
+    static boolean isSafe(char c) {
+        return SAFE[c];
+    }
+
+    /**
+     * Checks the chars themselves, the length of the UTF-8 bytes is no proof because unpaired surrogates are encoded as one '?'
+     *
+     * @param s the string
+     * @return if every character is below 0x80, so nothing has to be escaped when non-ASCII characters are
+     */
+    static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param c              the character
+     * @param escapeNonAscii if characters above ASCII are escaped
+     * @return if the character has to be escaped
+     */
+    static boolean needsEscape(char c, boolean escapeNonAscii) {
+        return (c < 0x80) ? !SAFE[c] : escapeNonAscii;
+    }
+
+    /**
+     * Writes the escape sequence of a character
+     *
+     * @return the position after the sequence
+     */
+    static int escape(char c, char[] buf, int pos) {
+        buf[pos++] = '\\';
+        switch (c) {
+            case '"':
+                buf[pos++] = '"';
+                return pos;
+            case '\\':
+                buf[pos++] = '\\';
+                return pos;
+            case '\b':
+                buf[pos++] = 'b';
+                return pos;
+            case '\f':
+                buf[pos++] = 'f';
+                return pos;
+            case '\n':
+                buf[pos++] = 'n';
+                return pos;
+            case '\r':
+                buf[pos++] = 'r';
+                return pos;
+            case '\t':
+                buf[pos++] = 't';
+                return pos;
+            default:
+                buf[pos++] = 'u';
+                buf[pos++] = HEX[c >>> 12];
+                buf[pos++] = HEX[(c >>> 8) & 0xf];
+                buf[pos++] = HEX[(c >>> 4) & 0xf];
+                buf[pos++] = HEX[c & 0xf];
+                return pos;
+        }
+    }
+}
@@ -0,0 +1,670 @@
+package parser.io;
+
+import exceptions.JsonParseException;
+import parser.enums.JSONToken;
+import parser.enums.JSONType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JsonReader of a JSON text document in UTF-8 bytes.
+ * - byte arrays and heap ByteBuffers are read in place, streams, channels and Readers through one reused buffer
+ * - Tokens, numbers, booleans and names matched with JsonNames are read without allocating
+ * - Numbers are parsed into primitives directly with the NumberParser
+ * - skipValue skips whole objects and arrays by scanning their brackets and strings
+ * - Several top-level values, like NDJSON, are read one after another
+ *
+ * @see JsonReader#of(byte[])
+ */
+public final class TextJsonReader extends JsonReader {
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    static final int BUFFER_SIZE = 8192;
+
+    private final Source source;
+    private byte[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed;
+    // the start of a raw value which a refill keeps in the buffer, -1 if there is none
+    private int mark = -1;
+
+    private int[] stack = new int[32];
+    private int depth = 1;
+    private JSONToken peeked;
+
+    private char[] chars = new char[64];
+    private int charCount;
+
+    private byte[] number = new byte[32];
+    private int numberLength;
+    private boolean integral;
+
+    TextJsonReader(byte[] buffer, int offset, int length, Source source) {
+        this.buffer = buffer;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.source = source;
+    }
+
+    @Override
+    public JSONToken peek() throws IOException {
+        if (peeked != null) return peeked;
+
+        int c;
+        switch (stack[depth - 1]) {
+            case EMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') return peeked = JSONToken.END_ARRAY;
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                return peeked = peekValue(c);
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') return peeked = JSONToken.END_ARRAY;
+                if (c != ',') throw syntaxError("Expected ',' or ']'");
+                pos++;
+                return peeked = peekValue(nextNonWhitespace());
+            case EMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') return peeked = JSONToken.END_OBJECT;
+                if (c != '"') throw syntaxError("Expected a name");
+                return peeked = JSONToken.NAME;
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') return peeked = JSONToken.END_OBJECT;
+                if (c != ',') throw syntaxError("Expected ',' or '}'");
+                pos++;
+                if (nextNonWhitespace() != '"') throw syntaxError("Expected a name");
+                return peeked = JSONToken.NAME;
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') throw syntaxError("Expected ':'");
+                pos++;
+                stack[depth - 1] = (depth == 1) ? NONEMPTY_DOCUMENT : NONEMPTY_OBJECT;
+                return peeked = peekValue(nextNonWhitespace());
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                return peeked = peekValue(nextNonWhitespace());
+            default:
+                c = nextNonWhitespace();
+                if (c == -1) return peeked = JSONToken.END_DOCUMENT;
+                return peeked = peekValue(c);
+        }
+    }
+
+    @Override
+    public JSONType peekType() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NUMBER) return integral ? JSONType.INTEGER : JSONType.DOUBLE;
+        return token.getType();
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JSONToken.BEGIN_OBJECT);
+        pos++;
+        push(EMPTY_OBJECT);
+        peeked = null;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JSONToken.END_OBJECT);
+        pos++;
+        depth--;
+        peeked = null;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JSONToken.BEGIN_ARRAY);
+        pos++;
+        push(EMPTY_ARRAY);
+        peeked = null;
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JSONToken.END_ARRAY);
+        pos++;
+        depth--;
+        peeked = null;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        readName();
+        return new String(chars, 0, charCount);
+    }
+
+    @Override
+    public int nextName(JsonNames names) throws IOException {
+        readName();
+        return names.indexOf(chars, charCount);
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NUMBER) {
+            peeked = null;
+            return new String(number, 0, numberLength, StandardCharsets.ISO_8859_1);
+        }
+        expect(JSONToken.STRING);
+        pos++;
+        readString();
+        peeked = null;
+        return new String(chars, 0, charCount);
+    }
+
+    @Override
+    public int nextString(JsonNames values) throws IOException {
+        expect(JSONToken.STRING);
+        pos++;
+        readString();
+        peeked = null;
+        return values.indexOf(chars, charCount);
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JSONToken.BOOLEAN);
+        boolean value = buffer[pos] == 't';
+        consumeLiteral(value ? "true" : "false");
+        peeked = null;
+        return value;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JSONToken.NULL);
+        consumeLiteral("null");
+        peeked = null;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        expect(JSONToken.NUMBER);
+        long value;
+        try {
+            value = NumberParser.parseLong(number, 0, numberLength);
+        } catch (NumberFormatException e) {
+            throw syntaxError(e.getMessage());
+        }
+        peeked = null;
+        return value;
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        expect(JSONToken.NUMBER);
+        double value = NumberParser.parseDouble(number, 0, numberLength);
+        peeked = null;
+        return value;
+    }
+
+    @Override
+    public float nextFloat() throws IOException {
+        expect(JSONToken.NUMBER);
+        float value = NumberParser.parseFloat(number, 0, numberLength);
+        peeked = null;
+        return value;
+    }
+
+    /**
+     * Skips the next value, a name is skipped together with its value.
+     * - Objects and arrays are skipped by scanning their brackets and strings, without reading their tokens
+     *
+     * @throws IOException if the document cannot be read or there is no value to skip
+     */
+    @Override
+    public void skipValue() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NAME) {
+            readName();
+            token = peek();
+        }
+
+        switch (token) {
+            case BEGIN_OBJECT:
+            case BEGIN_ARRAY:
+                pos++;
+                skipContainer();
+                break;
+            case STRING:
+                pos++;
+                skipString();
+                break;
+            case NUMBER:
+                break;
+            case BOOLEAN:
+                consumeLiteral(buffer[pos] == 't' ? "true" : "false");
+                break;
+            case NULL:
+                consumeLiteral("null");
+                break;
+            default:
+                throw syntaxError("Expected a value but was " + token);
+        }
+        peeked = null;
+    }
+
+    /**
+     * Reads the next value as its UTF-8 encoded JSON without parsing it, objects and arrays are skipped by bracket counting
+     * - Documents which are read in place return a view of their bytes, documents of streams and channels a copy
+     *
+     * @return the bytes of the value, from its first to its last byte
+     * @throws IOException if the document cannot be read or there is no value
+     */
+    @Override
+    public ByteBuffer nextRawValue() throws IOException {
+        JSONToken token = peek();
+        if (token == JSONToken.NUMBER) {
+            // the literal was already copied when the number was peeked
+            peeked = null;
+            return ByteBuffer.wrap(Arrays.copyOf(number, numberLength));
+        }
+        if (token == JSONToken.NAME) throw syntaxError("Expected a value but was " + token);
+
+        mark = pos;
+        try {
+            skipValue();
+            if (source == null) return ByteBuffer.wrap(buffer, mark, pos - mark).slice();
+            return ByteBuffer.wrap(Arrays.copyOfRange(buffer, mark, pos));
+        } finally {
+            mark = -1;
+        }
+    }
+
+    /**
+     * Skips the remaining names and values of the current object or elements of the current array, including its end
+     * - The rest is skipped by scanning its brackets and strings, like a value which is not needed
+     *
+     * @throws IOException           if the document cannot be read or is malformed
+     * @throws IllegalStateException if no object or array is open
+     */
+    @Override
+    public void skipRemaining() throws IOException {
+        if (depth == 1) throw new IllegalStateException("No object or array is open");
+        peek();
+        skipContainer();
+        depth--;
+        peeked = null;
+    }
+
+    @Override
+    public long getOffset() {
+        return consumed + pos;
+    }
+
+    /**
+     * Closes the stream, channel or Reader the document is read from
+     *
+     * @throws IOException if it cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (source != null) source.close();
+    }
+
+    private void expect(JSONToken expected) throws IOException {
+        JSONToken token = peek();
+        if (token != expected) throw syntaxError("Expected " + expected + " but was " + token);
+    }
+
+    private JSONToken peekValue(int c) throws IOException {
+        switch (c) {
+            case '{':
+                return JSONToken.BEGIN_OBJECT;
+            case '[':
+                return JSONToken.BEGIN_ARRAY;
+            case '"':
+                return JSONToken.STRING;
+            case 't':
+            case 'f':
+                return JSONToken.BOOLEAN;
+            case 'n':
+                return JSONToken.NULL;
+            case -1:
+                throw syntaxError("Unexpected end of the document");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                    return JSONToken.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void readName() throws IOException {
+        JSONToken token = peek();
+        if (token != JSONToken.NAME && (token != JSONToken.STRING || depth != 1))
+            throw syntaxError("Expected " + JSONToken.NAME + " but was " + token);
+        pos++;
+        readString();
+        stack[depth - 1] = DANGLING_NAME;
+        peeked = null;
+    }
+
+    /**
+     * Decodes the string after the opening quote into chars
+     */
+    private void readString() throws IOException {
+        charCount = 0;
+        while (true) {
+            // ASCII fast path, negative bytes start UTF-8 sequences and stop it like control characters
+            byte[] b = buffer;
+            int p = pos;
+            int l = limit;
+            int n = charCount;
+            char[] c = chars;
+            while (p < l) {
+                byte x = b[p];
+                if (x < 0x20 || x == '"' || x == '\\') break;
+                if (n == c.length) c = growChars();
+                c[n++] = (char) x;
+                p++;
+            }
+            pos = p;
+            charCount = n;
+
+            if (pos == limit) {
+                if (!fill()) throw syntaxError("Unterminated string");
+                continue;
+            }
+            byte x = buffer[pos];
+            if (x == '"') {
+                pos++;
+                return;
+            }
+            if (x == '\\') {
+                pos++;
+                appendChar(readEscape());
+            } else if (x < 0 && x >= -64) {
+                readUtf8();
+            } else {
+                throw syntaxError("Illegal character in string");
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        switch (nextByte()) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int h = nextByte();
+                    int digit = Character.digit(h, 16);
+                    if (digit < 0) throw syntaxError("Illegal unicode escape");
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("Illegal escape sequence");
+        }
+    }
+
+    private void readUtf8() throws IOException {
+        int first = nextByte();
+        int count;
+        int codePoint;
+        if ((first & 0xe0) == 0xc0) {
+            count = 1;
+            codePoint = first & 0x1f;
+        } else if ((first & 0xf0) == 0xe0) {
+            count = 2;
+            codePoint = first & 0x0f;
+        } else if ((first & 0xf8) == 0xf0) {
+            count = 3;
+            codePoint = first & 0x07;
+        } else {
+            throw syntaxError("Malformed UTF-8");
+        }
+        for (int i = 0; i < count; i++) {
+            int next = nextByte();
+            if ((next & 0xc0) != 0x80) throw syntaxError("Malformed UTF-8");
+            codePoint = (codePoint << 6) | (next & 0x3f);
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            appendChar(Character.highSurrogate(codePoint));
+            appendChar(Character.lowSurrogate(codePoint));
+        } else {
+            appendChar((char) codePoint);
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            byte[] b = buffer;
+            int p = pos;
+            int l = limit;
+            while (p < l && b[p] != '"' && b[p] != '\\') p++;
+            pos = p;
+            if (pos == limit) {
+                if (!fill()) throw syntaxError("Unterminated string");
+                continue;
+            }
+            pos++;
+            if (b[p] == '"') return;
+            nextByte();
+        }
+    }
+
+    /**
+     * Skips to the bracket which closes the current container, strings are skipped as a whole so their brackets do not count
+     */
+    private void skipContainer() throws IOException {
+        int open = 1;
+        while (true) {
+            byte[] b = buffer;
+            int p = pos;
+            int l = limit;
+            while (p < l) {
+                byte x = b[p++];
+                if (x == '"') {
+                    pos = p;
+                    skipString();
+                    b = buffer;
+                    p = pos;
+                    l = limit;
+                } else if (x == '{' || x == '[') {
+                    open++;
+                } else if ((x == '}' || x == ']') && --open == 0) {
+                    pos = p;
+                    return;
+                }
+            }
+            pos = p;
+            if (!fill()) throw syntaxError("Unterminated object or array");
+        }
+    }
+
+    /**
+     * Copies the literal of a number, which may span several buffers
+     */
+    private void readNumber() throws IOException {
+        numberLength = 0;
+        integral = true;
+        while (true) {
+            if (pos == limit && !fill()) break;
+            byte x = buffer[pos];
+            if (x >= '0' && x <= '9' || x == '-') {
+                // digits and signs
+            } else if (x == '.' || x == 'e' || x == 'E' || x == '+') {
+                integral = false;
+            } else {
+                break;
+            }
+            if (numberLength == number.length) number = Arrays.copyOf(number, numberLength * 2);
+            number[numberLength++] = x;
+            pos++;
+        }
+        if (!NumberParser.isValid(number, 0, numberLength)) throw syntaxError("Malformed number " + literal());
+    }
+
+    private String literal() {
+        return new String(number, 0, numberLength, StandardCharsets.ISO_8859_1);
+    }
+
+    private void consumeLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (nextByte() != literal.charAt(i)) throw syntaxError("Expected " + literal);
+        }
+        if (pos < limit || fill()) {
+            byte x = buffer[pos];
+            if (x >= 'a' && x <= 'z' || x >= 'A' && x <= 'Z' || x >= '0' && x <= '9') throw syntaxError("Expected " + literal);
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            byte[] b = buffer;
+            int p = pos;
+            int l = limit;
+            while (p < l) {
+                byte x = b[p];
+                if (x != ' ' && x != '\n' && x != '\r' && x != '\t') {
+                    pos = p;
+                    return x;
+                }
+                p++;
+            }
+            pos = p;
+            if (!fill()) return -1;
+        }
+    }
+
+    private int nextByte() throws IOException {
+        if (pos == limit && !fill()) throw syntaxError("Unexpected end of the document");
+        return buffer[pos++] & 0xff;
+    }
+
+    /**
+     * Replaces the consumed buffer with the next bytes of the source, the bytes after a mark are kept
+     *
+     * @return false at the end of the document
+     */
+    private boolean fill() throws IOException {
+        if (source == null) return false;
+        int keep = 0;
+        if (mark >= 0) {
+            keep = limit - mark;
+            if (keep == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            System.arraycopy(buffer, mark, buffer, 0, keep);
+            consumed += mark;
+            mark = 0;
+        } else {
+            consumed += limit;
+        }
+        pos = keep;
+        limit = keep;
+        int read = source.read(buffer, keep, buffer.length - keep);
+        if (read <= 0) return false;
+        limit = keep + read;
+        return true;
+    }
+
+    private void appendChar(char c) {
+        if (charCount == chars.length) growChars();
+        chars[charCount++] = c;
+    }
+
+    private char[] growChars() {
+        chars = Arrays.copyOf(chars, chars.length * 2);
+        return chars;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = context;
+    }
+
+    private JsonParseException syntaxError(String message) {
+        return new JsonParseException(message + " at offset " + getOffset());
+    }
+
+    /**
+     * The bytes of a document which is not read in place
+     */
+    interface Source extends Closeable {
+        int read(byte[] b, int offset, int length) throws IOException;
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    /**
+     * Encodes the characters of a Reader into UTF-8 while they are read
+     */
+    static final class ReaderSource implements Source {
+        private final Reader in;
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE / 4);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private boolean endOfInput;
+        private boolean flushed;
+
+        ReaderSource(Reader in) {
+            this.in = in;
+            chars.flip();
+        }
+
+        @Override
+        public int read(byte[] b, int offset, int length) throws IOException {
+            if (flushed) return -1;
+            ByteBuffer out = ByteBuffer.wrap(b, offset, length);
+            while (out.position() == offset) {
+                // refill before a single char is left, so a high surrogate is encoded together with its pair
+                if (!endOfInput && chars.remaining() < 2) {
+                    chars.compact();
+                    int read = in.read(chars);
+                    chars.flip();
+                    if (read == -1) endOfInput = true;
+                }
+                CoderResult result = encoder.encode(chars, out, endOfInput);
+                if (result.isError()) result.throwException();
+                if (endOfInput && !chars.hasRemaining()) {
+                    encoder.flush(out);
+                    flushed = true;
+                    break;
+                }
+            }
+            int count = out.position() - offset;
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
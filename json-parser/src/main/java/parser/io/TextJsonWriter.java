@@ -0,0 +1,357 @@
+package parser.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * JsonWriter which writes the document as JSON text into a sink of characters.
+ * - The separating commas are inserted by the writer
+ * - Strings and names are escaped, characters above ASCII only if setEscapeNonAscii is enabled
+ * - Arrays of primitives are formatted into batches which are written at once
+ * - Subclasses only implement how characters reach the sink
+ *
+ * @see JsonWriter#of(Appendable)
+ */
+public abstract class TextJsonWriter extends JsonWriter {
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+    private static final int BATCH_SIZE = 256;
+
+    private int[] stack = new int[32];
+    private int depth = 1;
+    private final char[] scratch = new char[NumberFormatter.MAX_LENGTH];
+    private char[] batch;
+
+    /**
+     * Returns the writer to the state of a new writer, so it can write the next document
+     */
+    void reset() {
+        depth = 1;
+        stack[0] = EMPTY_DOCUMENT;
+        setEscapeNonAscii(false);
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        push(EMPTY_OBJECT);
+        write('{');
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        write('}');
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        push(EMPTY_ARRAY);
+        write('[');
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        write(']');
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        beforeName();
+        writeString(name);
+        write(':');
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(JsonKey key) throws IOException {
+        beforeName();
+        if (isEscapeNonAscii() && !key.isAscii()) {
+            writeString(key.getName());
+            write(':');
+        } else {
+            writeKey(key);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) return nullValue();
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        write(scratch, 0, NumberFormatter.formatLong(value, scratch, 0));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        beforeValue();
+        write(scratch, 0, NumberFormatter.formatDouble(value, scratch, 0));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(float value) throws IOException {
+        beforeValue();
+        write(scratch, 0, NumberFormatter.formatFloat(value, scratch, 0));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        write(value ? "true" : "false");
+        return this;
+    }
+
+    @Override
+    public JsonWriter array(int[] values) throws IOException {
+        char[] b = beginBatch();
+        int p = 1;
+        for (int i = 0; i < values.length; i++) {
+            if (p >= BATCH_SIZE - NumberFormatter.MAX_LENGTH - 1) p = writeBatch(b, p);
+            if (i > 0) b[p++] = ',';
+            p = NumberFormatter.formatLong(values[i], b, p);
+        }
+        return endBatch(b, p);
+    }
+
+    @Override
+    public JsonWriter array(long[] values) throws IOException {
+        char[] b = beginBatch();
+        int p = 1;
+        for (int i = 0; i < values.length; i++) {
+            if (p >= BATCH_SIZE - NumberFormatter.MAX_LENGTH - 1) p = writeBatch(b, p);
+            if (i > 0) b[p++] = ',';
+            p = NumberFormatter.formatLong(values[i], b, p);
+        }
+        return endBatch(b, p);
+    }
+
+    @Override
+    public JsonWriter array(double[] values) throws IOException {
+        char[] b = beginBatch();
+        int p = 1;
+        for (int i = 0; i < values.length; i++) {
+            if (p >= BATCH_SIZE - NumberFormatter.MAX_LENGTH - 1) p = writeBatch(b, p);
+            if (i > 0) b[p++] = ',';
+            p = NumberFormatter.formatDouble(values[i], b, p);
+        }
+        return endBatch(b, p);
+    }
+
+    @Override
+    public JsonWriter array(float[] values) throws IOException {
+        char[] b = beginBatch();
+        int p = 1;
+        for (int i = 0; i < values.length; i++) {
+            if (p >= BATCH_SIZE - NumberFormatter.MAX_LENGTH - 1) p = writeBatch(b, p);
+            if (i > 0) b[p++] = ',';
+            p = NumberFormatter.formatFloat(values[i], b, p);
+        }
+        return endBatch(b, p);
+    }
+
+    @Override
+    public JsonWriter array(boolean[] values) throws IOException {
+        char[] b = beginBatch();
+        int p = 1;
+        for (int i = 0; i < values.length; i++) {
+            if (p >= BATCH_SIZE - 6) p = writeBatch(b, p);
+            if (i > 0) b[p++] = ',';
+            String value = values[i] ? "true" : "false";
+            value.getChars(0, value.length(), b, p);
+            p += value.length();
+        }
+        return endBatch(b, p);
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        write("null");
+        return this;
+    }
+
+    @Override
+    public JsonWriter rawValue(String json) throws IOException {
+        beforeValue();
+        write(json);
+        return this;
+    }
+
+    @Override
+    public JsonWriter rawValue(JsonFragment fragment) throws IOException {
+        if (isEscapeNonAscii() && !fragment.isAscii())
+            throw new IllegalStateException("The fragment contains characters above ASCII which have to be escaped");
+        beforeValue();
+        writeFragment(fragment);
+        return this;
+    }
+
+    @Override
+    public JsonWriter newLine() throws IOException {
+        if (depth != 1) throw new IllegalStateException("Only top-level values can be separated by lines");
+        write('\n');
+        stack[0] = EMPTY_DOCUMENT;
+        return this;
+    }
+
+    /**
+     * Writes the quoted name of a key and the colon, writers which can use the prepared bytes override this
+     *
+     * @param key the prepared name
+     * @throws IOException if the sink cannot be written
+     */
+    protected void writeKey(JsonKey key) throws IOException {
+        write(key.fragment());
+    }
+
+    /**
+     * Writes a prepared value, writers which can use the encoded bytes override this
+     *
+     * @param fragment the serialized value
+     * @throws IOException if the sink cannot be written
+     */
+    protected void writeFragment(JsonFragment fragment) throws IOException {
+        write(fragment.getJson());
+    }
+
+    /**
+     * Writes a string in quotes, clean runs are written at once and only the characters which need it are escaped
+     *
+     * @param s the string
+     * @throws IOException if the sink cannot be written
+     */
+    protected void writeString(String s) throws IOException {
+        write('"');
+        boolean nonAscii = isEscapeNonAscii();
+        int length = s.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80 ? StringEscaper.isSafe(c) : !nonAscii) continue;
+
+            if (i > start) write(s, start, i);
+            writeEscaped(c);
+            start = i + 1;
+        }
+        if (start < length) write(s, start, length);
+        write('"');
+    }
+
+    /**
+     * Writes the escape sequence of a character
+     *
+     * @param c the character
+     * @throws IOException if the sink cannot be written
+     */
+    protected final void writeEscaped(char c) throws IOException {
+        write(scratch, 0, StringEscaper.escape(c, scratch, 0));
+    }
+
+    /**
+     * Inserts the comma before a name if needed
+     */
+    private void beforeName() throws IOException {
+        if (stack[depth - 1] == NONEMPTY_OBJECT) write(',');
+        stack[depth - 1] = DANGLING_NAME;
+    }
+
+    /**
+     * Inserts the comma before a value if needed
+     */
+    private void beforeValue() throws IOException {
+        switch (stack[depth - 1]) {
+            case NONEMPTY_ARRAY:
+                write(',');
+                break;
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                break;
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                break;
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Starts an array which is written in batches, the batch starts with the opening bracket
+     */
+    private char[] beginBatch() throws IOException {
+        beforeValue();
+        char[] b = batch;
+        if (b == null) batch = b = new char[BATCH_SIZE];
+        b[0] = '[';
+        return b;
+    }
+
+    private int writeBatch(char[] b, int length) throws IOException {
+        write(b, 0, length);
+        return 0;
+    }
+
+    private JsonWriter endBatch(char[] b, int length) throws IOException {
+        b[length++] = ']';
+        write(b, 0, length);
+        return this;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = context;
+    }
+
+    protected abstract void write(char c) throws IOException;
+
+    protected abstract void write(String s) throws IOException;
+
+    /**
+     * Writes a part of a string, writers which can copy it at once override this
+     *
+     * @param s     the string
+     * @param start the index of the first character
+     * @param end   the index after the last character
+     * @throws IOException if the sink cannot be written
+     */
+    protected void write(String s, int start, int end) throws IOException {
+        for (int i = start; i < end; i++)
+            write(s.charAt(i));
+    }
+
+    /**
+     * Writes ASCII characters, like formatted numbers, writers which can copy them at once override this
+     *
+     * @param chars  the characters
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @throws IOException if the sink cannot be written
+     */
+    protected void write(char[] chars, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++)
+            write(chars[i]);
+    }
+}
@@ -0,0 +1,353 @@
+package parser.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JsonWriter which encodes UTF-8 directly into pooled ByteBuffers.
+ * - ASCII runs are copied without branching per character, keys are copied as prepared bytes
+ * - Full buffers are handed to the sink as they are, channels get them without another copy
+ * - GatheringByteChannels receive several buffers with a single write
+ * - Without a sink the buffers are kept until toByteArray is called
+ * - release or close has to be called to return the buffers to the pool
+ */
+public final class Utf8JsonWriter extends TextJsonWriter {
+    private static final int GATHERED_BUFFERS = 8;
+
+    private final ByteBufferPool pool;
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final int maxPending;
+    private final List<ByteBuffer> pending = new ArrayList<>();
+
+    private ByteBuffer buffer;
+    private byte[] array;
+    private int offset;
+    private int position;
+    private int limit;
+    private long drained;
+
+    private Utf8JsonWriter(ByteBufferPool pool, OutputStream stream, WritableByteChannel channel, int maxPending) {
+        this.pool = pool;
+        this.stream = stream;
+        this.channel = channel;
+        this.maxPending = maxPending;
+        nextBuffer();
+    }
+
+    /**
+     * @param out  the stream the document is written to
+     * @param pool the pool of the buffers, heap buffers are written without a copy
+     * @return the writer
+     */
+    public static Utf8JsonWriter toStream(OutputStream out, ByteBufferPool pool) {
+        return new Utf8JsonWriter(pool, out, null, 0);
+    }
+
+    /**
+     * @param out  the channel the document is written to
+     * @param pool the pool of the buffers, direct buffers are written without a copy
+     * @return the writer
+     */
+    public static Utf8JsonWriter toChannel(WritableByteChannel out, ByteBufferPool pool) {
+        return new Utf8JsonWriter(pool, null, out, (out instanceof GatheringByteChannel) ? GATHERED_BUFFERS : 0);
+    }
+
+    /**
+     * @param pool the pool of the buffers
+     * @return a writer which keeps the document in memory until toByteArray is called
+     */
+    public static Utf8JsonWriter toMemory(ByteBufferPool pool) {
+        return new Utf8JsonWriter(pool, null, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getWritten() {
+        return drained + position;
+    }
+
+    /**
+     * @return the bytes written to a writer created with toMemory
+     */
+    public byte[] toByteArray() {
+        int size = position;
+        for (ByteBuffer b : pending) size += b.remaining();
+
+        byte[] bytes = new byte[size];
+        int at = 0;
+        for (ByteBuffer b : pending) {
+            int length = b.remaining();
+            b.duplicate().get(bytes, at, length);
+            at += length;
+        }
+        buffer.duplicate().position(0).limit(position).get(bytes, at, position);
+        return bytes;
+    }
+
+    @Override
+    protected void write(char c) throws IOException {
+        if (c < 0x80) {
+            if (position == limit) drain();
+            put(position++, (byte) c);
+        } else {
+            write(String.valueOf(c));
+        }
+    }
+
+    @Override
+    protected void write(String s) throws IOException {
+        write(s, 0, s.length());
+    }
+
+    @Override
+    protected void write(String s, int start, int end) throws IOException {
+        int i = start;
+        while (i < end) {
+            if (position == limit) drain();
+
+            // ASCII fast path up to the end of the buffer
+            int runEnd = Math.min(end, i + (limit - position));
+            if (array != null) {
+                byte[] a = array;
+                int p = offset + position;
+                char c;
+                while (i < runEnd && (c = s.charAt(i)) < 0x80) {
+                    a[p++] = (byte) c;
+                    i++;
+                }
+                position = p - offset;
+            } else {
+                char c;
+                while (i < runEnd && (c = s.charAt(i)) < 0x80) {
+                    buffer.put(position++, (byte) c);
+                    i++;
+                }
+            }
+
+            if (i < end && s.charAt(i) >= 0x80) i = writeNonAscii(s, i, end);
+        }
+    }
+
+    /**
+     * Writes a string in quotes while it is encoded.
+     * - ASCII characters are checked for escaping in the loop which copies them, so the string is read once
+     * - A run ends at the end of the buffer or at the first character which is escaped or not ASCII
+     */
+    @Override
+    protected void writeString(String s) throws IOException {
+        write('"');
+        boolean nonAscii = isEscapeNonAscii();
+        int length = s.length();
+        int i = 0;
+        while (i < length) {
+            if (position == limit) drain();
+
+            int runEnd = Math.min(length, i + (limit - position));
+            if (array != null) {
+                byte[] a = array;
+                int p = offset + position;
+                char c;
+                while (i < runEnd && (c = s.charAt(i)) < 0x80 && StringEscaper.isSafe(c)) {
+                    a[p++] = (byte) c;
+                    i++;
+                }
+                position = p - offset;
+            } else {
+                char c;
+                while (i < runEnd && (c = s.charAt(i)) < 0x80 && StringEscaper.isSafe(c)) {
+                    buffer.put(position++, (byte) c);
+                    i++;
+                }
+            }
+
+            if (i < length) {
+                char c = s.charAt(i);
+                if (StringEscaper.needsEscape(c, nonAscii)) {
+                    writeEscaped(c);
+                    i++;
+                } else if (c >= 0x80) {
+                    i = writeNonAscii(s, i, length);
+                }
+            }
+        }
+        write('"');
+    }
+
+    @Override
+    protected void write(char[] chars, int offset, int length) throws IOException {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            if (position == limit) drain();
+            // the chars can be longer than a small buffer, so they are copied in slices like bytes
+            int count = Math.min(end - i, limit - position);
+            if (array != null) {
+                byte[] a = array;
+                int p = this.offset + position;
+                for (int j = i; j < i + count; j++) a[p++] = (byte) chars[j];
+            } else {
+                for (int j = i; j < i + count; j++) buffer.put(position + j - i, (byte) chars[j]);
+            }
+            position += count;
+            i += count;
+        }
+    }
+
+    @Override
+    protected void writeKey(JsonKey key) throws IOException {
+        writeBytes(key.utf8());
+    }
+
+    @Override
+    protected void writeFragment(JsonFragment fragment) throws IOException {
+        writeBytes(fragment.utf8());
+    }
+
+    /**
+     * Writes the next character which is not ASCII
+     *
+     * @return the index after the written character
+     */
+    private int writeNonAscii(String s, int i, int length) throws IOException {
+        if (limit - position < 4) drain();
+
+        char c = s.charAt(i);
+        if (c < 0x800) {
+            put(position++, (byte) (0xc0 | (c >> 6)));
+            put(position++, (byte) (0x80 | (c & 0x3f)));
+            return i + 1;
+        }
+        if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, s.charAt(i + 1));
+            put(position++, (byte) (0xf0 | (codePoint >> 18)));
+            put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+            put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+            put(position++, (byte) (0x80 | (codePoint & 0x3f)));
+            return i + 2;
+        }
+        if (Character.isSurrogate(c)) {
+            // unpaired surrogates are replaced like String.getBytes does
+            put(position++, (byte) '?');
+            return i + 1;
+        }
+        put(position++, (byte) (0xe0 | (c >> 12)));
+        put(position++, (byte) (0x80 | ((c >> 6) & 0x3f)));
+        put(position++, (byte) (0x80 | (c & 0x3f)));
+        return i + 1;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        int i = 0;
+        while (i < bytes.length) {
+            if (position == limit) drain();
+            int count = Math.min(bytes.length - i, limit - position);
+            buffer.put(position, bytes, i, count);
+            position += count;
+            i += count;
+        }
+    }
+
+    private void put(int index, byte b) {
+        if (array != null) array[offset + index] = b;
+        else buffer.put(index, b);
+    }
+
+    /**
+     * Makes room in the current buffer, either by queueing it or by writing it to the sink
+     */
+    private void drain() throws IOException {
+        buffer.position(0).limit(position);
+        pending.add(buffer);
+        if (pending.size() > maxPending) writePending();
+        nextBuffer();
+    }
+
+    private void nextBuffer() {
+        if (buffer != null) drained += position;
+        buffer = pool.acquire();
+        array = buffer.hasArray() ? buffer.array() : null;
+        offset = buffer.hasArray() ? buffer.arrayOffset() : 0;
+        position = 0;
+        limit = buffer.capacity();
+    }
+
+    private void writePending() throws IOException {
+        if (pending.isEmpty()) return;
+
+        if (stream != null) {
+            for (ByteBuffer b : pending) {
+                if (b.hasArray()) stream.write(b.array(), b.arrayOffset() + b.position(), b.remaining());
+                else {
+                    byte[] bytes = new byte[b.remaining()];
+                    b.get(bytes);
+                    stream.write(bytes);
+                }
+            }
+        } else if (channel instanceof GatheringByteChannel && pending.size() > 1) {
+            ByteBuffer[] buffers = pending.toArray(new ByteBuffer[0]);
+            GatheringByteChannel gathering = (GatheringByteChannel) channel;
+            while (buffers[buffers.length - 1].hasRemaining()) gathering.write(buffers);
+        } else if (channel != null) {
+            for (ByteBuffer b : pending) {
+                while (b.hasRemaining()) channel.write(b);
+            }
+        } else {
+            return;
+        }
+
+        for (ByteBuffer b : pending) pool.release(b);
+        pending.clear();
+    }
+
+    /**
+     * Writes all buffered bytes into the sink, a writer created with toMemory keeps them
+     *
+     * @throws IOException if the sink cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        if (stream == null && channel == null) return;
+
+        if (position > 0) {
+            buffer.position(0).limit(position);
+            pending.add(buffer);
+            writePending();
+            nextBuffer();
+        } else {
+            writePending();
+        }
+        if (stream != null) stream.flush();
+    }
+
+    /**
+     * Returns all buffers to the pool, the writer cannot be used afterwards
+     */
+    public void release() {
+        for (ByteBuffer b : pending) pool.release(b);
+        pending.clear();
+        if (buffer != null) pool.release(buffer);
+        buffer = null;
+        array = null;
+    }
+
+    /**
+     * Flushes the writer, returns its buffers to the pool and closes the sink
+     *
+     * @throws IOException if the sink cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            release();
+            if (stream != null) stream.close();
+            if (channel != null) channel.close();
+        }
+    }
+}
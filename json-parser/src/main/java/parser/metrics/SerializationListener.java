@@ -0,0 +1,42 @@
+package parser.metrics;
+
+/**
+ * Receives the measurements of a JSONParser, it is only called while it is set on the parser
+ * - Objects are measured including their nested objects and lists
+ * - Values are measured per call of a handler, values which compiled or generated serializers write inline are only part of their object
+ * - written is the number of characters or bytes, 0 if the writer does not count them
+ * - Listeners are called concurrently by parallel lists and shared parsers and have to be thread-safe
+ *
+ * @see SerializationMetrics
+ */
+public interface SerializationListener {
+    /**
+     * @param type    the class of the object
+     * @param written the size of its JSON Object
+     * @param nanos   the time it took to write
+     */
+    default void objectWritten(Class<?> type, long written, long nanos) {
+    }
+
+    /**
+     * @param handlerType the type of the handler, like STRING or the name of a CUSTOM handler
+     * @param written     the size of the value
+     * @param nanos       the time it took to write
+     */
+    default void valueWritten(String handlerType, long written, long nanos) {
+    }
+
+    /**
+     * @param type  the class of the object
+     * @param cause the reason it could not be written
+     */
+    default void objectFailed(Class<?> type, Exception cause) {
+    }
+
+    /**
+     * @param handlerType the type of the handler
+     * @param cause       the reason the value could not be written
+     */
+    default void valueFailed(String handlerType, Exception cause) {
+    }
+}
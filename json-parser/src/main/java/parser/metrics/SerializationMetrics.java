@@ -0,0 +1,115 @@
+package parser.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * SerializationListener which keeps Statistics per class and per handler type
+ * - Recording only touches striped counters, the Statistics of a class are created the first time it is written
+ * - Can be published on the platform MBeanServer, so the counters are visible in JConsole or any JMX client
+ *
+ * @see parser.JSONParser#setListener(SerializationListener)
+ */
+public final class SerializationMetrics implements SerializationListener, SerializationMetricsMXBean {
+    private final List<Statistics> classStatistics = new CopyOnWriteArrayList<>();
+    private final ClassValue<Statistics> classes = new ClassValue<>() {
+        @Override
+        protected Statistics computeValue(Class<?> type) {
+            Statistics statistics = new Statistics(type.getName());
+            classStatistics.add(statistics);
+            return statistics;
+        }
+    };
+    private final ConcurrentHashMap<String, Statistics> handlers = new ConcurrentHashMap<>();
+
+    @Override
+    public void objectWritten(Class<?> type, long written, long nanos) {
+        classes.get(type).record(written, nanos);
+    }
+
+    @Override
+    public void valueWritten(String handlerType, long written, long nanos) {
+        handler(handlerType).record(written, nanos);
+    }
+
+    @Override
+    public void objectFailed(Class<?> type, Exception cause) {
+        classes.get(type).fail();
+    }
+
+    @Override
+    public void valueFailed(String handlerType, Exception cause) {
+        handler(handlerType).fail();
+    }
+
+    /**
+     * @param type the serialized class
+     * @return its statistics, empty if it was not written yet
+     */
+    public Statistics getClassStatistics(Class<?> type) {
+        return classes.get(type);
+    }
+
+    /**
+     * @param handlerType the type of the handler
+     * @return its statistics, empty if it was not called yet
+     */
+    public Statistics getHandlerStatistics(String handlerType) {
+        return handler(handlerType);
+    }
+
+    @Override
+    public List<Statistics> getClassStatistics() {
+        return new ArrayList<>(classStatistics);
+    }
+
+    @Override
+    public List<Statistics> getHandlerStatistics() {
+        return new ArrayList<>(handlers.values());
+    }
+
+    @Override
+    public void reset() {
+        for (Statistics statistics : classStatistics) statistics.reset();
+        for (Statistics statistics : handlers.values()) statistics.reset();
+    }
+
+    /**
+     * Publishes the metrics on the platform MBeanServer
+     *
+     * @param name the name which distinguishes the metrics of multiple parsers
+     * @return the name the metrics are registered with
+     * @throws JMException if the name is invalid or already registered
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = objectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Removes the metrics from the platform MBeanServer
+     *
+     * @param name the name they were registered with
+     * @throws JMException if they are not registered
+     */
+    public static void unregister(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.unregisterMBean(objectName(name));
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("dev.marconyous.jsonparser:type=SerializationMetrics,name=" + ObjectName.quote(name));
+    }
+
+    private Statistics handler(String handlerType) {
+        Statistics statistics = handlers.get(handlerType);
+        return (statistics != null) ? statistics : handlers.computeIfAbsent(handlerType, Statistics::new);
+    }
+}
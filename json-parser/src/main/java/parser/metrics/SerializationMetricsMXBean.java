@@ -0,0 +1,25 @@
+package parser.metrics;
+
+import java.util.List;
+
+/**
+ * The management interface of SerializationMetrics, the Statistics are published as CompositeData
+ *
+ * @see SerializationMetrics#register(String)
+ */
+public interface SerializationMetricsMXBean {
+    /**
+     * @return the statistics of every serialized class
+     */
+    List<Statistics> getClassStatistics();
+
+    /**
+     * @return the statistics of every handler type
+     */
+    List<Statistics> getHandlerStatistics();
+
+    /**
+     * Resets all counters
+     */
+    void reset();
+}
@@ -0,0 +1,154 @@
+package parser.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The measurements of one class or handler type
+ * - Every counter is a LongAdder, so threads which record at the same time do not contend on one field
+ * - The durations are counted in a histogram with one bucket per power of two nanoseconds
+ * - The getters read the counters while they may change, they are not one consistent snapshot
+ */
+public final class Statistics {
+    private static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+    Statistics(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKETS; i++) histogram[i] = new LongAdder();
+    }
+
+    void record(long written, long nanos) {
+        count.increment();
+        this.written.add(written);
+        this.nanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram[bucket(nanos)].increment();
+    }
+
+    void fail() {
+        failures.increment();
+    }
+
+    void reset() {
+        count.reset();
+        written.reset();
+        nanos.reset();
+        failures.reset();
+        maxNanos.reset();
+        for (LongAdder bucket : histogram) bucket.reset();
+    }
+
+    /**
+     * @return the name of the class or the type of the handler
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of successful writes
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the characters or bytes produced by all writes
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * @return the number of writes which failed
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the time spent in all writes
+     */
+    public long getTotalNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * @return the mean duration of a write, 0 if there was none
+     */
+    public long getMeanNanos() {
+        long n = count.sum();
+        return (n == 0) ? 0 : nanos.sum() / n;
+    }
+
+    /**
+     * @return the longest write
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return the upper bound of the median duration
+     */
+    public long getMedianNanos() {
+        return getPercentileNanos(0.5);
+    }
+
+    /**
+     * @return the upper bound of the duration of 99 percent of the writes
+     */
+    public long getP99Nanos() {
+        return getPercentileNanos(0.99);
+    }
+
+    /**
+     * @param percentile the share of the writes, between 0 and 1
+     * @return the upper bound of the bucket which contains the percentile, 0 if there were no writes
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = getHistogram();
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) return upperBound(i);
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * @return the number of writes per bucket, bucket i holds the durations below 2^i nanoseconds
+     */
+    public long[] getHistogram() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) counts[i] = histogram[i].sum();
+        return counts;
+    }
+
+    private static int bucket(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    private static long upperBound(int bucket) {
+        return (bucket >= 63) ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{count=" + getCount() + ", written=" + getWritten() + ", failures=" + getFailures()
+                + ", mean=" + getMeanNanos() + "ns, p99=" + getP99Nanos() + "ns, max=" + getMaxNanos() + "ns}";
+    }
+}
@@ -0,0 +1,295 @@
+package parser.query;
+
+import parser.enums.JSONToken;
+import parser.io.JsonNames;
+import parser.io.JsonReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Compiled query which reads selected values out of a document while it is scanned, without building a tree.
+ * - JSONPath subset: $, .name, ['name'], ['a','b'], [0], [0,2], [*] and .* like $.persons[*].age
+ * - JSON Pointer: /persons/0/age, with ~1 for / and ~0 for ~, a number selects an array element or a name
+ * - Names are matched with JsonNames without creating Strings, values which cannot match are skipped by bracket counting
+ * - Once all names of a step were found or its last index was passed, the rest of the object or array is skipped at once
+ * - A definite path, one without wildcards and unions, stops reading after its match
+ * - Recursive descent (..) and filters are not supported
+ *
+ * @see JsonReader#skipValue()
+ */
+public final class JsonPath {
+    private static final JsonNames NO_NAMES = JsonNames.of();
+
+    private final String expression;
+    private final Step[] steps;
+    private final boolean definite;
+
+    private JsonPath(String expression, List<Step> steps) {
+        this.expression = expression;
+        this.steps = steps.toArray(new Step[0]);
+        boolean definite = true;
+        for (Step step : this.steps) definite &= step.isDefinite();
+        this.definite = definite;
+    }
+
+    /**
+     * Reads a matched value, like a number with nextLong or the bytes of an object with nextRawValue, which are encoded like the document
+     */
+    @FunctionalInterface
+    public interface Match {
+        /**
+         * @param reader the reader positioned before the value, the value has to be read or skipped exactly once
+         * @throws IOException if the value cannot be read
+         */
+        void onMatch(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * @param expression a JSONPath starting with $ or a JSON Pointer starting with / (the empty pointer selects the document)
+     * @return the compiled path, it can be shared across threads
+     * @throws IllegalArgumentException if the expression is malformed or uses an unsupported feature
+     */
+    public static JsonPath compile(String expression) {
+        if (expression.isEmpty() || expression.charAt(0) == '/') return new JsonPath(expression, pointer(expression));
+        if (expression.charAt(0) == '$') return new JsonPath(expression, path(expression));
+        throw new IllegalArgumentException("A path starts with $ and a pointer with /: " + expression);
+    }
+
+    /**
+     * @return if the path selects at most one value
+     */
+    public boolean isDefinite() {
+        return definite;
+    }
+
+    /**
+     * Evaluates the path on the next value of the reader, matches are passed in document order
+     *
+     * @param reader the reader positioned before the value
+     * @param match  called with the reader positioned before every matched value
+     * @throws IOException if the document cannot be read or is malformed
+     */
+    public void evaluate(JsonReader reader, Match match) throws IOException {
+        evaluate(reader, 0, match);
+    }
+
+    /**
+     * Reads every matched integer, null values are skipped
+     *
+     * @param json   the UTF-8 encoded document
+     * @param action receives the values
+     * @throws IOException if the document is malformed or a matched value is no integer
+     */
+    public void forEachLong(byte[] json, LongConsumer action) throws IOException {
+        evaluate(JsonReader.of(json), reader -> {
+            if (reader.peek() == JSONToken.NULL) reader.nextNull();
+            else action.accept(reader.nextLong());
+        });
+    }
+
+    /**
+     * Reads every matched number, null values are skipped
+     *
+     * @param json   the UTF-8 encoded document
+     * @param action receives the values
+     * @throws IOException if the document is malformed or a matched value is no number
+     */
+    public void forEachDouble(byte[] json, DoubleConsumer action) throws IOException {
+        evaluate(JsonReader.of(json), reader -> {
+            if (reader.peek() == JSONToken.NULL) reader.nextNull();
+            else action.accept(reader.nextDouble());
+        });
+    }
+
+    /**
+     * @param json the UTF-8 encoded document
+     * @return the UTF-8 encoded JSON of every matched value, as views of the document
+     * @throws IOException if the document is malformed
+     */
+    public List<ByteBuffer> rawValues(byte[] json) throws IOException {
+        List<ByteBuffer> values = new ArrayList<>();
+        evaluate(JsonReader.of(json), reader -> values.add(reader.nextRawValue()));
+        return values;
+    }
+
+    /**
+     * @return if the evaluation is complete because the match of a definite path was read
+     */
+    private boolean evaluate(JsonReader reader, int index, Match match) throws IOException {
+        if (index == steps.length) {
+            match.onMatch(reader);
+            return definite;
+        }
+
+        Step step = steps[index];
+        JSONToken token = reader.peek();
+        if (token == JSONToken.BEGIN_OBJECT && (step.wildcard || step.names != null)) {
+            reader.beginObject();
+            int found = 0;
+            while (reader.hasNext()) {
+                int name = reader.nextName(step.wildcard ? NO_NAMES : step.names);
+                if (!step.wildcard && name < 0) {
+                    reader.skipValue();
+                    continue;
+                }
+                if (evaluate(reader, index + 1, match)) return true;
+                if (!step.wildcard && ++found == step.names.size()) {
+                    reader.skipRemaining();
+                    return false;
+                }
+            }
+            reader.endObject();
+        } else if (token == JSONToken.BEGIN_ARRAY && (step.wildcard || step.indices != null)) {
+            reader.beginArray();
+            int next = 0;
+            for (int i = 0; reader.hasNext(); i++) {
+                if (!step.wildcard && i != step.indices[next]) {
+                    reader.skipValue();
+                    continue;
+                }
+                if (evaluate(reader, index + 1, match)) return true;
+                if (!step.wildcard && ++next == step.indices.length) {
+                    reader.skipRemaining();
+                    return false;
+                }
+            }
+            reader.endArray();
+        } else {
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    private static List<Step> pointer(String pointer) {
+        List<Step> steps = new ArrayList<>();
+        int start = 1;
+        while (start <= pointer.length()) {
+            int end = pointer.indexOf('/', start);
+            if (end < 0) end = pointer.length();
+            String token = pointer.substring(start, end);
+            if (token.matches(".*~[^01].*|.*~$"))
+                throw new IllegalArgumentException("Only ~0 and ~1 can be escaped in a pointer: " + pointer);
+            token = token.replace("~1", "/").replace("~0", "~");
+            boolean index = token.matches("0|[1-9][0-9]{0,8}");
+            steps.add(new Step(new String[]{token}, index ? new int[]{Integer.parseInt(token)} : null, false));
+            start = end + 1;
+        }
+        return steps;
+    }
+
+    private static List<Step> path(String path) {
+        List<Step> steps = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                if (i + 1 < path.length() && path.charAt(i + 1) == '.')
+                    throw new IllegalArgumentException("Recursive descent is not supported: " + path);
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+                String name = path.substring(i + 1, end);
+                if (name.isEmpty()) throw new IllegalArgumentException("Expected a name at " + (i + 1) + ": " + path);
+                steps.add(name.equals("*") ? new Step(null, null, true) : new Step(new String[]{name}, null, false));
+                i = end;
+            } else if (c == '[') {
+                int end = closingBracket(path, i + 1);
+                steps.add(selector(path, path.substring(i + 1, end).trim()));
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' at " + i + ": " + path);
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * @return the index of the bracket which closes a selector, brackets in quoted names do not count
+     */
+    private static int closingBracket(String path, int from) {
+        char quote = 0;
+        for (int i = from; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') i++;
+                else if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ']') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated selector: " + path);
+    }
+
+    private static Step selector(String path, String selector) {
+        if (selector.equals("*")) return new Step(null, null, true);
+        if (selector.isEmpty()) throw new IllegalArgumentException("Empty selector: " + path);
+
+        char first = selector.charAt(0);
+        if (first == '\'' || first == '"') {
+            Set<String> names = new LinkedHashSet<>();
+            int i = 0;
+            while (true) {
+                char quote = selector.charAt(i);
+                if (quote != '\'' && quote != '"') throw new IllegalArgumentException("Expected a quoted name: " + path);
+                StringBuilder name = new StringBuilder();
+                for (i++; i < selector.length() && selector.charAt(i) != quote; i++) {
+                    if (selector.charAt(i) == '\\' && i + 1 < selector.length()) i++;
+                    name.append(selector.charAt(i));
+                }
+                if (i == selector.length()) throw new IllegalArgumentException("Unterminated name: " + path);
+                names.add(name.toString());
+                i = skipSpaces(selector, i + 1);
+                if (i == selector.length()) break;
+                if (selector.charAt(i) != ',') throw new IllegalArgumentException("Expected ',' between names: " + path);
+                i = skipSpaces(selector, i + 1);
+            }
+            return new Step(names.toArray(new String[0]), null, false);
+        }
+
+        try {
+            int[] indices = Arrays.stream(selector.split(",")).map(String::trim).mapToInt(Integer::parseInt).sorted().distinct().toArray();
+            if (indices[0] < 0) throw new IllegalArgumentException("Negative indices are not supported: " + path);
+            return new Step(null, indices, false);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected *, quoted names or indices: " + path);
+        }
+    }
+
+    private static int skipSpaces(String s, int i) {
+        while (i < s.length() && s.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * One level of the path, it selects names of objects, indices of arrays or everything
+     */
+    private static final class Step {
+        private final JsonNames names;
+        private final int[] indices;
+        private final boolean wildcard;
+
+        private Step(String[] names, int[] indices, boolean wildcard) {
+            this.names = (names == null) ? null : JsonNames.of(names);
+            this.indices = indices;
+            this.wildcard = wildcard;
+        }
+
+        private boolean isDefinite() {
+            return !wildcard && (names == null || names.size() == 1) && (indices == null || indices.length == 1);
+        }
+    }
+}
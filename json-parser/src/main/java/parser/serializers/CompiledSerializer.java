@@ -0,0 +1,35 @@
+package parser.serializers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Serializer made of one specialized PropertyWriter per element
+ */
+final class CompiledSerializer implements ObjectSerializer<Object> {
+    private final Class<Object> type;
+    private final PropertyWriter[] writers;
+
+    @SuppressWarnings("unchecked")
+    CompiledSerializer(Class<?> type, PropertyWriter[] writers) {
+        this.type = (Class<Object>) type;
+        this.writers = writers;
+    }
+
+    @Override
+    public Class<Object> getType() {
+        return type;
+    }
+
+    @Override
+    public void serialize(Object object, JsonWriter out, JSONParser parser) throws ReflectiveOperationException, ElementTypeException, JsonSerializationException, IOException {
+        out.beginObject();
+        for (PropertyWriter writer : writers)
+            writer.write(object, out, parser);
+        out.endObject();
+    }
+}
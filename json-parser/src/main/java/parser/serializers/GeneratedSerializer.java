@@ -0,0 +1,53 @@
+package parser.serializers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.handlers.ElementHandler;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Serializer which was generated at build time by the json-parser-processor.
+ * - Implementations are registered in META-INF/services and found by the SerializerRegistry
+ * - Values of the inlined types are written like the default handlers would, without calling them
+ * - Values of all other types are written with JSONParser.writeValue and the handlers given to serialize
+ *
+ * @param <T> the type of the serialized objects
+ * @see SerializerRegistry
+ */
+public interface GeneratedSerializer<T> {
+    /**
+     * @return the class of the objects this serializer can write
+     */
+    Class<T> getType();
+
+    /**
+     * @return the listName of the JsonSerializableObject annotation
+     */
+    String getListName();
+
+    /**
+     * @return the types of the handlers passed to serialize, in the same order
+     */
+    String[] getHandlerTypes();
+
+    /**
+     * @return the types which are written without calling their handler
+     */
+    String[] getInlinedTypes();
+
+    /**
+     * Writes the JSON Object of an object
+     *
+     * @param object   the object to serialize, never null
+     * @param out      the writer to write the JSON Object to
+     * @param handlers the handlers of the types returned by getHandlerTypes
+     * @param parser   the parser which writes the values of the handlers
+     * @throws ElementTypeException       if a value cannot be converted by its handler
+     * @throws JsonSerializationException if a nested value cannot be serialized
+     * @throws IOException                if the writer cannot be written
+     */
+    void serialize(T object, JsonWriter out, ElementHandler[] handlers, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException;
+}
@@ -0,0 +1,34 @@
+package parser.serializers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Serializer which is dedicated to a single class annotated with JsonSerializableObject
+ *
+ * @param <T> the type of the serialized objects
+ * @see SerializerCompiler
+ */
+public interface ObjectSerializer<T> {
+    /**
+     * @return the class of the objects this serializer can write
+     */
+    Class<T> getType();
+
+    /**
+     * Writes the JSON Object of an object
+     *
+     * @param object the object to serialize, never null
+     * @param out    the writer to write the JSON Object to
+     * @param parser the parser which writes nested values
+     * @throws ReflectiveOperationException if a value cannot be read
+     * @throws ElementTypeException         if a value cannot be converted by its handler
+     * @throws JsonSerializationException   if a nested value cannot be serialized
+     * @throws IOException                  if the writer cannot be written
+     */
+    void serialize(T object, JsonWriter out, JSONParser parser) throws ReflectiveOperationException, ElementTypeException, JsonSerializationException, IOException;
+}
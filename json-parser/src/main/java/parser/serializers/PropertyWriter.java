@@ -0,0 +1,16 @@
+package parser.serializers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes a single key value pair of an object
+ */
+@FunctionalInterface
+interface PropertyWriter {
+    void write(Object object, JsonWriter out, JSONParser parser) throws ReflectiveOperationException, ElementTypeException, JsonSerializationException, IOException;
+}
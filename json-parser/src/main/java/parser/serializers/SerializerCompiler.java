@@ -0,0 +1,91 @@
+package parser.serializers;
+
+import parser.SerializationPlan;
+import parser.accessors.PropertyAccessor;
+import parser.handlers.DefaultHandlers;
+import parser.handlers.ElementHandler;
+import parser.handlers.PrimitiveElementHandler;
+import parser.io.JsonKey;
+
+import java.util.List;
+
+/**
+ * Compiles a SerializationPlan and the handlers of a parser into a dedicated ObjectSerializer.
+ * - The prepared keys and handlers are resolved once and captured by one writer per property
+ * - Values handled by a default handler are appended directly, primitives without boxing
+ * - Values of all other handlers are passed to the handler
+ *
+ * @see ObjectSerializer
+ */
+public final class SerializerCompiler {
+    private SerializerCompiler() {
+    }
+
+    /**
+     * @param plan     the plan of the class
+     * @param handlers the handlers of the properties in the order of the plan
+     * @return the serializer or null if the class has to be serialized through the plan
+     */
+    public static ObjectSerializer<Object> compile(SerializationPlan plan, ElementHandler[] handlers) {
+        if (!plan.isSerializable() || plan.getError() != null) return null;
+
+        List<SerializationPlan.Property> properties = plan.getProperties();
+        PropertyWriter[] writers = new PropertyWriter[properties.size()];
+        for (int i = 0; i < writers.length; i++) {
+            // missing handlers are reported by the plan based serialization
+            if (handlers[i] == null) return null;
+
+            SerializationPlan.Property property = properties.get(i);
+            writers[i] = writer(property.getJsonKey(), property.getAccessor(), handlers[i]);
+        }
+        return new CompiledSerializer(plan.getType(), writers);
+    }
+
+    private static PropertyWriter writer(JsonKey key, PropertyAccessor accessor, ElementHandler handler) {
+        Class<?> valueType = accessor.getValueType();
+        Class<?> handlerClass = handler.getClass();
+
+        if (PrimitiveElementHandler.usesPrimitives(handler, valueType)) {
+            PrimitiveElementHandler primitive = (PrimitiveElementHandler) handler;
+
+            if (valueType == double.class) {
+                if (handlerClass == DefaultHandlers.DoubleHandler.class)
+                    return (o, out, parser) -> out.name(key).value(accessor.getDouble(o));
+                return (o, out, parser) -> primitive.writeDouble(accessor.getDouble(o), out.name(key));
+            }
+            if (valueType == float.class) {
+                if (handlerClass == DefaultHandlers.FloatHandler.class)
+                    return (o, out, parser) -> out.name(key).value(accessor.getFloat(o));
+                return (o, out, parser) -> primitive.writeFloat(accessor.getFloat(o), out.name(key));
+            }
+            if (valueType == boolean.class) {
+                if (handlerClass == DefaultHandlers.BooleanHandler.class)
+                    return (o, out, parser) -> out.name(key).value(accessor.getBoolean(o));
+                return (o, out, parser) -> primitive.writeBoolean(accessor.getBoolean(o), out.name(key));
+            }
+            if (handlerClass == DefaultHandlers.IntegerHandler.class)
+                return (o, out, parser) -> out.name(key).value(accessor.getLong(o));
+            return (o, out, parser) -> primitive.writeLong(accessor.getLong(o), out.name(key));
+        }
+
+        if (handlerClass == DefaultHandlers.StringHandler.class) {
+            return (o, out, parser) -> {
+                Object value = accessor.get(o);
+                out.name(key);
+                if (value instanceof String) out.value((String) value);
+                else parser.writeValue(handler, value, out);
+            };
+        }
+        if (handlerClass == DefaultHandlers.IntegerHandler.class) {
+            return (o, out, parser) -> {
+                Object value = accessor.get(o);
+                out.name(key);
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+                    out.value(((Number) value).longValue());
+                else parser.writeValue(handler, value, out);
+            };
+        }
+
+        return (o, out, parser) -> parser.writeValue(handler, accessor.get(o), out.name(key));
+    }
+}
@@ -0,0 +1,105 @@
+package parser.serializers;
+
+import exceptions.ElementTypeException;
+import exceptions.JsonSerializationException;
+import parser.JSONParser;
+import parser.enums.JSONType;
+import parser.handlers.DefaultHandlers;
+import parser.handlers.ElementHandler;
+import parser.io.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the GeneratedSerializers on the classpath.
+ * - The serializers are loaded once with a ServiceLoader
+ * - A generated serializer is only used if the handlers of its inlined types are the default handlers
+ *
+ * @see GeneratedSerializer
+ */
+public final class SerializerRegistry {
+    private static final Map<String, Class<?>> DEFAULT_HANDLERS = Map.of(
+            JSONType.INTEGER.name(), DefaultHandlers.IntegerHandler.class,
+            JSONType.FLOAT.name(), DefaultHandlers.FloatHandler.class,
+            JSONType.DOUBLE.name(), DefaultHandlers.DoubleHandler.class,
+            JSONType.BOOLEAN.name(), DefaultHandlers.BooleanHandler.class,
+            JSONType.STRING.name(), DefaultHandlers.StringHandler.class
+    );
+
+    private SerializerRegistry() {
+    }
+
+    /**
+     * Holder of the loaded serializers, which are loaded when the registry is first used
+     */
+    private static final class Loaded {
+        private static final Map<Class<?>, GeneratedSerializer<?>> SERIALIZERS = load();
+
+        private static Map<Class<?>, GeneratedSerializer<?>> load() {
+            Map<Class<?>, GeneratedSerializer<?>> serializers = new HashMap<>();
+            // the service type is the raw class, every element is checked by its getType
+            @SuppressWarnings("rawtypes")
+            Iterator<GeneratedSerializer> iter = ServiceLoader.load(GeneratedSerializer.class, SerializerRegistry.class.getClassLoader()).iterator();
+            while (true) {
+                try {
+                    if (!iter.hasNext()) break;
+                    GeneratedSerializer<?> serializer = iter.next();
+                    serializers.put(serializer.getType(), serializer);
+                } catch (ServiceConfigurationError e) {
+                    // a broken serializer is skipped, its class is serialized with reflection
+                }
+            }
+            return Map.copyOf(serializers);
+        }
+    }
+
+    /**
+     * @param type the class to find the serializer for
+     * @return the generated serializer of the class or null if there is none
+     */
+    public static GeneratedSerializer<?> find(Class<?> type) {
+        return Loaded.SERIALIZERS.get(type);
+    }
+
+    /**
+     * Binds the generated serializer of a class to the handlers of a parser
+     *
+     * @param type     the class to serialize
+     * @param handlers the handlers of the parser
+     * @return the serializer or null if there is no generated serializer which can be used with these handlers
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjectSerializer<Object> bind(Class<?> type, Map<String, ElementHandler> handlers) {
+        GeneratedSerializer<Object> generated = (GeneratedSerializer<Object>) find(type);
+        if (generated == null) return null;
+
+        for (String inlined : generated.getInlinedTypes()) {
+            ElementHandler handler = handlers.get(inlined);
+            if (handler == null || handler.getClass() != DEFAULT_HANDLERS.get(inlined)) return null;
+        }
+
+        String[] handlerTypes = generated.getHandlerTypes();
+        ElementHandler[] bound = new ElementHandler[handlerTypes.length];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = handlers.get(handlerTypes[i]);
+            if (bound[i] == null) return null;
+        }
+
+        return new ObjectSerializer<>() {
+            @Override
+            public Class<Object> getType() {
+                return generated.getType();
+            }
+
+            @Override
+            public void serialize(Object object, JsonWriter out, JSONParser parser) throws ElementTypeException, JsonSerializationException, IOException {
+                generated.serialize(object, out, bound, parser);
+            }
+        };
+    }
+}
@@ -0,0 +1,1001 @@
+package parser;
+
+import parser.accessors.AccessorMode;
+import parser.annotations.JsonField;
+import parser.annotations.JsonMethod;
+import parser.annotations.JsonSerializableObject;
+import parser.cache.FragmentCache;
+import parser.enums.DataFormat;
+import parser.enums.JSONToken;
+import parser.enums.JSONType;
+import parser.enums.ParserResponseType;
+import parser.handlers.DefaultHandlers;
+import parser.handlers.HandlerRegistry;
+import parser.io.ByteBufferPool;
+import parser.io.CborReader;
+import parser.io.CborWriter;
+import parser.io.JsonFragment;
+import parser.io.JsonKey;
+import parser.io.JsonNames;
+import parser.io.JsonReader;
+import parser.io.JsonWriter;
+import parser.io.JsonWriterPool;
+import parser.io.PooledJsonWriter;
+import parser.io.Utf8JsonWriter;
+import parser.metrics.SerializationMetrics;
+import parser.query.JsonPath;
+import exceptions.ElementTypeException;
+import exceptions.JsonParseException;
+import exceptions.JsonSerializationException;
+import document.JsonDocument;
+import formatter.JSONFormatter;
+import org.junit.jupiter.api.Test;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JSONParserTest {
+
+    @org.junit.jupiter.api.Test
+    void testObjectToJSON() {
+        JSONParser parser = new JSONParser();
+        Address address = new Address(new Person("Marck der Nyme", 69), "Kerberstrasse 420");
+        String s = null;
+        try {
+            s = parser.objectToJSON(address);
+        } catch (JsonSerializationException e) {
+            e.printStackTrace();
+        }
+
+        assertEquals("{\"address\":\"Kerberstrasse 420\",\"person\":{\"name\":\"Marck der Nyme\",\"age\":69}}", s);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testListToJSON() {
+        List<Person> persons = new ArrayList<>();
+        persons.add(new Person("Marc Andri Fuchs", 16));
+        persons.add(new Person("Tim Jan Irmler", 18));
+
+        JSONParser parser = new JSONParser();
+        String s = null;
+        try {
+            s = parser.listToJSON(persons, Person.class, ParserResponseType.OBJECT_LIST);
+        } catch (JsonSerializationException e) {
+            e.printStackTrace();
+        }
+
+        System.out.println(JSONFormatter.format(s));
+
+        assertEquals("{\"persons\":[{\"name\":\"Marc Andri Fuchs\",\"age\":16},{\"name\":\"Tim Jan Irmler\",\"age\":18}]}", s);
+    }
+
+    @Test
+    void format() {
+        JSONParser parser = new JSONParser();
+        try {
+            String json = parser.objectToJSON(new Person("Marc[] Andri, Fuchs{}", 16));
+            System.out.println(JSONFormatter.format(json));
+        } catch (JsonSerializationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testFormatter() throws JsonSerializationException, IOException {
+        String json = "{\"a\" : [1, {}, []], \"b\":\"x\\\"{,}\\\\\"}";
+        assertEquals("{\n\t\"a\":[\n\t\t1,\n\t\t{},\n\t\t[]\n\t],\n\t\"b\":\"x\\\"{,}\\\\\"\n}", JSONFormatter.format(json));
+        assertEquals("{\"a\":[1,{},[]],\"b\":\"x\\\"{,}\\\\\"}", JSONFormatter.minify().apply(json));
+        assertEquals("{\n  \"a\":[\n    1,\n    {},\n    []\n  ],\n  \"b\":\"x\\\"{,}\\\\\"\n}", JSONFormatter.spaces(2).apply(json));
+        assertEquals("{\"n\":1}\n{\"n\":2}\n", JSONFormatter.minify().apply("{ \"n\": 1 }\n{ \"n\": 2 }\n"));
+        assertEquals("12\n-3.5\n\"a b\"\ntrue\n", JSONFormatter.minify().apply("12\n-3.5\n\"a b\"\ntrue\n"));
+        assertEquals("12\n\"a\"\nnull\n[\n\t1\n]", JSONFormatter.format("12 \"a\"null [1]"));
+
+        JSONParser parser = new JSONParser();
+        List<Person> persons = List.of(new Person("Zo\u00eb", 1), new Person("Tim", 2));
+        String expected = JSONFormatter.spaces(4).apply(parser.listToJSON(persons, Person.class, ParserResponseType.OBJECT_LIST));
+
+        StringWriter out = new StringWriter();
+        Writer pretty = JSONFormatter.spaces(4).decorate(out);
+        parser.writeList(persons, Person.class, ParserResponseType.OBJECT_LIST, pretty);
+        assertEquals(expected, out.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream prettyBytes = JSONFormatter.spaces(4).decorateStream(bytes);
+        parser.writeList(persons, Person.class, ParserResponseType.OBJECT_LIST, prettyBytes);
+        prettyBytes.flush();
+        assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+
+        StringWriter formatted = new StringWriter();
+        JSONFormatter.spaces(4).format(new StringReader(parser.listToJSON(persons, Person.class, ParserResponseType.OBJECT_LIST)), formatted);
+        assertEquals(expected, formatted.toString());
+    }
+
+    @Test
+    void testAccessorModes() throws JsonSerializationException {
+        JSONParser parser = new JSONParser();
+        for (AccessorMode mode : AccessorMode.values()) {
+            parser.setAccessorMode(mode);
+            assertEquals("{\"active\":true,\"ratio\":0.5,\"count\":7,\"scale\":1.5}", parser.objectToJSON(new Measurement(0.5, true, 7)), mode.name());
+        }
+    }
+
+    @Test
+    void testCompiledSerializers() throws JsonSerializationException {
+        List<Address> addresses = List.of(new Address(new Person("Marc Andri Fuchs", 16), "Kerberstrasse 420"),
+                new Address(null, null));
+        JSONParser parser = new JSONParser();
+        String compiled = parser.listToJSON(addresses, Address.class, ParserResponseType.LIST);
+
+        parser.setCompiledSerializers(false);
+        assertEquals(parser.listToJSON(addresses, Address.class, ParserResponseType.LIST), compiled);
+        assertEquals("[{\"address\":\"Kerberstrasse 420\",\"person\":{\"name\":\"Marc Andri Fuchs\",\"age\":16}},{\"address\":null,\"person\":null}]", compiled);
+    }
+
+    @Test
+    void testWriteObject() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        Team team = new Team(List.of(new Person("Marc Andri Fuchs", 16), new Person("Tim Jan Irmler", 18)));
+
+        StringWriter writer = new StringWriter();
+        parser.writeObject(team, writer);
+        assertEquals("{\"members\":[{\"name\":\"Marc Andri Fuchs\",\"age\":16},{\"name\":\"Tim Jan Irmler\",\"age\":18}]}", writer.toString());
+        assertEquals(writer.toString(), parser.objectToJSON(team));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        parser.writeList(team.members(), Person.class, ParserResponseType.KEY_VALUE_PAIR, bytes);
+        assertEquals(parser.listToJSON(team.members(), Person.class, ParserResponseType.KEY_VALUE_PAIR), bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testUtf8Output() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) persons.add(new Person("Zoë \uD83D\uDE00 Müller " + i, i));
+        String expected = parser.listToJSON(persons, Person.class, ParserResponseType.OBJECT_LIST);
+
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), parser.listToBytes(persons, Person.class, ParserResponseType.OBJECT_LIST));
+
+        Path file = Files.createTempFile("persons", ".json");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            parser.writeList(persons, Person.class, ParserResponseType.OBJECT_LIST, channel);
+        }
+        assertEquals(expected, Files.readString(file));
+        Files.delete(file);
+
+        ByteArrayOutputStream small = new ByteArrayOutputStream();
+        Utf8JsonWriter writer = Utf8JsonWriter.toStream(small, new ByteBufferPool(64, 4, false));
+        writer.array(new int[200]);
+        writer.flush();
+        assertEquals(Arrays.toString(new int[200]).replace(" ", ""), small.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStreamedList() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        parser.setFlushInterval(100);
+        String expected = parser.listToJSON(IntStream.range(0, 1000).mapToObj(i -> new Person("p" + i, i)).collect(Collectors.toList()), Person.class, ParserResponseType.LIST);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        parser.writeList(IntStream.range(0, 1000).mapToObj(i -> new Person("p" + i, i)), Person.class, ParserResponseType.LIST, out);
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+
+        StringBuilder ndjson = new StringBuilder();
+        parser.writeList(List.of(new Person("a", 1), new Person("b", 2)).iterator(), Person.class, ParserResponseType.NDJSON, ndjson);
+        assertEquals("{\"name\":\"a\",\"age\":1}\n{\"name\":\"b\",\"age\":2}\n", ndjson.toString());
+    }
+
+    @Test
+    void testParallelList() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) persons.add(new Person("Person " + i, i));
+        String objectList = parser.listToJSON(persons, Person.class, ParserResponseType.OBJECT_LIST);
+        String ndjson = parser.listToJSON(persons, Person.class, ParserResponseType.NDJSON);
+
+        parser.setParallelThreshold(1000);
+        assertEquals(objectList, parser.listToJSON(persons, Person.class, ParserResponseType.OBJECT_LIST));
+        assertEquals(ndjson, parser.listToJSON(persons, Person.class, ParserResponseType.NDJSON));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            parser.setExecutor(executor);
+            assertArrayEquals(objectList.getBytes(StandardCharsets.UTF_8), parser.listToBytes(persons, Person.class, ParserResponseType.OBJECT_LIST));
+
+            List<Person> accented = IntStream.range(0, 2000).mapToObj(i -> new Person("Zoë " + i, i)).collect(Collectors.toList());
+            StringBuilder sequential = new StringBuilder();
+            JsonWriter escaping = JsonWriter.of(sequential);
+            escaping.setEscapeNonAscii(true);
+            new JSONParser().writeList(accented, Person.class, ParserResponseType.OBJECT_LIST, escaping);
+            StringBuilder parallel = new StringBuilder();
+            escaping = JsonWriter.of(parallel);
+            escaping.setEscapeNonAscii(true);
+            parser.writeList(accented, Person.class, ParserResponseType.OBJECT_LIST, escaping);
+            assertTrue(sequential.toString().contains("Zo\\u00eb 1999"));
+            assertEquals(sequential.toString(), parallel.toString());
+
+            persons.set(12345, null);
+            assertThrows(JsonSerializationException.class, () -> parser.listToJSON(persons, Person.class, ParserResponseType.LIST));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSharedHandlers() throws JsonSerializationException {
+        JSONParser parser = new JSONParser();
+        assertSame(HandlerRegistry.defaults(), parser.getHandlers());
+
+        parser.addHandler(new DefaultHandlers.StringHandler() {
+            @Override
+            public String handle(Object o) {
+                return "\"" + o.toString().toUpperCase() + "\"";
+            }
+        });
+        assertNotSame(HandlerRegistry.defaults(), parser.getHandlers());
+        assertEquals("{\"members\":[{\"name\":\"ANNA\",\"age\":30}]}", parser.objectToJSON(new Team(List.of(new Person("Anna", 30)))));
+        assertEquals("{\"members\":[{\"name\":\"Anna\",\"age\":30}]}", new JSONParser().objectToJSON(new Team(List.of(new Person("Anna", 30)))));
+    }
+
+    @Test
+    void testAutoType() throws JsonSerializationException {
+        JSONParser parser = new JSONParser();
+        assertEquals("{\"value\":7}", parser.objectToJSON(new Reading(7)));
+        assertEquals("{\"value\":2.5}", parser.objectToJSON(new Reading(2.5)));
+        assertEquals("{\"value\":true}", parser.objectToJSON(new Reading(true)));
+        assertEquals("{\"value\":\"on\"}", parser.objectToJSON(new Reading("on")));
+        assertEquals("{\"value\":{\"name\":\"Anna\",\"age\":30}}", parser.objectToJSON(new Reading(new Person("Anna", 30))));
+        assertSame(parser.getHandlers().get(JSONType.INTEGER), parser.getHandlers().infer(7L));
+        assertThrows(JsonSerializationException.class, () -> parser.objectToJSON(new Reading(new Object())));
+    }
+
+    @JsonSerializableObject(listName = "readings")
+    private record Reading(@JsonField(type = JSONType.AUTO) Object value) {
+    }
+
+    @Test
+    void testNumberFormatting() throws IOException {
+        StringBuilder out = new StringBuilder();
+        JsonWriter writer = JsonWriter.of(out);
+        writer.beginArray().value(Long.MIN_VALUE).value(0.1).value(-0.0).value(1.0E7).value(0.001).value(1.0E23).value(1.17549435E-38f).value(100.0f).endArray();
+        assertEquals("[-9223372036854775808,0.1,-0.0,1.0E7,0.001,1.0E23,1.1754944E-38,100.0]", out.toString());
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d) || Double.isInfinite(d)) continue;
+            out.setLength(0);
+            JsonWriter.of(out).value(d);
+            assertEquals(d, Double.parseDouble(out.toString()));
+            assertTrue(out.length() <= Double.toString(d).length());
+
+            float f = Float.intBitsToFloat(random.nextInt());
+            if (Float.isNaN(f) || Float.isInfinite(f)) continue;
+            out.setLength(0);
+            JsonWriter.of(out).value(f);
+            assertEquals(f, Float.parseFloat(out.toString()));
+        }
+    }
+
+    @Test
+    void testStringEscaping() throws JsonSerializationException, ElementTypeException, IOException {
+        JSONParser parser = new JSONParser();
+        String name = "Say \"hi\"\\ \n\t\u0001 Zo\u00eb \uD83D\uDE00 " + "a".repeat(100) + "\"";
+        String expected = "{\"name\":\"Say \\\"hi\\\"\\\\ \\n\\t\\u0001 Zo\u00eb \uD83D\uDE00 " + "a".repeat(100) + "\\\"\",\"age\":1}";
+        assertEquals(expected, parser.objectToJSON(new Person(name, 1)));
+        assertEquals(expected, new String(parser.objectToBytes(new Person(name, 1)), StandardCharsets.UTF_8));
+        assertEquals("\"a\\\"b\"", new DefaultHandlers.StringHandler().handle("a\"b"));
+
+        StringBuilder ascii = new StringBuilder();
+        JsonWriter writer = JsonWriter.of(ascii);
+        writer.setEscapeNonAscii(true);
+        writer.beginObject().name("k\u00eb").value("Zo\u00eb \uD83D\uDE00").endObject();
+        assertEquals("{\"k\\u00eb\":\"Zo\\u00eb \\ud83d\\ude00\"}", ascii.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter utf8 = JsonWriter.of(bytes);
+        utf8.setEscapeNonAscii(true);
+        utf8.beginObject().name(JsonKey.of("k\u00eb")).value("Zo\u00eb \uD83D\uDE00").endObject().flush();
+        assertEquals(ascii.toString(), bytes.toString(StandardCharsets.US_ASCII));
+
+        // an unpaired surrogate is encoded as one byte, but it is still escaped
+        StringBuilder surrogate = new StringBuilder();
+        JsonWriter unpaired = JsonWriter.of(surrogate);
+        unpaired.setEscapeNonAscii(true);
+        unpaired.beginObject().name(JsonKey.of("k\uD83D")).value(1).endObject();
+        assertThrows(IllegalStateException.class, () -> unpaired.rawValue(JsonFragment.of("\"\uD83D\"")));
+        assertEquals("{\"k\\ud83d\":1}", surrogate.toString());
+    }
+
+    @Test
+    void testJsonReader() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        String name = "Zoë \"😀\" " + "a".repeat(10_000);
+        byte[] json = parser.objectToBytes(new Address(new Person(name, -42), "Main St"));
+        JsonNames names = JsonNames.of("person", "name", "age", "address");
+
+        for (JsonReader reader : List.of(JsonReader.of(json), JsonReader.of(new ByteArrayInputStream(json)),
+                JsonReader.of(new StringReader(new String(json, StandardCharsets.UTF_8))))) {
+            assertEquals(JSONToken.BEGIN_OBJECT, reader.peek());
+            reader.beginObject();
+            assertEquals(3, reader.nextName(names));
+            assertEquals("Main St", reader.nextString());
+            assertEquals(0, reader.nextName(names));
+            reader.beginObject();
+            assertEquals(1, reader.nextName(names));
+            assertEquals(JSONType.STRING, reader.peekType());
+            assertEquals(name, reader.nextString());
+            assertEquals("age", reader.nextName());
+            assertEquals(JSONType.INTEGER, reader.peekType());
+            assertEquals(-42, reader.nextInt());
+            assertFalse(reader.hasNext());
+            reader.endObject();
+            reader.endObject();
+            assertEquals(JSONToken.END_DOCUMENT, reader.peek());
+            reader.close();
+        }
+
+        JsonReader reader = JsonReader.of("{\"skip\":{\"a\":[1,\"]}\"]},\"n\":[0.1,-2.5e-3,1e300,9007199254740993,true,null]}\n{}"
+                .getBytes(StandardCharsets.UTF_8));
+        reader.beginObject();
+        assertEquals(-1, reader.nextName(names));
+        reader.skipValue();
+        assertEquals("n", reader.nextName());
+        reader.beginArray();
+        assertEquals(JSONType.DOUBLE, reader.peekType());
+        assertEquals(0.1, reader.nextDouble());
+        assertEquals(-2.5e-3, reader.nextDouble());
+        assertEquals(1e300, reader.nextDouble());
+        assertEquals(9007199254740993L, reader.nextLong());
+        assertTrue(reader.nextBoolean());
+        reader.nextNull();
+        reader.endArray();
+        reader.endObject();
+        reader.beginObject();
+        reader.endObject();
+        assertEquals(JSONToken.END_DOCUMENT, reader.peek());
+
+        JsonReader malformed = JsonReader.of("[1,]".getBytes(StandardCharsets.UTF_8));
+        malformed.beginArray();
+        malformed.nextLong();
+        assertThrows(JsonParseException.class, malformed::peek);
+    }
+
+    @Test
+    void testDeserialization() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        Address address = new Address(new Person("Zo\u00eb \"\uD83D\uDE00\"", -3), "Kerberstrasse 420");
+        assertEquals(address, parser.jsonToObject(parser.objectToBytes(address), Address.class));
+        assertEquals(new Address(null, null), parser.jsonToObject("{\"person\":null,\"unknown\":[{\"a\":1}]}", Address.class));
+
+        Measurement measurement = new Measurement(0.1, true, -7);
+        assertEquals(measurement, parser.jsonToObject(parser.objectToJSON(measurement), Measurement.class));
+
+        Team team = new Team(List.of(new Person("Marc Andri Fuchs", 16), new Person("Tim Jan Irmler", 18)));
+        assertEquals(team, parser.jsonToObject(parser.objectToJSON(team), Team.class));
+        for (ParserResponseType response : ParserResponseType.values())
+            assertEquals(team.members(), parser.jsonToList(parser.listToBytes(team.members(), Person.class, response), Person.class, response), response.name());
+
+        Profile profile = new Profile();
+        profile.name = "profile";
+        profile.count = 42;
+        profile.ratio = 0.5f;
+        profile.active = true;
+        profile.kind = JSONType.LIST;
+        profile.level = JSONType.DOUBLE;
+        String json = parser.objectToJSON(profile);
+        assertEquals(json, parser.objectToJSON(parser.jsonToObject(json, Profile.class)));
+        assertEquals(json, parser.objectToJSON(parser.readObject(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Profile.class)));
+
+        assertThrows(JsonParseException.class, () -> parser.jsonToObject("{\"count\":3000000000}", Profile.class));
+        assertThrows(JsonParseException.class, () -> parser.jsonToObject("{\"kind\":\"NOPE\"}", Profile.class));
+        assertThrows(JsonParseException.class, () -> parser.jsonToObject("{\"name\":\"x\"} {}", Address.class));
+    }
+
+    @Test
+    void testJsonDocument() throws JsonSerializationException, ElementTypeException, IOException {
+        JSONParser parser = new JSONParser();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) persons.add(new Person("Zo\u00eb \"" + i + "\"", i));
+        JsonDocument document = JsonDocument.of(parser.listToBytes(persons, Person.class, ParserResponseType.OBJECT_LIST));
+
+        assertEquals(2000, document.size("persons"));
+        assertEquals("Zo\u00eb \"1500\"", document.getString("persons[1500].name"));
+        assertEquals(1999, document.getInt("persons[1999].age"));
+        assertEquals(JSONType.INTEGER, document.getType("persons[0].age"));
+        assertFalse(document.has("persons[2000]"));
+        assertNull(document.get("persons[0].unknown"));
+        assertEquals(persons.get(7), document.get("persons[7]").toObject(parser, Person.class));
+        assertEquals(List.of("name", "age"), document.get("persons").get(3).getKeys());
+
+        JsonDocument nested = JsonDocument.of("{\"a\": {\"b\\u0020c\": [1.5, true, null, \"x\\ny\"]}, \"k\u00eb\": -2}");
+        assertEquals(1.5, nested.getDouble("a.b c[0]"));
+        assertTrue(nested.getBoolean("a.b c[1]"));
+        assertTrue(nested.isNull("a.b c[2]"));
+        assertEquals("x\ny", nested.getString("a.b c[3]"));
+        assertEquals(-2, nested.getLong("k\u00eb"));
+        assertEquals("[1.5, true, null, \"x\\ny\"]", nested.get("a.b c").toJson());
+        assertThrows(ElementTypeException.class, () -> nested.getLong("a.b c[3]"));
+
+        assertThrows(JsonParseException.class, () -> JsonDocument.of("{\"a\": [1, 2}"));
+        assertThrows(JsonParseException.class, () -> JsonDocument.of("{\"a\": \"1}"));
+        assertThrows(JsonParseException.class, () -> JsonDocument.of("{\"a\": 1 \"b\": 2}").getLong("b"));
+    }
+
+    @Test
+    void testMappedList() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) persons.add(new Person(i % 3 == 0 ? "},{\"age\":" + i + ",\\\\" : "Zo\u00eb \\\"" + i, i));
+
+        Path file = Files.createTempFile("persons", ".json");
+        try {
+            for (ParserResponseType response : List.of(ParserResponseType.LIST, ParserResponseType.NDJSON)) {
+                Files.write(file, parser.listToBytes(persons, Person.class, response));
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedListReader reader = new MappedListReader(parser, ForkJoinPool.commonPool(), 97);
+                    assertEquals(persons, reader.stream(channel, Person.class, response).collect(Collectors.toList()), response.name());
+                }
+                try (Stream<Person> stream = parser.streamList(file, Person.class, response)) {
+                    assertEquals(persons, stream.collect(Collectors.toList()), response.name());
+                }
+                ConcurrentLinkedQueue<Person> read = new ConcurrentLinkedQueue<>();
+                parser.readList(file, Person.class, response, read::add);
+                assertEquals(persons.size(), read.size());
+                assertTrue(read.containsAll(persons));
+            }
+
+            Files.writeString(file, "[{\"name\":\"a\",\"age\":1},{\"name\":\"b\",\"age\":}]");
+            assertThrows(JsonParseException.class, () -> parser.readList(file, Person.class, ParserResponseType.LIST, person -> {
+            }));
+            assertThrows(IllegalArgumentException.class, () -> parser.streamList(file, Person.class, ParserResponseType.OBJECT_LIST));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMetrics() throws JsonSerializationException, ElementTypeException, IOException, JMException {
+        JSONParser parser = new JSONParser();
+        parser.setCompiledSerializers(false);
+        SerializationMetrics metrics = new SerializationMetrics();
+        parser.setListener(metrics);
+
+        Address address = new Address(new Person("Anna", 30), "Kerberstrasse 420");
+        String json;
+        try (Recording recording = new Recording()) {
+            recording.enable("dev.marconyous.jsonparser.Serialization").withThreshold(Duration.ZERO);
+            recording.start();
+            json = parser.objectToJSON(address);
+            recording.stop();
+
+            Path file = Files.createTempFile("serialization", ".jfr");
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+            assertEquals(2, events.size());
+            assertTrue(events.stream().anyMatch(event -> event.getClass("type").getName().equals(Address.class.getName())
+                    && event.getLong("written") == json.length()));
+        }
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), parser.objectToBytes(address));
+
+        assertEquals(2, metrics.getClassStatistics(Address.class).getCount());
+        assertEquals(2L * json.length(), metrics.getClassStatistics(Address.class).getWritten());
+        assertEquals(2, metrics.getClassStatistics(Person.class).getCount());
+        assertEquals(2L * "{\"name\":\"Anna\",\"age\":30}".length(), metrics.getClassStatistics(Person.class).getWritten());
+        assertEquals(4, metrics.getHandlerStatistics(JSONType.STRING.name()).getCount());
+        assertEquals(2, metrics.getHandlerStatistics(JSONType.JSON_ANNOTATED.name()).getCount());
+        assertTrue(metrics.getClassStatistics(Address.class).getP99Nanos() >= metrics.getClassStatistics(Address.class).getMeanNanos() / 2);
+
+        parser.addHandler(new DefaultHandlers.StringHandler() {
+            @Override
+            public String handle(Object o) throws ElementTypeException {
+                throw new ElementTypeException("rejected");
+            }
+        });
+        assertThrows(JsonSerializationException.class, () -> parser.objectToJSON(address));
+        assertEquals(1, metrics.getClassStatistics(Address.class).getFailures());
+        assertEquals(1, metrics.getHandlerStatistics(JSONType.STRING.name()).getFailures());
+
+        ObjectName name = metrics.register("test");
+        try {
+            CompositeData[] classes = (CompositeData[]) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ClassStatistics");
+            assertTrue(Arrays.stream(classes).anyMatch(c -> c.get("name").equals(Person.class.getName()) && (long) c.get("count") == 2));
+        } finally {
+            SerializationMetrics.unregister("test");
+        }
+
+        metrics.reset();
+        assertEquals(0, metrics.getClassStatistics(Address.class).getCount());
+        parser.setListener(null);
+        assertThrows(JsonSerializationException.class, () -> parser.objectToJSON(address));
+        assertEquals(0, metrics.getClassStatistics(Address.class).getFailures());
+    }
+
+    @Test
+    void testFragmentCache() throws JsonSerializationException, IOException {
+        Currency franc = new Currency("CHF", "Schweizer Franken \u20a3");
+        List<Price> prices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) prices.add(new Price(i * 0.5, i % 2 == 0 ? franc : new Currency("EUR", "Euro")));
+
+        JSONParser uncached = new JSONParser();
+        String expected = uncached.listToJSON(prices, Price.class, ParserResponseType.OBJECT_LIST);
+
+        JSONParser parser = new JSONParser();
+        FragmentCache cache = FragmentCache.byIdentity(1024);
+        parser.setFragmentCache(cache);
+        assertEquals(expected, parser.listToJSON(prices, Price.class, ParserResponseType.OBJECT_LIST));
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), parser.listToBytes(prices, Price.class, ParserResponseType.OBJECT_LIST));
+        assertEquals(51, cache.size());
+        assertEquals(51, cache.getMisses());
+        assertEquals(149, cache.getHits());
+
+        StringBuilder ascii = new StringBuilder();
+        JsonWriter writer = JsonWriter.of(ascii);
+        writer.setEscapeNonAscii(true);
+        parser.writeObject(franc, writer);
+        assertEquals(uncached.objectToJSON(franc).replace("\u20a3", "\\u20a3"), ascii.toString());
+
+        FragmentCache equal = FragmentCache.byEquality(16);
+        parser.setFragmentCache(equal);
+        assertEquals(uncached.listToJSON(prices, Price.class, ParserResponseType.NDJSON), parser.listToJSON(prices, Price.class, ParserResponseType.NDJSON));
+        assertEquals(2, equal.size());
+        assertEquals(98, equal.getHits());
+
+        FragmentCache small = FragmentCache.byIdentity(16);
+        parser.setFragmentCache(small);
+        parser.listToJSON(prices, Price.class, ParserResponseType.LIST);
+        assertTrue(small.size() <= 16);
+        assertTrue(small.getEvictions() > 0);
+
+        parser.addHandler(new DefaultHandlers.StringHandler());
+        assertEquals(0, small.size());
+        assertEquals(uncached.objectToJSON(prices.get(1)), parser.objectToJSON(prices.get(1)));
+        assertEquals(1, small.size());
+    }
+
+    @Test
+    void testWriterPool() throws JsonSerializationException, ElementTypeException, IOException {
+        JsonWriterPool pool = new JsonWriterPool(2, 64);
+        PooledJsonWriter writer = pool.acquire(16);
+        writer.setEscapeNonAscii(true);
+        writer.beginArray().value("\u00eb").endArray();
+        assertEquals("[\"\\u00eb\"]", writer.toJson());
+        pool.release(writer);
+
+        PooledJsonWriter reused = pool.acquire(32);
+        assertSame(writer, reused);
+        assertEquals(0, reused.length());
+        assertFalse(reused.isEscapeNonAscii());
+        reused.value("\u00eb");
+        assertEquals("\"\u00eb\"", reused.toJson());
+        reused.value(1000);
+        pool.release(reused);
+
+        PooledJsonWriter large = pool.acquire(1000);
+        assertSame(writer, large);
+        large.value("x".repeat(1000));
+        pool.release(large);
+        assertNotSame(large, pool.acquire(16));
+
+        JSONParser parser = new JSONParser();
+        Team team = new Team(List.of(new Person("Marc Andri Fuchs", 16), new Person("Tim Jan Irmler", 18)));
+        String json = parser.objectToJSON(team);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(json, parser.objectToJSON(team));
+            assertEquals("{\"persons\":[]}", parser.listToJSON(List.of(), Person.class, ParserResponseType.OBJECT_LIST));
+        }
+        assertEquals("\"x\"", new DefaultHandlers.StringHandler().handle("x"));
+    }
+
+    @Test
+    void testPublisher() throws JsonSerializationException {
+        JSONParser parser = new JSONParser();
+        parser.setExecutor(Runnable::run);
+        List<Person> persons = IntStream.range(0, 500).mapToObj(i -> new Person("Person " + i, i)).collect(Collectors.toList());
+
+        ChunkCollector all = new ChunkCollector(Long.MAX_VALUE);
+        Flow.Publisher<ByteBuffer> publisher = parser.publishList(persons.iterator(), Person.class, ParserResponseType.OBJECT_LIST, 64);
+        publisher.subscribe(all);
+        assertTrue(all.completed);
+        assertNull(all.error);
+        assertArrayEquals(parser.listToBytes(persons, Person.class, ParserResponseType.OBJECT_LIST), all.bytes.toByteArray());
+        assertTrue(all.sizes.stream().allMatch(size -> size > 0 && size <= 64));
+
+        ChunkCollector second = new ChunkCollector(Long.MAX_VALUE);
+        publisher.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, second.error);
+
+        int[] taken = new int[1];
+        Iterator<Person> counted = persons.stream().peek(person -> taken[0]++).iterator();
+        ChunkCollector cancelled = new ChunkCollector(3);
+        parser.publishList(counted, Person.class, ParserResponseType.NDJSON, 64).subscribe(cancelled);
+        assertEquals(3, cancelled.sizes.size());
+        assertFalse(cancelled.completed);
+        assertNull(cancelled.error);
+        assertTrue(taken[0] < 10);
+
+        ChunkCollector object = new ChunkCollector(Long.MAX_VALUE);
+        parser.publishObject(new Team(persons)).subscribe(object);
+        assertEquals(parser.objectToJSON(new Team(persons)), object.bytes.toString(StandardCharsets.UTF_8));
+
+        ChunkCollector invalid = new ChunkCollector(0);
+        parser.publishObject(persons.get(0)).subscribe(invalid);
+        assertInstanceOf(IllegalArgumentException.class, invalid.error);
+
+        // a large object is written only as far as its chunks were requested
+        AtomicInteger members = new AtomicInteger();
+        List<Person> lazy = new AbstractList<>() {
+            @Override
+            public Person get(int index) {
+                members.incrementAndGet();
+                return persons.get(index);
+            }
+
+            @Override
+            public int size() {
+                return persons.size();
+            }
+        };
+        Thread[] emitter = new Thread[1];
+        ExecutorService single = Executors.newSingleThreadExecutor(task -> emitter[0] = new Thread(task));
+        try {
+            parser.setExecutor(single);
+            ByteArrayOutputStream slow = new ByteArrayOutputStream();
+            Flow.Subscription[] subscription = new Flow.Subscription[1];
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            parser.publishObject(new Team(lazy), 64).subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    subscription[0] = s;
+                    s.request(1);
+                }
+
+                @Override
+                public void onNext(ByteBuffer chunk) {
+                    synchronized (slow) {
+                        slow.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    done.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    done.complete(null);
+                }
+            });
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                while (emitter[0] == null || emitter[0].getState() != Thread.State.WAITING || members.get() == 0) Thread.onSpinWait();
+            }, "the emitter did not wait for demand");
+            assertTrue(members.get() < 10);
+            synchronized (slow) {
+                assertEquals(64, slow.size());
+            }
+            assertFalse(done.isDone());
+
+            subscription[0].request(Long.MAX_VALUE);
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                done.join();
+            }, "the publisher did not complete");
+            synchronized (slow) {
+                assertEquals(parser.objectToJSON(new Team(persons)), slow.toString(StandardCharsets.UTF_8));
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    /**
+     * Requests one chunk at a time and cancels after the given number of chunks
+     */
+    private static final class ChunkCollector implements Flow.Subscriber<ByteBuffer> {
+        private final long limit;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final List<Integer> sizes = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        private ChunkCollector(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(limit == 0 ? 0 : 1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            sizes.add(chunk.remaining());
+            bytes.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            if (sizes.size() == limit) subscription.cancel();
+            else subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    void testArraysAndMaps() throws JsonSerializationException, JsonParseException, IOException {
+        JSONParser parser = new JSONParser();
+        Map<String, Person> byName = new LinkedHashMap<>();
+        byName.put("marc", new Person("Marc Andri Fuchs", 16));
+        byName.put("tim", null);
+        double[] doubles = new double[300];
+        for (int i = 0; i < doubles.length; i++) doubles[i] = i / 3.0;
+        Series series = new Series(new int[]{1, -2, Integer.MIN_VALUE}, new long[]{Long.MAX_VALUE}, doubles,
+                new boolean[]{true, false}, new String[]{"a", null}, List.of(1L, 2L), Map.of("count", 3), byName);
+
+        String json = parser.objectToJSON(series);
+        assertTrue(json.contains("\"ints\":[1,-2,-2147483648]"));
+        assertTrue(json.contains("\"longs\":[9223372036854775807]"));
+        assertTrue(json.contains("\"flags\":[true,false]"));
+        assertTrue(json.contains("\"names\":[\"a\",null]"));
+        assertTrue(json.contains("\"ids\":[1,2]"));
+        assertTrue(json.contains("\"counts\":{\"count\":3}"));
+        assertTrue(json.contains("\"people\":{\"marc\":{"));
+        assertTrue(json.contains("\"tim\":null}"));
+        assertEquals(json, new String(parser.objectToBytes(series), StandardCharsets.UTF_8));
+
+        Series read = parser.jsonToObject(json, Series.class);
+        assertArrayEquals(series.ints(), read.ints());
+        assertArrayEquals(series.longs(), read.longs());
+        assertArrayEquals(series.doubles(), read.doubles());
+        assertArrayEquals(series.flags(), read.flags());
+        assertArrayEquals(series.names(), read.names());
+        assertEquals(series.ids(), read.ids());
+        assertEquals(series.counts(), read.counts());
+        assertEquals(series.people(), read.people());
+
+        StringBuilder out = new StringBuilder();
+        JsonWriter.of(out).beginArray().array(new float[]{0.5f, 1f}).array(new int[0]).endArray();
+        assertEquals("[[0.5,1.0],[]]", out.toString());
+        assertEquals("[1,\"x\",[2]]", parser.objectToJSON(new Box(List.of(1, "x", List.of(2)))).replaceAll(".*:", "").replace("}", ""));
+    }
+
+    @Test
+    void testCbor() throws JsonSerializationException, JsonParseException, IOException {
+        JSONParser parser = new JSONParser();
+        List<Person> persons = IntStream.range(0, 100).mapToObj(i -> new Person("Person " + i, i * 1000L)).collect(Collectors.toList());
+        Team team = new Team(persons);
+
+        byte[] cbor = parser.objectToBytes(team, DataFormat.CBOR);
+        assertEquals(team, parser.bytesToObject(cbor, Team.class, DataFormat.CBOR));
+        assertEquals(team, parser.readObject(new ByteArrayInputStream(cbor), Team.class, DataFormat.CBOR));
+        assertEquals(1, occurrences(cbor, "name".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(cbor.length < parser.objectToBytes(team).length);
+
+        for (ParserResponseType response : ParserResponseType.values()) {
+            byte[] list = parser.listToBytes(persons, Person.class, response, DataFormat.CBOR);
+            assertEquals(persons, parser.bytesToList(list, Person.class, response, DataFormat.CBOR));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            parser.writeList(persons, Person.class, response, out, DataFormat.CBOR);
+            assertArrayEquals(list, out.toByteArray());
+        }
+
+        // parallel chunks are joined as JSON text, CBOR lists are written sequentially instead
+        List<Person> many = IntStream.range(0, 2000).mapToObj(i -> new Person("Person " + i, i)).collect(Collectors.toList());
+        byte[] sequential = parser.listToBytes(many, Person.class, ParserResponseType.OBJECT_LIST, DataFormat.CBOR);
+        parser.setParallelThreshold(500);
+        for (ParserResponseType response : ParserResponseType.values()) {
+            byte[] list = parser.listToBytes(many, Person.class, response, DataFormat.CBOR);
+            assertEquals(many, parser.bytesToList(list, Person.class, response, DataFormat.CBOR));
+        }
+        assertArrayEquals(sequential, parser.listToBytes(many, Person.class, ParserResponseType.OBJECT_LIST, DataFormat.CBOR));
+        parser.setParallelThreshold(0);
+        CborWriter joined = CborWriter.toMemory();
+        joined.beginArray();
+        assertThrows(IOException.class, () -> joined.rawValue("{\"a\":1},{\"a\":2}"));
+        CborWriter nullString = CborWriter.toMemory();
+        nullString.value((String) null);
+        assertArrayEquals(new byte[]{(byte) 0xd9, 0x01, 0x00, (byte) 0xf6}, nullString.toByteArray());
+
+        Series series = new Series(new int[]{1, -2}, new long[]{Long.MIN_VALUE}, new double[]{0.1, 2.5}, new boolean[]{true},
+                new String[]{"a", null}, List.of(7L), Map.of("count", 3), Map.of("marc", persons.get(1)));
+        Series read = parser.bytesToObject(parser.objectToBytes(series, DataFormat.CBOR), Series.class, DataFormat.CBOR);
+        assertArrayEquals(series.ints(), read.ints());
+        assertArrayEquals(series.longs(), read.longs());
+        assertArrayEquals(series.doubles(), read.doubles());
+        assertArrayEquals(series.names(), read.names());
+        assertEquals(series.people(), read.people());
+
+        // {"a": 1, "b": [2, 3]} with definite lengths, then 1.0 as half-precision float
+        CborReader reader = CborReader.of(new byte[]{(byte) 0xa2, 0x61, 0x61, 0x01, 0x61, 0x62, (byte) 0x82, 0x02, 0x03, (byte) 0xf9, 0x3c, 0x00});
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        assertEquals(1, reader.nextInt());
+        assertEquals("b", reader.nextName());
+        reader.beginArray();
+        assertEquals(2, reader.nextLong());
+        assertEquals(3.0, reader.nextDouble());
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        assertEquals(JSONType.DOUBLE, reader.peekType());
+        assertEquals(1.0, reader.nextDouble());
+        assertEquals(JSONToken.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void testJsonPath() throws JsonSerializationException, IOException {
+        JSONParser parser = new JSONParser();
+        List<Person> persons = IntStream.range(0, 1000).mapToObj(i -> new Person("Person [" + i + "]", i)).collect(Collectors.toList());
+        byte[] json = parser.listToBytes(persons, Person.class, ParserResponseType.OBJECT_LIST);
+
+        long[] sum = new long[1];
+        JsonPath.compile("$.persons[*].age").forEachLong(json, age -> sum[0] += age);
+        assertEquals(999 * 1000 / 2, sum[0]);
+
+        JsonPath pointer = JsonPath.compile("/persons/2/name");
+        assertTrue(pointer.isDefinite());
+        List<ByteBuffer> raw = pointer.rawValues(json);
+        assertEquals(1, raw.size());
+        assertEquals("\"Person [2]\"", StandardCharsets.UTF_8.decode(raw.get(0)).toString());
+
+        List<ByteBuffer> selected = JsonPath.compile("$['persons'][3, 1]").rawValues(json);
+        assertEquals(parser.objectToJSON(persons.get(1)), StandardCharsets.UTF_8.decode(selected.get(0)).toString());
+        assertEquals(parser.objectToJSON(persons.get(3)), StandardCharsets.UTF_8.decode(selected.get(1)).toString());
+
+        // raw values of a stream are kept across refills of the buffer
+        List<String> streamed = new ArrayList<>();
+        JsonPath.compile("$.persons.*").evaluate(JsonReader.of(new ByteArrayInputStream(json)),
+                reader -> streamed.add(StandardCharsets.UTF_8.decode(reader.nextRawValue()).toString()));
+        assertEquals(1000, streamed.size());
+        assertEquals(parser.objectToJSON(persons.get(999)), streamed.get(999));
+
+        List<String> names = new ArrayList<>();
+        JsonPath.compile("$.persons[998,999]['name','unknown']").evaluate(JsonReader.of(json), reader -> names.add(reader.nextString()));
+        assertEquals(List.of("Person [998]", "Person [999]"), names);
+
+        long[] cborSum = new long[1];
+        JsonPath.compile("$.persons[*].age").evaluate(CborReader.of(parser.listToBytes(persons, Person.class, ParserResponseType.OBJECT_LIST, DataFormat.CBOR)),
+                reader -> cborSum[0] += reader.nextLong());
+        assertEquals(sum[0], cborSum[0]);
+
+        // raw values of CBOR are copied into documents of their own, the repeated names are stringrefs of the whole list
+        List<byte[]> cborRaw = new ArrayList<>();
+        JsonPath.compile("$.persons[3,1]").evaluate(CborReader.of(parser.listToBytes(persons, Person.class, ParserResponseType.OBJECT_LIST, DataFormat.CBOR)),
+                reader -> {
+                    ByteBuffer value = reader.nextRawValue();
+                    cborRaw.add(Arrays.copyOfRange(value.array(), value.arrayOffset() + value.position(), value.arrayOffset() + value.limit()));
+                });
+        assertEquals(2, cborRaw.size());
+        assertEquals(parser.objectToJSON(persons.get(1)), parser.objectToJSON(parser.bytesToObject(cborRaw.get(0), Person.class, DataFormat.CBOR)));
+        assertEquals(parser.objectToJSON(persons.get(3)), parser.objectToJSON(parser.bytesToObject(cborRaw.get(1), Person.class, DataFormat.CBOR)));
+
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$..age"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("persons"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.persons[a]"));
+    }
+
+    private static int occurrences(byte[] bytes, byte[] part) {
+        int count = 0;
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) count++;
+        }
+        return count;
+    }
+
+    @JsonSerializableObject(listName = "series")
+    private record Series(@JsonField(type = JSONType.ARRAY) int[] ints,
+                          @JsonField(type = JSONType.ARRAY) long[] longs,
+                          @JsonField(type = JSONType.ARRAY) double[] doubles,
+                          @JsonField(type = JSONType.ARRAY) boolean[] flags,
+                          @JsonField(type = JSONType.ARRAY) String[] names,
+                          @JsonField(type = JSONType.LIST) List<Long> ids,
+                          @JsonField(type = JSONType.MAP) Map<String, Integer> counts,
+                          @JsonField(type = JSONType.MAP) Map<String, Person> people) {
+    }
+
+    @JsonSerializableObject(listName = "boxes")
+    private record Box(@JsonField(type = JSONType.LIST) List<Object> values) {
+    }
+
+    @JsonSerializableObject(listName = "currencies", cacheable = true)
+    private record Currency(@JsonField(type = JSONType.STRING) String code,
+                            @JsonField(type = JSONType.STRING) String name) {
+    }
+
+    @JsonSerializableObject(listName = "prices")
+    private record Price(@JsonField(type = JSONType.DOUBLE) double amount,
+                         @JsonField(type = JSONType.JSON_ANNOTATED) Currency currency) {
+    }
+
+    @JsonSerializableObject(listName = "teams")
+    private record Team(@JsonField(type = JSONType.LIST) List<Person> members) {
+    }
+
+    @JsonSerializableObject(listName = "measurements")
+    private record Measurement(@JsonField(type = JSONType.DOUBLE) double ratio,
+                               @JsonField(type = JSONType.BOOLEAN) boolean active,
+                               @JsonField(type = JSONType.INTEGER) int count) {
+        @JsonMethod(key = "scale", type = JSONType.FLOAT)
+        private float scale() {
+            return 1.5f;
+        }
+    }
+
+    @JsonSerializableObject(listName = "profiles")
+    private static class Profile {
+        @JsonField(type = JSONType.STRING)
+        private String name;
+
+        @JsonField(type = JSONType.INTEGER)
+        private int count;
+
+        @JsonField(type = JSONType.FLOAT)
+        private float ratio;
+
+        @JsonField(type = JSONType.BOOLEAN)
+        private boolean active;
+
+        @JsonField(type = JSONType.ENUMERATED_STRING)
+        private JSONType kind;
+
+        @JsonField(type = JSONType.ENUMERATED_ORDINAL)
+        private JSONType level;
+    }
+
+    @JsonSerializableObject(listName = "persons")
+    private record Person(@JsonField(type = JSONType.STRING) String name,
+                          @JsonField(type = JSONType.INTEGER) long age) {
+    }
+
+    @JsonSerializableObject(listName = "addresses")
+    private record Address(@JsonField(type = JSONType.JSON_ANNOTATED) Person person,
+                           @JsonField(type = JSONType.STRING) String address) {
+    }
+}
\ No newline at end of file
@@ -1,14 +0,0 @@
-package parser.enums;
-
-public enum JSONType {
-    FLOAT,
-    DOUBLE,
-    INTEGER,
-    STRING,
-    BOOLEAN,
-    LIST,
-    JSON_ANNOTATED,
-    CUSTOM,
-    ENUMERATED_ORDINAL,
-    ENUMERATED_STRING
-}